@@ -52,6 +52,22 @@ class ListItemSqlUtilsTest {
         assertEquals(count.toLong(), listItemSqlUtils.getListItemsCount(testList.id))
     }
 
+    @Test
+    fun testGetListItemIds() {
+        /**
+         * 1. Insert items for 2 different lists
+         * 2. Verify that the ids of a list are returned in the order they are inserted, without the other list's ids
+         */
+        val testList = insertTestList(PostListDescriptorForRestSite(testSite(123)))
+        val otherList = insertTestList(PostListDescriptorForXmlRpcSite(testSite(124)))
+        val remoteItemIds = listOf(30L, 10L, 20L)
+        listItemSqlUtils.insertItemList(remoteItemIds.map { ListItemModel(testList.id, it) })
+        listItemSqlUtils.insertItemList(listOf(ListItemModel(otherList.id, 40L)))
+
+        assertEquals(remoteItemIds, listItemSqlUtils.getListItemIds(testList.id).toList())
+        assertEquals(0, listItemSqlUtils.getListItemIds(testList.id + otherList.id).size)
+    }
+
     @Test
     fun testListIdForeignKeyCascadeDelete() {
         val listDescriptor = PostListDescriptorForRestSite(testSite())
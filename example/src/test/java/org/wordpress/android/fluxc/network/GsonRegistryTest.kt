@@ -0,0 +1,39 @@
+package org.wordpress.android.fluxc.network
+
+import org.junit.Test
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
+import org.wordpress.android.fluxc.network.rest.GsonRegistry.Config
+import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalse
+import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+
+class GsonRegistryTest {
+    class TestResponse : JsonObjectOrFalse() {
+        @JvmField var name: String? = null
+    }
+
+    @Test
+    fun testSameInstanceIsReturnedForAConfig() {
+        assertSame(GsonRegistry.get(Config.REST), GsonRegistry.get(Config.REST))
+        assertSame(GsonRegistry.get(Config.DEFAULT), GsonRegistry.getDefault())
+        assertNotSame(GsonRegistry.get(Config.REST), GsonRegistry.get(Config.STATS))
+    }
+
+    @Test
+    fun testRestConfigHandlesJsonObjectOrFalse() {
+        val gson = GsonRegistry.get(Config.REST)
+
+        assertNull(gson.fromJson("false", TestResponse::class.java))
+        assertEquals("test", gson.fromJson("{\"name\":\"test\"}", TestResponse::class.java).name)
+    }
+
+    @Test
+    fun testWarmUpDoesNotChangeParsing() {
+        GsonRegistry.warmUp(Config.REST, TestResponse::class.java)
+
+        assertEquals("test", GsonRegistry.get(Config.REST).fromJson("{\"name\":\"test\"}",
+                TestResponse::class.java).name)
+    }
+}
@@ -0,0 +1,88 @@
+package org.wordpress.android.fluxc.network
+
+import com.android.volley.NetworkResponse
+import com.android.volley.ParseError
+import com.android.volley.Request.Method
+import com.android.volley.Response
+import com.android.volley.Response.Listener
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.network.BaseRequest.BaseErrorListener
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.rest.GsonRequest
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertTrue
+
+@RunWith(RobolectricTestRunner::class)
+class GsonRequestTest {
+    class TestResponse {
+        @JvmField var name: String? = null
+    }
+
+    class TestRequest(url: String, streaming: Boolean = false) : GsonRequest<TestResponse>(Method.GET, null, null,
+            url, TestResponse::class.java, null, Listener<TestResponse> {}, BaseErrorListener {}) {
+        init {
+            if (streaming) enableStreamingParse()
+        }
+
+        override fun deliverBaseNetworkError(error: BaseNetworkError) = error
+
+        fun parse(response: NetworkResponse): Response<TestResponse> = parseNetworkResponse(response)
+    }
+
+    @Test
+    fun testNotModifiedResponseIsParsedIntoANewResult() {
+        val url = "https://public-api.wordpress.com/rest/v1.1/me/sites/?conditional"
+        val first = TestRequest(url).apply { enableConditionalRequests() }
+                .parse(buildResponse(200, "{\"name\":\"test\"}", "\"v1\""))
+        first.result.name = "changed by the first consumer"
+
+        // On a 304, Volley hands over the cached body as the response data
+        val second = TestRequest(url).apply { enableConditionalRequests() }
+                .parse(buildResponse(304, "{\"name\":\"test\"}", "\"v1\"", notModified = true))
+
+        assertNotSame(first.result, second.result)
+        assertEquals("test", second.result.name)
+        assertEquals("\"v1\"", second.cacheEntry.etag)
+    }
+
+    @Test
+    fun testConditionalRequestsAreCachedPerCredentials() {
+        val url = "https://public-api.wordpress.com/rest/v1.1/me/sites/?credentials"
+        fun cacheKey(authorization: String?, conditional: Boolean = true) = TestRequest(url).apply {
+            authorization?.let { addHeader("Authorization", it) }
+            if (conditional) enableConditionalRequests()
+        }.cacheKey
+
+        assertEquals(cacheKey("Bearer first"), cacheKey("Bearer first"))
+        assertNotEquals(cacheKey("Bearer first"), cacheKey("Bearer second"))
+        assertFalse(cacheKey("Bearer first").contains("first"))
+        assertEquals(url, cacheKey(null))
+        assertEquals(url, cacheKey("Bearer first", conditional = false))
+    }
+
+    @Test
+    fun testStreamingParseMatchesStringParse() {
+        val url = "https://public-api.wordpress.com/rest/v1.1/me/"
+        fun parse(json: String, streaming: Boolean) = TestRequest(url, streaming).parse(buildResponse(200, json))
+
+        listOf("{\"name\":\"test\"}", "  {\"name\":\"test\"}\n", "").forEach { json ->
+            val parsed = parse(json, streaming = false)
+            val streamed = parse(json, streaming = true)
+
+            assertTrue(parsed.isSuccess && streamed.isSuccess)
+            assertEquals(parsed.result?.name, streamed.result?.name)
+        }
+        listOf("{\"name\":\"test\"} trailing", "{\"name\":\"test\"}{}", "{\"name\":").forEach { json ->
+            assertTrue(parse(json, streaming = false).error is ParseError)
+            assertTrue(parse(json, streaming = true).error is ParseError)
+        }
+    }
+
+    private fun buildResponse(statusCode: Int, json: String, etag: String? = null, notModified: Boolean = false) =
+            NetworkResponse(statusCode, json.toByteArray(), etag?.let { mapOf("ETag" to it) }.orEmpty(), notModified)
+}
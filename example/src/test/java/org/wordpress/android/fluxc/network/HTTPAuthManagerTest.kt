@@ -0,0 +1,73 @@
+package org.wordpress.android.fluxc.network
+
+import com.yarolegovich.wellsql.WellSql
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.persistence.HTTPAuthSqlUtils
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class HTTPAuthManagerTest {
+    private val httpAuthManager = HTTPAuthManager()
+    private lateinit var config: WellSqlConfig
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+
+        config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun testMatchesRootUrlAndStrippedXmlrpcUrl() {
+        httpAuthManager.addHTTPAuthCredentials("user", "pass", "https://example.com/blog/xmlrpc.php", null)
+
+        assertEquals("user", httpAuthManager.getHTTPAuthModel("https://example.com/blog/xmlrpc.php")?.username)
+        assertEquals("user", httpAuthManager.getHTTPAuthModel("https://example.com/blog/wp-content/a.jpg")?.username)
+        assertNull(httpAuthManager.getHTTPAuthModel("https://example.com/other/a.jpg"))
+    }
+
+    @Test
+    fun testLookupReflectsAddedAndRemovedCredentials() {
+        assertNull(httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg"))
+
+        httpAuthManager.addHTTPAuthCredentials("user", "pass", "https://example.com", null)
+        assertEquals("pass", httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg")?.password)
+
+        httpAuthManager.addHTTPAuthCredentials("user", "new-pass", "https://example.com", null)
+        assertEquals("new-pass", httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg")?.password)
+
+        httpAuthManager.removeHTTPAuthCredentials("https://example.com")
+        assertNull(httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg"))
+    }
+
+    @Test
+    fun testInvalidateReloadsCredentials() {
+        httpAuthManager.addHTTPAuthCredentials("user", "pass", "https://example.com", null)
+        assertEquals("user", httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg")?.username)
+
+        HTTPAuthSqlUtils.deleteModelWithRootUrl("https://example.com")
+        httpAuthManager.invalidate()
+
+        assertNull(httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg"))
+    }
+
+    @Test
+    fun testResettingTheDatabaseDropsTheCredentials() {
+        httpAuthManager.addHTTPAuthCredentials("user", "pass", "https://example.com", null)
+        assertEquals("user", httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg")?.username)
+
+        config.reset()
+
+        assertNull(httpAuthManager.getHTTPAuthModel("https://example.com/a.jpg"))
+    }
+}
@@ -0,0 +1,72 @@
+package org.wordpress.android.fluxc.network
+
+import com.android.volley.DefaultRetryPolicy
+import com.android.volley.Request.Method
+import com.android.volley.Response
+import com.android.volley.toolbox.StringRequest
+import com.nhaarman.mockitokotlin2.spy
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import kotlin.test.assertEquals
+
+@RunWith(RobolectricTestRunner::class)
+class OkHttpStackTest {
+    private val readTimeouts = mutableListOf<Int>()
+
+    // Records the timeout of each request and answers it without going to the network
+    private val interceptor = Interceptor { chain ->
+        readTimeouts.add(chain.readTimeoutMillis())
+        okhttp3.Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body("{}".toResponseBody())
+                .build()
+    }
+
+    @Test
+    fun testClientIsBuiltOnce() {
+        val builder = spy(OkHttpClient.Builder().addInterceptor(interceptor))
+        val stack = OkHttpStack(builder)
+
+        repeat(3) { stack.executeRequest(buildRequest(timeoutMs = 1000), emptyMap()) }
+        stack.executeRequest(buildRequest(timeoutMs = 2000), emptyMap())
+
+        verify(builder, times(1)).build()
+        assertEquals(listOf(1000, 1000, 1000, 2000), readTimeouts)
+    }
+
+    @Test
+    fun testInterceptorsAreAddedAsNetworkInterceptorsOnce() {
+        val builder = OkHttpClient.Builder().addInterceptor(interceptor)
+        val stack = OkHttpStack(builder)
+
+        repeat(3) { stack.executeRequest(buildRequest(timeoutMs = 1000), emptyMap()) }
+
+        assertEquals(listOf(interceptor), builder.networkInterceptors())
+        assertEquals(3, readTimeouts.size)
+    }
+
+    @Test
+    fun testRequestsUseTheirOwnTimeout() {
+        val stack = OkHttpStack(OkHttpClient.Builder().addInterceptor(interceptor))
+
+        listOf(1000, 2000, 1000, 3000).forEach { stack.executeRequest(buildRequest(it), emptyMap()) }
+
+        assertEquals(listOf(1000, 2000, 1000, 3000), readTimeouts)
+    }
+
+    private fun buildRequest(timeoutMs: Int) =
+            StringRequest(Method.GET, "https://public-api.wordpress.com/rest/v1.1/me/",
+                    Response.Listener<String> {}, Response.ErrorListener {}).apply {
+                setRetryPolicy(DefaultRetryPolicy(timeoutMs, 0, 1f))
+            }
+}
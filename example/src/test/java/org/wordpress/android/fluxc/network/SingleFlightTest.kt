@@ -0,0 +1,100 @@
+package org.wordpress.android.fluxc.network
+
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import org.junit.Test
+import org.wordpress.android.fluxc.network.rest.SingleFlight
+import org.wordpress.android.fluxc.test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class SingleFlightTest {
+    private val singleFlight = SingleFlight<String, String>()
+    private val pendingCalls = mutableListOf<(String) -> Unit>()
+    private var cancelledCalls = 0
+
+    private fun startCall(onResult: (String) -> Unit): () -> Unit {
+        pendingCalls.add(onResult)
+        return { cancelledCalls++ }
+    }
+
+    @Test
+    fun testIdenticalCallsShareASingleCall() = test {
+        val first = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+        val second = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+
+        assertEquals(1, pendingCalls.size)
+        pendingCalls[0]("result")
+
+        assertEquals("result", first.await())
+        assertEquals("result", second.await())
+        assertEquals(0, singleFlight.inFlightCount)
+    }
+
+    @Test
+    fun testDifferentKeysDontShareACall() = test {
+        val first = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("first") { startCall(it) }
+        }
+        val second = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("second") { startCall(it) }
+        }
+
+        assertEquals(2, pendingCalls.size)
+        pendingCalls[0]("first result")
+        pendingCalls[1]("second result")
+
+        assertEquals("first result", first.await())
+        assertEquals("second result", second.await())
+    }
+
+    @Test
+    fun testCallIsOnlyCancelledOnceAllCallersAreCancelled() = test {
+        val first = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+        val second = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+
+        first.cancel()
+        assertEquals(0, cancelledCalls)
+        assertTrue(first.isCancelled)
+
+        pendingCalls[0]("result")
+        assertEquals("result", second.await())
+
+        val third = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+        third.cancel()
+
+        assertEquals(1, cancelledCalls)
+        assertEquals(2, pendingCalls.size)
+        assertEquals(0, singleFlight.inFlightCount)
+    }
+
+    @Test
+    fun testCompletedCallIsNotReused() = test {
+        val first = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+        pendingCalls[0]("first result")
+        assertEquals("first result", first.await())
+
+        val second = async(Dispatchers.Unconfined, CoroutineStart.UNDISPATCHED) {
+            singleFlight.await("key") { startCall(it) }
+        }
+
+        assertEquals(2, pendingCalls.size)
+        assertFalse(second.isCompleted)
+        pendingCalls[1]("second result")
+        assertEquals("second result", second.await())
+    }
+}
@@ -0,0 +1,57 @@
+package org.wordpress.android.fluxc.network.xmlrpc.media
+
+import android.util.Base64
+import okio.Buffer
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.SiteModel
+import kotlin.random.Random
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class XmlrpcUploadRequestBodyTest {
+    @get:Rule val tempFolder = TemporaryFolder()
+
+    @Test
+    fun testEncodedSizeMatchesBase64Default() {
+        listOf(0, 1, 2, 3, 56, 57, 58, 114, 3647, 3648, 3649, 10000).forEach { size ->
+            val bytes = Random(size).nextBytes(size)
+
+            assertEquals(
+                    Base64.encodeToString(bytes, Base64.DEFAULT).length.toLong(),
+                    XmlrpcUploadRequestBody.getBase64EncodedSize(size.toLong()),
+                    "size $size"
+            )
+        }
+    }
+
+    @Test
+    fun testWrittenBodyMatchesContentLength() {
+        listOf(0, 1, 2, 57, 3648, 3649, 100000).forEach { size ->
+            val bytes = Random(size).nextBytes(size)
+            val file = tempFolder.newFile().apply { writeBytes(bytes) }
+            val media = MediaModel().apply {
+                filePath = file.path
+                fileName = "test.jpg"
+                mimeType = "image/jpeg"
+            }
+            val body = XmlrpcUploadRequestBody(media, { _, _ -> }, SiteModel())
+
+            val buffer = Buffer()
+            body.writeTo(buffer)
+            val xml = buffer.readUtf8()
+
+            assertEquals(body.contentLength(), xml.length.toLong(), "size $size")
+            val encoded = xml.substringAfter("<base64>").substringBefore("</base64>")
+            assertEquals(Base64.encodeToString(bytes, Base64.DEFAULT), encoded, "size $size")
+            assertTrue(Base64.decode(encoded, Base64.DEFAULT).contentEquals(bytes))
+        }
+    }
+}
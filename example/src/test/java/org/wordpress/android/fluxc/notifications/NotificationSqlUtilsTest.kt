@@ -388,4 +388,30 @@ class NotificationSqlUtilsTest {
         // Verify notification not in database
         assertNull(notificationSqlUtils.getNotificationByRemoteId(noteId))
     }
+
+    @Test
+    fun testBatchInsertHashesAndDeleteNotifications() {
+        val notificationSqlUtils = NotificationSqlUtils(FormattableContentMapper(Gson()))
+        val jsonString = UnitTestUtils
+                .getStringFromResourceFile(this.javaClass, "notifications/notifications-api-response.json")
+        val apiResponse = NotificationTestUtils.parseNotificationsApiResponseFromJsonString(jsonString)
+        val notesList = apiResponse.notes?.map {
+            NotificationApiResponse.notificationResponseToNotificationModel(it)
+        } ?: emptyList()
+
+        // Insert all notifications at once, then insert them again, which updates the existing rows
+        assertEquals(6, notificationSqlUtils.insertOrUpdateNotifications(notesList))
+        assertEquals(6, notificationSqlUtils.insertOrUpdateNotifications(notesList))
+        assertEquals(6, notificationSqlUtils.getNotificationsCount())
+
+        // Only the remote note id and hash of every notification are returned
+        val hashes = notificationSqlUtils.getNotificationHashes()
+        assertEquals(notesList.associateBy({ it.remoteNoteId }, { it.noteHash }), hashes)
+
+        // Delete two of the notifications in a single batch
+        val remoteNoteIdsToDelete = notesList.take(2).map { it.remoteNoteId }
+        assertEquals(2, notificationSqlUtils.deleteNotificationsByRemoteIds(remoteNoteIdsToDelete))
+        assertEquals(4, notificationSqlUtils.getNotificationsCount())
+        remoteNoteIdsToDelete.forEach { assertNull(notificationSqlUtils.getNotificationByRemoteId(it)) }
+    }
 }
@@ -1,6 +1,7 @@
 package org.wordpress.android.fluxc.page
 
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
 import com.yarolegovich.wellsql.WellSql
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.After
@@ -12,9 +13,12 @@ import org.robolectric.RuntimeEnvironment
 import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
 import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.page.PageHierarchy.PageNode
 import org.wordpress.android.fluxc.model.post.PostStatus
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.fluxc.store.PageStore
+import org.wordpress.android.fluxc.store.PostStore
 import org.wordpress.android.fluxc.test
 import org.wordpress.android.fluxc.tools.initCoroutineEngine
 import java.util.UUID
@@ -23,8 +27,9 @@ import kotlin.random.Random
 @RunWith(RobolectricTestRunner::class)
 class PageStoreLocalChangesTest {
     private val postSqlUtils = PostSqlUtils()
+    private val postStore: PostStore = mock()
     private val pageStore = PageStore(
-            postStore = mock(),
+            postStore = postStore,
             dispatcher = mock(),
             coroutineEngine = initCoroutineEngine(),
             postSqlUtils = postSqlUtils,
@@ -45,6 +50,23 @@ class PageStoreLocalChangesTest {
         WellSql.closeDb()
     }
 
+    @Test
+    fun `page hierarchy is rebuilt once the tables are reset`() = test {
+        // Arrange
+        val site = SiteModel().apply { id = 3_000 }
+        val pageBeforeReset = PageNode(site.id, 1, 10, 0, "publish", "Before")
+        val pageAfterReset = PageNode(site.id, 1, 20, 0, "publish", "After")
+        whenever(postStore.getPageNodesForSite(site)).thenReturn(listOf(pageBeforeReset), listOf(pageAfterReset))
+        assertThat(pageStore.getPageHierarchy(site).getPageByLocalId(1)).isEqualTo(pageBeforeReset)
+
+        // Act
+        val appContext = RuntimeEnvironment.application.applicationContext
+        WellSqlConfig(appContext).reset(WellSql.giveMeWritableDb())
+
+        // Assert
+        assertThat(pageStore.getPageHierarchy(site).getPageByLocalId(1)).isEqualTo(pageAfterReset)
+    }
+
     @Test
     fun `getLocalDraftPages returns local draft pages only`() = test {
         // Arrange
@@ -4,6 +4,7 @@ import com.nhaarman.mockitokotlin2.KArgumentCaptor
 import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.argumentCaptor
 import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.never
 import com.nhaarman.mockitokotlin2.times
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
@@ -20,8 +21,10 @@ import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.CauseOfOnPostChanged
 import org.wordpress.android.fluxc.model.CauseOfOnPostChanged.FetchPages
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId
 import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.page.PageHierarchy.PageNode
 import org.wordpress.android.fluxc.model.page.PageModel
 import org.wordpress.android.fluxc.model.page.PageStatus
 import org.wordpress.android.fluxc.model.page.PageStatus.DRAFT
@@ -31,6 +34,7 @@ import org.wordpress.android.fluxc.model.page.PageStatus.PUBLISHED
 import org.wordpress.android.fluxc.model.page.PageStatus.SCHEDULED
 import org.wordpress.android.fluxc.model.page.PageStatus.TRASHED
 import org.wordpress.android.fluxc.model.post.PostStatus
+import org.wordpress.android.fluxc.model.post.PostSummary
 import org.wordpress.android.fluxc.network.utils.CurrentDateUtils
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
 import org.wordpress.android.fluxc.store.PageStore
@@ -47,6 +51,9 @@ import org.wordpress.android.fluxc.test
 import java.util.Calendar
 import java.util.Date
 import java.util.Locale
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
 
 @RunWith(MockitoJUnitRunner::class)
 class PageStoreTest {
@@ -345,6 +352,103 @@ class PageStoreTest {
         assertThat(pages.filter { it.pageId > 10 }.all { it.parent != null }).isTrue()
     }
 
+    @Test
+    fun getPagesSharesParentPages() = test {
+        whenever(postStore.getPagesForSite(site)).thenReturn(pageHierarchy)
+
+        val pages = store.getPagesFromDb(site).associateBy { it.remoteId }
+
+        assertThat(pages.getValue(2).parent).isSameAs(pages[1])
+        assertThat(pages.getValue(3).parent).isSameAs(pages[2])
+        assertThat(pages.getValue(4).parent).isSameAs(pages[1])
+    }
+
+    @Test
+    fun getPagesIgnoresCyclicParents() = test {
+        val cyclicPages = listOf(initPage(1, 2, "page 1", "publish", 1), initPage(2, 1, "page 2", "publish", 2))
+        whenever(postStore.getPagesForSite(site)).thenReturn(cyclicPages)
+
+        val pages = store.getPagesFromDb(site)
+
+        assertThat(pages).hasSize(2)
+        assertThat(pages.count { it.parent == null }).isEqualTo(1)
+    }
+
+    @Test
+    fun getPageSummariesBuildsTheTreeWithoutLoadingPages() = test {
+        whenever(postStore.getPageNodesForSite(site)).thenReturn(pageHierarchy.map { it.toPageNode() })
+        whenever(postStore.getPageSummariesForSite(site)).thenReturn(pageHierarchy.map { it.toSummary() })
+
+        val pages = store.getPageSummariesFromDb(site).associateBy { it.remoteId }
+
+        assertThat(pages.keys).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L)
+        assertThat(pages.getValue(2).parent).isSameAs(pages[1])
+        assertThat(pages.getValue(3).parent).isSameAs(pages[2])
+        assertThat(pages.getValue(4).parent).isSameAs(pages[1])
+        assertThat(pages.filterKeys { it !in listOf(2L, 3L, 4L) }.values.all { it.parent == null }).isTrue()
+        verify(postStore, never()).getPagesForSite(site)
+    }
+
+    @Test
+    fun getChildPageByRemoteIdLoadsAncestorsAtOnce() = test {
+        whenever(postStore.getPageNodesForSite(site)).thenReturn(pageHierarchy.map { it.toPageNode() })
+        whenever(postStore.getPostByRemotePostId(3, site)).thenReturn(pageHierarchy[2])
+        whenever(postStore.getPostsByLocalOrRemotePostIds(listOf(LocalId(11), LocalId(1)), site))
+                .thenReturn(listOf(pageHierarchy[0], pageHierarchy[1]))
+
+        val page = store.getPageByRemoteId(3, site)
+
+        assertThat(page!!.parent!!.remoteId).isEqualTo(2)
+        assertThat(page.parent!!.parent!!.remoteId).isEqualTo(1)
+        assertThat(page.parent!!.parent!!.parent).isNull()
+        verify(postStore, times(1)).getPostByRemotePostId(any(), any())
+    }
+
+    @Test
+    fun pageHierarchyIsUpdatedWithChangedPages() = test {
+        whenever(postStore.getPageNodesForSite(site)).thenReturn(pageHierarchy.map { it.toPageNode() })
+        val hierarchy = store.getPageHierarchy(site)
+        val movedPage = initPage(111, 4, "page 3", "publish", 3)
+        whenever(postStore.getPageNodesByLocalPageIds(listOf(111, 2))).thenReturn(listOf(movedPage.toPageNode()))
+
+        store.onPostChanged(OnPostChanged(CauseOfOnPostChanged.UpdatePost(111, 3), 1))
+        store.onPostChanged(OnPostChanged(CauseOfOnPostChanged.RemovePost(2, 5), 1))
+        store.getPageHierarchy(site)
+
+        val movedNode = hierarchy.getPageByRemoteId(3)!!
+        assertThat(hierarchy.getAncestors(movedNode).map { it.remoteId }).containsExactly(4L, 1L)
+        assertThat(hierarchy.getChildren(hierarchy.getPageByRemoteId(2)!!)).isEmpty()
+        assertThat(hierarchy.getPageByRemoteId(5)).isNull()
+        verify(postStore, times(1)).getPageNodesForSite(site)
+    }
+
+    @Test
+    fun pageChangesAreRecordedWithoutWaitingForThePageHierarchyToBeBuilt() {
+        val building = CountDownLatch(1)
+        val changeRecorded = CountDownLatch(1)
+        var recordedWhileBuilding = false
+        whenever(postStore.getPageNodesForSite(site)).thenAnswer {
+            building.countDown()
+            recordedWhileBuilding = changeRecorded.await(5, TimeUnit.SECONDS)
+            pageHierarchy.map { it.toPageNode() }
+        }
+        val builder = thread { runBlocking { store.getPageHierarchy(site) } }
+
+        building.await(5, TimeUnit.SECONDS)
+        store.onPostChanged(OnPostChanged(CauseOfOnPostChanged.UpdatePost(111, 3), 1))
+        changeRecorded.countDown()
+        builder.join()
+
+        assertThat(recordedWhileBuilding).isTrue()
+    }
+
+    private fun PostModel.toPageNode() = PageNode(site.id, id, remotePostId, parentId, status, title)
+
+    private fun PostModel.toSummary() = PostSummary(
+            id, site.id, remotePostId, title, status, dateCreated, dateLocallyChanged, featuredImageId,
+            authorDisplayName, true, isLocalDraft, isLocallyChanged
+    )
+
     private fun initPage(
         id: Int,
         parentId: Long? = null,
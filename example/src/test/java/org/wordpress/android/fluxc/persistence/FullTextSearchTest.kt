@@ -0,0 +1,152 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.sqlite.SQLiteDatabase
+import com.yarolegovich.wellsql.WellSql
+import com.yarolegovich.wellsql.WellTableManager
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.SiteModel
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class FullTextSearchTest {
+    private val site = SiteModel().apply { id = 1 }
+    private lateinit var config: WellSqlConfig
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+
+        config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun testPrefixQueryIsBuiltFromTheWordsOfTheSearchTerm() {
+        assertEquals("Sunset* Beach*", FullTextSearch.buildPrefixQuery("Sunset - \"Beach\""))
+        assertEquals("café* 2019*", FullTextSearch.buildPrefixQuery("café_2019"))
+        assertNull(FullTextSearch.buildPrefixQuery(" -*\" "))
+    }
+
+    @Test
+    fun testSearchMatchesAccentedCapitalLetters() {
+        val media = insertMedia(title = "Été à Paris")
+        insertMedia(title = "Hiver")
+
+        assertEquals("Été* PARIS*", FullTextSearch.buildPrefixQuery("Été PARIS"))
+        assertEquals(listOf(media.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "Été").ids)
+        assertEquals(listOf(media.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "Été PARIS").ids)
+    }
+
+    @Test
+    fun testSearchMatchesWordPrefixesOfTheSite() {
+        val sunset = insertMedia(title = "Sunset over the bay")
+        val beach = insertMedia(title = "Beach", caption = "Sunny afternoon")
+        insertMedia(title = "Mountains")
+        insertMedia(title = "Sunset", localSiteId = 2)
+
+        val results = MediaSqlUtils.fullTextSearchSiteMedia(site, "sun")
+
+        assertEquals(setOf(sunset.id, beach.id), results.ids.toSet())
+        assertEquals(listOf(sunset.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset ba").ids)
+        assertTrue(MediaSqlUtils.fullTextSearchSiteMedia(site, "unset").isEmpty())
+    }
+
+    @Test
+    fun testResultsAreRankedByRelevance() {
+        val once = insertMedia(title = "Sunset", caption = "Beach")
+        val twice = insertMedia(title = "Sunset", caption = "Sunset at the beach")
+
+        assertEquals(listOf(twice.id, once.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").ids)
+    }
+
+    @Test
+    fun testIndexIsKeptInSyncWithTheTable() {
+        val media = insertMedia(title = "Sunset")
+
+        media.title = "Mountains"
+        MediaSqlUtils.insertOrUpdateMedia(media)
+        assertTrue(MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").isEmpty())
+        assertEquals(listOf(media.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "mountain").ids)
+
+        MediaSqlUtils.deleteMedia(media)
+        assertTrue(MediaSqlUtils.fullTextSearchSiteMedia(site, "mountain").isEmpty())
+    }
+
+    @Test
+    fun testIndexIsRecreatedWhenTheDatabaseIsReset() {
+        insertMedia(title = "Sunset")
+
+        // As done from onDowngrade, with the database being opened
+        config.reset(WellSql.giveMeWritableDb())
+        assertTrue(MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").isEmpty())
+
+        val media = insertMedia(title = "Sunset")
+        assertEquals(listOf(media.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").ids)
+    }
+
+    @Test
+    fun testIndexIsRecreatedWhenTheDatabaseIsResetThroughTheHelper() {
+        insertMedia(title = "Sunset")
+
+        // Reopening the database with a lower version downgrades it, resetting it through the helper
+        val appContext = RuntimeEnvironment.application.applicationContext
+        WellSql.init(object : WellSqlConfig(appContext) {
+            override fun getDbVersion() = super.getDbVersion() - 1
+
+            override fun onDowngrade(db: SQLiteDatabase, helper: WellTableManager, oldVersion: Int, newVersion: Int) {
+                reset(helper)
+            }
+        })
+        assertTrue(MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").isEmpty())
+
+        val media = insertMedia(title = "Sunset")
+        assertEquals(listOf(media.id), MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset").ids)
+    }
+
+    @Test
+    fun testModelsAreLoadedLazilyInTheOrderOfTheResults() {
+        val first = insertMedia(title = "Sunset", caption = "Sunset")
+        val second = insertMedia(title = "Sunset")
+        val results = MediaSqlUtils.fullTextSearchSiteMedia(site, "sunset")
+
+        MediaSqlUtils.deleteMedia(first)
+
+        assertEquals(listOf(first.id, second.id), results.ids)
+        assertEquals(listOf(second.id), results.getModels().map { it.id })
+        assertEquals(listOf(second.id), results.getModels(1, 2).map { it.id })
+    }
+
+    @Test
+    fun testSitesAreSearchedByNameAndUrl() {
+        val blog = SiteModel().apply {
+            siteId = 1
+            name = "Travel journal"
+            url = "https://photos.example.com"
+        }
+        SiteSqlUtils.insertOrUpdateSite(blog)
+
+        assertEquals(1, SiteSqlUtils.fullTextSearchSites("journ").size)
+        assertEquals(1, SiteSqlUtils.fullTextSearchSites("photos.exam").size)
+        assertEquals("Travel journal", SiteSqlUtils.fullTextSearchSites("travel").getModels().single().name)
+    }
+
+    private fun insertMedia(title: String, caption: String? = null, localSiteId: Int = site.id): MediaModel {
+        val media = MediaModel().apply {
+            this.localSiteId = localSiteId
+            this.title = title
+            this.caption = caption
+        }
+        MediaSqlUtils.insertOrUpdateMedia(media)
+        return WellSql.select(MediaModel::class.java).asModel.last()
+    }
+}
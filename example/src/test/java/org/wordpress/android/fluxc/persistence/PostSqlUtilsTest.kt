@@ -13,6 +13,7 @@ import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId
 import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
 import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.post.PostStatus
 import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRemoteAutoSaveModel
 import kotlin.test.assertNull
 
@@ -94,6 +95,38 @@ class PostSqlUtilsTest {
         assertThat(postsWithSameRemotePostId).hasSize(1)
     }
 
+    @Test
+    fun `post summaries are read without the content of the posts`() {
+        // Given
+        val site = createSite()
+        val post = postSqlUtils.insertPostForResult(createPost(site.id, 1, 200).apply {
+            setTitle("Title")
+            setContent("Content")
+            setStatus("draft")
+            setDateCreated("2019-01-01T10:00:00+00:00")
+            setFeaturedImageId(300)
+            setIsLocallyChanged(true)
+        })
+        val page = postSqlUtils.insertPostForResult(createPost(site.id, 2, 201).apply { setIsPage(true) })
+
+        // When
+        val summaries = postSqlUtils.getPostSummariesForSite(site, false)
+
+        // Then
+        val summary = summaries.single()
+        assertThat(summary.id).isEqualTo(post.id)
+        assertThat(summary.remotePostId).isEqualTo(200)
+        assertThat(summary.title).isEqualTo("Title")
+        assertThat(summary.postStatus).isEqualTo(PostStatus.DRAFT)
+        assertThat(summary.dateCreated).isEqualTo(post.dateCreated)
+        assertThat(summary.featuredImageId).isEqualTo(300)
+        assertThat(summary.isPage).isFalse()
+        assertThat(summary.isLocallyChanged).isTrue()
+        assertThat(summary.isLocalDraft).isFalse()
+        assertThat(postSqlUtils.getPostSummariesByLocalOrRemotePostIds(listOf(RemoteId(201)), site.id).single().id)
+                .isEqualTo(page.id)
+    }
+
     private fun createPost(localSiteId: Int, localId: Int, remoteId: Long) = PostModel().apply {
         setId(localId)
         setRemotePostId(remoteId)
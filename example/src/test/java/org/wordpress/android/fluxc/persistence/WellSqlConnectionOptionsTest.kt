@@ -0,0 +1,73 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.sqlite.SQLiteDatabase
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.persistence.WellSqlConfig.ConnectionOptions
+import org.wordpress.android.fluxc.persistence.WellSqlConfig.Synchronous
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class WellSqlConnectionOptionsTest {
+    @Test
+    fun `connection options are applied to the primary connection`() {
+        val config = object : WellSqlConfig(RuntimeEnvironment.application.applicationContext) {
+            override fun getConnectionOptions() = ConnectionOptions(
+                    synchronous = Synchronous.NORMAL,
+                    cacheSizeKb = 4096,
+                    mmapSizeBytes = 1024L * 1024L
+            )
+        }
+        WellSql.init(config)
+        val db = WellSql.giveMeWritableDb()
+
+        assertThat(getPragma(db, "synchronous")).isEqualTo(Synchronous.NORMAL.ordinal.toLong())
+        // Stored as a negative number, a size in KiB rather than a number of pages
+        assertThat(getPragma(db, "cache_size")).isEqualTo(-4096L)
+        assertThat(getPragma(db, "mmap_size")).isEqualTo(1024L * 1024L)
+    }
+
+    @Test
+    fun `default connection options keep the SQLite defaults`() {
+        WellSql.init(WellSqlConfig(RuntimeEnvironment.application.applicationContext))
+        val db = WellSql.giveMeWritableDb()
+        val unconfiguredDb = SQLiteDatabase.create(null)
+
+        assertThat(db.isWriteAheadLoggingEnabled).isFalse()
+        listOf("synchronous", "cache_size", "mmap_size").forEach {
+            assertThat(getPragma(db, it)).describedAs(it).isEqualTo(getPragma(unconfiguredDb, it))
+        }
+        unconfiguredDb.close()
+    }
+
+    @Test
+    fun `write-ahead logging is enabled`() {
+        val config = object : WellSqlConfig(RuntimeEnvironment.application.applicationContext) {
+            override fun getConnectionOptions() = ConnectionOptions(writeAheadLogging = true)
+        }
+        WellSql.init(config)
+        val db = WellSql.giveMeWritableDb()
+
+        assertThat(db.isWriteAheadLoggingEnabled).isTrue()
+        assertThat(getStringPragma(db, "journal_mode")).isEqualToIgnoringCase("wal")
+    }
+
+    private fun getPragma(db: SQLiteDatabase, name: String): Long {
+        return db.rawQuery("PRAGMA $name", null).use { cursor ->
+            cursor.moveToFirst()
+            cursor.getLong(0)
+        }
+    }
+
+    private fun getStringPragma(db: SQLiteDatabase, name: String): String {
+        return db.rawQuery("PRAGMA $name", null).use { cursor ->
+            cursor.moveToFirst()
+            cursor.getString(0)
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.nhaarman.mockitokotlin2.mock
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.persistence.WellSqlConfig.Companion.ADDON_WOOCOMMERCE
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class WellSqlIndexesTest {
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+
+        val config = WellSqlConfig(appContext, ADDON_WOOCOMMERCE)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `all declared indexes are created`() {
+        assertThat(getSchemaNames("index")).containsAll(WellSqlConfig.tableIndexes.map { it.name })
+    }
+
+    @Test
+    fun `upgrading from version 137 with the WooCommerce add-on creates each version's tables and indexes`() {
+        val config = WellSqlConfig(RuntimeEnvironment.application.applicationContext, ADDON_WOOCOMMERCE)
+        val db = WellSql.giveMeWritableDb()
+        // Version 137 had none of the indexes, nor the tables added since
+        WellSqlConfig.searchIndexes.forEach { index ->
+            db.execSQL(index.dropStatement())
+            listOf("bu", "bd", "au", "ai").forEach { db.execSQL("DROP TRIGGER IF EXISTS ${index.name}_$it") }
+        }
+        WellSqlConfig.tableIndexes.forEach { db.execSQL("DROP INDEX IF EXISTS ${it.name}") }
+        db.execSQL("DROP TABLE WCRevenueStatsIntervalModel")
+        db.execSQL("DROP TABLE WCSyncStateModel")
+
+        config.onUpgrade(db, mock(), 137, config.dbVersion)
+
+        assertThat(getSchemaNames("table")).contains("WCRevenueStatsIntervalModel", "WCSyncStateModel")
+        assertThat(getSchemaNames("table")).containsAll(WellSqlConfig.searchIndexes.map { it.name })
+        assertThat(getSchemaNames("index")).containsAll(WellSqlConfig.tableIndexes.map { it.name })
+    }
+
+    @Test
+    fun `top lookup queries don't scan the whole table`() {
+        listOf(
+                "SELECT * FROM PostModel WHERE LOCAL_SITE_ID = 1 AND REMOTE_POST_ID = 2",
+                "SELECT * FROM PostModel WHERE LOCAL_SITE_ID = 1",
+                "SELECT * FROM MediaModel WHERE LOCAL_SITE_ID = 1 AND MEDIA_ID = 2",
+                "SELECT * FROM SiteModel WHERE SITE_ID = 1",
+                "SELECT * FROM SiteModel WHERE XMLRPC_URL = 'https://example.com/xmlrpc.php'",
+                "SELECT * FROM WCProductModel WHERE LOCAL_SITE_ID = 1 AND REMOTE_PRODUCT_ID = 2",
+                "SELECT * FROM WCProductVariationModel WHERE LOCAL_SITE_ID = 1 AND REMOTE_PRODUCT_ID = 2 " +
+                        "AND REMOTE_VARIATION_ID = 3",
+                "SELECT * FROM WCProductReviewModel WHERE LOCAL_SITE_ID = 1",
+                "SELECT * FROM WCOrderModel WHERE LOCAL_SITE_ID = 1 AND REMOTE_ORDER_ID = 2",
+                "SELECT * FROM WCOrderNoteModel WHERE LOCAL_SITE_ID = 1 AND LOCAL_ORDER_ID = 2",
+                "SELECT * FROM WCRevenueStatsIntervalModel WHERE LOCAL_SITE_ID = 1 AND INTERVAL = 'DAY' " +
+                        "AND DATE_START >= '2019-07-01' AND DATE_START <= '2019-07-31'"
+        ).forEach { query ->
+            assertThat(getQueryPlan(query)).describedAs(query).noneMatch { it.startsWith("SCAN") }
+        }
+    }
+
+    private fun getSchemaNames(type: String): List<String> {
+        val cursor = WellSql.giveMeReadableDb().rawQuery("SELECT name FROM sqlite_master WHERE type = ?", arrayOf(type))
+        val names = mutableListOf<String>()
+        cursor.use {
+            while (it.moveToNext()) {
+                names.add(it.getString(0))
+            }
+        }
+        return names
+    }
+
+    private fun getQueryPlan(query: String): List<String> {
+        val cursor = WellSql.giveMeReadableDb().rawQuery("EXPLAIN QUERY PLAN $query", null)
+        val details = mutableListOf<String>()
+        cursor.use {
+            val detailIndex = it.getColumnIndexOrThrow("detail")
+            while (it.moveToNext()) {
+                details.add(it.getString(detailIndex))
+            }
+        }
+        return details
+    }
+}
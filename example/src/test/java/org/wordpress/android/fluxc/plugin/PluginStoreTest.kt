@@ -0,0 +1,68 @@
+package org.wordpress.android.fluxc.plugin
+
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.verifyNoMoreInteractions
+import org.junit.Before
+import org.junit.Test
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.generated.PluginActionBuilder
+import org.wordpress.android.fluxc.network.rest.wpcom.plugin.PluginRestClient
+import org.wordpress.android.fluxc.network.wporg.plugin.PluginWPOrgClient
+import org.wordpress.android.fluxc.store.PluginStore
+import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginError
+import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginErrorType
+import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginsPayload
+import org.wordpress.android.fluxc.store.PluginStore.FetchedWPOrgPluginPayload
+
+class PluginStoreTest {
+    private val dispatcher = mock<Dispatcher>()
+    private val pluginRestClient = mock<PluginRestClient>()
+    private val pluginWPOrgClient = mock<PluginWPOrgClient>()
+
+    private lateinit var pluginStore: PluginStore
+
+    @Before
+    fun setUp() {
+        pluginStore = PluginStore(dispatcher, pluginRestClient, pluginWPOrgClient)
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsSkipsSlugsInFlight() {
+        fetchWPOrgPlugins("akismet", "jetpack")
+        fetchWPOrgPlugins("jetpack", "akismet", "woocommerce")
+
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(listOf("akismet", "jetpack"))
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(listOf("woocommerce"))
+        verifyNoMoreInteractions(pluginWPOrgClient)
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsFetchesSlugsAgainOnceFetched() {
+        fetchWPOrgPlugins("akismet", "jetpack")
+        val error = FetchWPOrgPluginError(FetchWPOrgPluginErrorType.GENERIC_ERROR)
+        pluginStore.onAction(PluginActionBuilder.newFetchedWporgPluginAction(
+                FetchedWPOrgPluginPayload("akismet", error)))
+
+        fetchWPOrgPlugins("akismet", "jetpack")
+
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(listOf("akismet", "jetpack"))
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(listOf("akismet"))
+        verifyNoMoreInteractions(pluginWPOrgClient)
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsSplitsLargeBatches() {
+        val slugs = (1..PluginWPOrgClient.FETCH_WPORG_PLUGINS_MAX_SLUGS + 1).map { "plugin-$it" }
+
+        fetchWPOrgPlugins(*slugs.toTypedArray())
+
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(slugs.dropLast(1))
+        verify(pluginWPOrgClient).fetchWPOrgPlugins(listOf(slugs.last()))
+        verifyNoMoreInteractions(pluginWPOrgClient)
+    }
+
+    private fun fetchWPOrgPlugins(vararg slugs: String) {
+        pluginStore.onAction(PluginActionBuilder.newFetchWporgPluginsAction(FetchWPOrgPluginsPayload(slugs.toList())))
+    }
+}
@@ -0,0 +1,121 @@
+package org.wordpress.android.fluxc.plugin
+
+import android.net.Uri
+import com.android.volley.NoConnectionError
+import com.android.volley.RequestQueue
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argumentCaptor
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.action.PluginAction
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.network.UserAgent
+import org.wordpress.android.fluxc.network.rest.GsonRequest
+import org.wordpress.android.fluxc.network.wporg.WPOrgAPIGsonRequest
+import org.wordpress.android.fluxc.network.wporg.plugin.PluginWPOrgClient
+import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginErrorType
+import org.wordpress.android.fluxc.store.PluginStore.FetchedWPOrgPluginPayload
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+
+@RunWith(RobolectricTestRunner::class)
+class PluginWPOrgClientTest {
+    private val dispatcher = mock<Dispatcher>()
+    private val requestQueue = mock<RequestQueue>()
+    private val userAgent = mock<UserAgent>()
+
+    private lateinit var client: PluginWPOrgClient
+
+    @Before
+    fun setUp() {
+        client = PluginWPOrgClient(dispatcher, requestQueue, userAgent)
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsRequestsAllSlugsAtOnce() {
+        client.fetchWPOrgPlugins(listOf("akismet", "jetpack"))
+
+        val uri = Uri.parse(captureRequest().url)
+        assertEquals("plugin_information", uri.getQueryParameter("action"))
+        assertEquals("akismet,jetpack", uri.getQueryParameter("request[slugs]"))
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsWithoutSlugsDoesNothing() {
+        client.fetchWPOrgPlugins(emptyList())
+
+        verify(requestQueue, never()).add<Any>(any())
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsDispatchesOnePayloadPerSlug() {
+        client.fetchWPOrgPlugins(listOf("akismet", "missing", "unknown", "closed"))
+
+        captureRequest().deliver("""{
+            "akismet": {
+                "name": "Akismet Spam Protection",
+                "slug": "akismet",
+                "version": "4.1.9",
+                "sections": {"description": "<p>Spam protection</p>"},
+                "ratings": {"5": 800}
+            },
+            "missing": false,
+            "closed": {"error": "Plugin not found."}
+        }""")
+
+        val payloads = capturePayloads(4)
+        assertEquals(listOf("akismet", "missing", "unknown", "closed"), payloads.map { it.pluginSlug })
+
+        val akismet = payloads[0]
+        assertNull(akismet.error)
+        assertEquals("akismet", akismet.wpOrgPlugin.slug)
+        assertEquals("Akismet Spam Protection", akismet.wpOrgPlugin.displayName)
+        assertEquals("4.1.9", akismet.wpOrgPlugin.version)
+
+        // Plugins that don't exist are either `false`, missing from the response or an error object
+        payloads.drop(1).forEach {
+            assertEquals(FetchWPOrgPluginErrorType.PLUGIN_DOES_NOT_EXIST, it.error.type)
+            assertNull(it.wpOrgPlugin)
+        }
+    }
+
+    @Test
+    fun testFetchWPOrgPluginsDispatchesAnErrorForEachSlugWhenTheRequestFails() {
+        client.fetchWPOrgPlugins(listOf("akismet", "jetpack"))
+
+        captureRequest().deliverError(NoConnectionError())
+
+        val payloads = capturePayloads(2)
+        assertEquals(listOf("akismet", "jetpack"), payloads.map { it.pluginSlug })
+        payloads.forEach { assertEquals(FetchWPOrgPluginErrorType.GENERIC_ERROR, it.error.type) }
+    }
+
+    private fun captureRequest(): WPOrgAPIGsonRequest<JsonObject> {
+        val captor = argumentCaptor<WPOrgAPIGsonRequest<JsonObject>>()
+        verify(requestQueue).add(captor.capture())
+        return captor.firstValue
+    }
+
+    private fun capturePayloads(count: Int): List<FetchedWPOrgPluginPayload> {
+        val captor = argumentCaptor<Action<FetchedWPOrgPluginPayload>>()
+        verify(dispatcher, times(count)).dispatch(captor.capture())
+        captor.allValues.forEach { assertEquals(PluginAction.FETCHED_WPORG_PLUGIN, it.type) }
+        return captor.allValues.map { it.payload }
+    }
+
+    private fun WPOrgAPIGsonRequest<JsonObject>.deliver(json: String) {
+        // deliverResponse is protected, it is called by Volley once the response is parsed
+        GsonRequest::class.java.getDeclaredMethod("deliverResponse", Any::class.java).apply {
+            isAccessible = true
+        }.invoke(this, JsonParser().parse(json).asJsonObject)
+    }
+}
@@ -18,7 +18,9 @@ import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @RunWith(RobolectricTestRunner.class)
@@ -59,6 +61,26 @@ public class WPOrgPluginSqlUtilsTest {
         Assert.assertEquals(insertedPlugin.getDisplayName(), displayName);
     }
 
+    @Test
+    public void testGetWPOrgPluginsBySlug() {
+        List<String> slugs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            WPOrgPluginModel plugin = new WPOrgPluginModel();
+            plugin.setSlug(randomString("slug" + i));
+            PluginSqlUtils.insertOrUpdateWPOrgPlugin(plugin);
+            slugs.add(plugin.getSlug());
+        }
+        String missingSlug = randomString("missing");
+
+        Map<String, WPOrgPluginModel> pluginsBySlug =
+                PluginSqlUtils.getWPOrgPluginsBySlug(Arrays.asList(slugs.get(0), slugs.get(2), missingSlug));
+
+        Assert.assertEquals(2, pluginsBySlug.size());
+        Assert.assertEquals(slugs.get(0), pluginsBySlug.get(slugs.get(0)).getSlug());
+        Assert.assertEquals(slugs.get(2), pluginsBySlug.get(slugs.get(2)).getSlug());
+        Assert.assertNull(pluginsBySlug.get(missingSlug));
+    }
+
     @Test
     public void testUpdateWPOrgPlugin() {
         String slug = randomString("slug");
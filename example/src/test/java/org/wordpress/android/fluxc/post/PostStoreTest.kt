@@ -2,6 +2,7 @@ package org.wordpress.android.fluxc.post
 
 import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.argThat
+import com.nhaarman.mockitokotlin2.eq
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.verifyNoMoreInteractions
@@ -20,6 +21,8 @@ import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.list.PostListDescriptor
 import org.wordpress.android.fluxc.model.post.PostStatus
 import org.wordpress.android.fluxc.model.post.PostStatus.PUBLISHED
+import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRestClient
+import org.wordpress.android.fluxc.network.xmlrpc.post.PostXMLRPCClient
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.FetchedListItemsPayload
 import org.wordpress.android.fluxc.store.PostStore
@@ -33,13 +36,15 @@ class PostStoreTest {
     @Mock lateinit var site: SiteModel
     @Mock lateinit var postSqlUtils: PostSqlUtils
     @Mock lateinit var dispatcher: Dispatcher
+    @Mock lateinit var postRestClient: PostRestClient
+    @Mock lateinit var postXMLRPCClient: PostXMLRPCClient
     private lateinit var store: PostStore
     @Mock lateinit var mockedListDescriptor: PostListDescriptor
 
     @Before
     fun setUp() {
-        store = PostStore(dispatcher, mock(), mock(), postSqlUtils)
-        whenever(mockedListDescriptor.site).thenReturn(mock())
+        store = PostStore(dispatcher, postRestClient, postXMLRPCClient, postSqlUtils)
+        whenever(mockedListDescriptor.site).thenReturn(site)
         // verify "register" so we can use verifyNoMoreInteractions in all the test methods
         verify(dispatcher).register(any())
     }
@@ -109,7 +114,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when post changed in remote`() {
+    fun `handleFetchedPostList fetches changed posts when post changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -121,9 +126,7 @@ class PostStoreTest {
         store.onAction(action)
 
         // Assert
-        verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
-        })
+        verify(postXMLRPCClient).fetchPostsByRemoteIds(eq(listOf(postInLocalDb)), eq(site))
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
         })
@@ -193,7 +196,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when post status changed in remote`() {
+    fun `handleFetchedPostList fetches changed posts when post status changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -205,9 +208,7 @@ class PostStoreTest {
         store.onAction(action)
 
         // Assert
-        verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
-        })
+        verify(postXMLRPCClient).fetchPostsByRemoteIds(eq(listOf(postInLocalDb)), eq(site))
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
         })
@@ -215,7 +216,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when autosave object changed in remote`() {
+    fun `handleFetchedPostList fetches changed posts when autosave object changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -227,9 +228,7 @@ class PostStoreTest {
         store.onAction(action)
 
         // Assert
-        verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
-        })
+        verify(postXMLRPCClient).fetchPostsByRemoteIds(eq(listOf(postInLocalDb)), eq(site))
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
         })
@@ -292,6 +291,47 @@ class PostStoreTest {
         verifyNoMoreInteractions(dispatcher)
     }
 
+    @Test
+    fun `handleFetchedPostList fetches changed posts of a REST site in a single request`() {
+        // Arrange
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        val postsInLocalDb = (1L..3L).map { createPostModel().apply { setRemotePostId(it) } }
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = postsInLocalDb.map { createRemotePostListItem(it, lastModified = "modified") }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postRestClient).fetchPostsByRemoteIds(eq(postsInLocalDb), eq(site))
+        verifyNoMoreInteractions(postRestClient)
+        verifyNoMoreInteractions(postXMLRPCClient)
+    }
+
+    @Test
+    fun `handleFetchedPostList fetches changed posts of a REST site when post status changed in remote`() {
+        // Arrange
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        val postInLocalDb = createPostModel()
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
+
+        val remotePostListItem = createRemotePostListItem(postInLocalDb, status = PostStatus.TRASHED.toString())
+        val action = createFetchedPostListAction(postListItems = listOf(remotePostListItem))
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postRestClient).fetchPostsByRemoteIds(eq(listOf(postInLocalDb)), eq(site))
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+        verifyNoMoreInteractions(postXMLRPCClient)
+    }
+
     private fun createFetchedPostListAction(
         postListItems: List<PostListItem> = listOf(),
         listDescriptor: PostListDescriptor = mockedListDescriptor,
@@ -664,6 +664,47 @@ public class SiteStoreUnitTest {
         assertEquals(1, mSiteStore.getSitesCount());
     }
 
+    @Test
+    public void testBatchUpdateSitesKeepsEditors() {
+        WellSqlTestUtils.setupWordPressComAccount();
+
+        SiteModel existingSite = generateTestSite(1, "https://pony1.com", "https://pony1.com/xmlrpc.php", true, true);
+        existingSite.setMobileEditor("gutenberg");
+        existingSite.setWebEditor("classic");
+        SiteSqlUtils.insertOrUpdateSites(Collections.singletonList(existingSite));
+
+        List<SiteModel> siteList = new ArrayList<>();
+        siteList.add(generateTestSite(1, "https://pony1.com", "https://pony1.com/xmlrpc.php", true, true));
+        siteList.add(generateTestSite(2, "https://pony2.com", "https://pony2.com/xmlrpc.php", true, true));
+        SiteSqlUtils.InsertOrUpdateSitesResult res = SiteSqlUtils.insertOrUpdateSites(siteList);
+
+        assertFalse(res.duplicateSiteFound);
+        assertEquals(2, res.rowsAffected);
+        assertEquals(2, mSiteStore.getSitesCount());
+        SiteModel updatedSite = mSiteStore.getSiteBySiteId(1);
+        assertEquals(existingSite.getId(), updatedSite.getId());
+        assertEquals("gutenberg", updatedSite.getMobileEditor());
+        assertEquals("classic", updatedSite.getWebEditor());
+    }
+
+    @Test
+    public void testRemoveWPComRestSitesAbsentFromList() {
+        WellSqlTestUtils.setupWordPressComAccount();
+
+        List<SiteModel> siteList = new ArrayList<>();
+        siteList.add(generateTestSite(1, "https://pony1.com", "https://pony1.com/xmlrpc.php", true, true));
+        siteList.add(generateTestSite(2, "https://pony2.com", "https://pony2.com/xmlrpc.php", true, true));
+        siteList.add(generateTestSite(3, "https://pony3.com", "https://pony3.com/xmlrpc.php", true, true));
+        SiteSqlUtils.insertOrUpdateSites(siteList);
+
+        int removed = SiteSqlUtils.removeWPComRestSitesAbsentFromList(mPostSqlUtils,
+                Collections.singletonList(generateTestSite(2, "https://pony2.com", "", true, true)));
+
+        assertEquals(2, removed);
+        assertEquals(1, mSiteStore.getSitesCount());
+        assertNotNull(mSiteStore.getSiteBySiteId(2));
+    }
+
     @Test
     public void testInsertSiteDuplicateXmlRpcTrailingSlash() throws DuplicateSiteException {
         // It's possible for the URL in `wp.getOptions` to be different from the URL in `wp.getUsersBlogs`,
@@ -24,6 +24,7 @@ import org.wordpress.android.fluxc.persistence.UploadSqlUtils;
 import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 import org.wordpress.android.fluxc.store.MediaStore.MediaError;
 import org.wordpress.android.fluxc.store.MediaStore.MediaErrorType;
+import org.wordpress.android.fluxc.store.MediaStore.ProgressPayload;
 import org.wordpress.android.fluxc.store.PostStore;
 import org.wordpress.android.fluxc.store.PostStore.PostError;
 import org.wordpress.android.fluxc.store.PostStore.PostErrorType;
@@ -75,6 +76,33 @@ public class UploadStoreUnitTest {
         assertEquals(0.65F, mUploadStore.getUploadProgressForMedia(testMedia), 0.1F);
     }
 
+    @Test
+    public void testMediaUploadProgressIsThrottled() {
+        MediaModel testMedia = UploadTestUtils.getLocalTestMedia();
+        testMedia.setId(5);
+        MediaSqlUtils.insertMediaForResult(testMedia);
+        UploadSqlUtils.insertOrUpdateMedia(new MediaUploadModel(testMedia.getId()));
+
+        // Never write intermediate progress values to the database
+        mUploadStore.setProgressFlushInterval(Long.MAX_VALUE);
+        mUploadStore.onAction(UploadActionBuilder.newUploadedMediaAction(
+                new ProgressPayload(testMedia, 0.4F, false, false)));
+        mUploadStore.onAction(UploadActionBuilder.newUploadedMediaAction(
+                new ProgressPayload(testMedia, 0.6F, false, false)));
+
+        assertEquals(0.6F, mUploadStore.getUploadProgressForMedia(testMedia), 0.01F);
+        assertEquals(0F, UploadTestUtils.getMediaUploadModelForMediaModel(testMedia).getProgress(), 0.01F);
+
+        // State transitions are written right away
+        mUploadStore.onAction(UploadActionBuilder.newUploadedMediaAction(
+                new ProgressPayload(testMedia, 1F, true, false)));
+
+        MediaUploadModel mediaUploadModel = UploadTestUtils.getMediaUploadModelForMediaModel(testMedia);
+        assertEquals(MediaUploadModel.COMPLETED, mediaUploadModel.getUploadState());
+        assertEquals(1F, mediaUploadModel.getProgress(), 0.01F);
+        assertEquals(1F, mUploadStore.getUploadProgressForMedia(testMedia), 0.01F);
+    }
+
     @Test
     public void testPostModelRegistration() {
         // Create a PostModel and add it to the PostStore
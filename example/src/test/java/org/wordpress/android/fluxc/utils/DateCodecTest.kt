@@ -0,0 +1,121 @@
+package org.wordpress.android.fluxc.utils
+
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class DateCodecTest {
+    @Test
+    fun testXmlRpcDatesAreFormattedAndParsedInGmt() {
+        val date = DateCodec.ISO8601_UTC.parse("1955-11-05T14:15:00+0000")
+
+        assertEquals("19551105T14:15:00", DateCodec.XMLRPC.format(date))
+        assertEquals(date, DateCodec.XMLRPC.parse("19551105T14:15:00"))
+    }
+
+    @Test
+    fun testIso8601OffsetsAreNormalized() {
+        val expected = DateCodec.ISO8601_UTC.parse("1955-11-05T14:15:00+0000")
+
+        assertEquals(expected, DateCodec.dateFromIso8601("1955-11-05T14:15:00Z"))
+        assertEquals(expected, DateCodec.dateFromIso8601("1955-11-05T14:15:00+00:00"))
+        assertEquals(expected, DateCodec.dateFromIso8601("1955-11-05T06:15:00-08:00"))
+        assertEquals(expected, DateCodec.dateFromIso8601("1955-11-05T06:15:00-0800"))
+        assertNull(DateCodec.dateFromIso8601("not a date"))
+        assertNull(DateCodec.dateFromIso8601(null))
+    }
+
+    @Test
+    fun testPatternCodecsAreSharedAndUseTheDefaultTimeZone() {
+        val defaultTimeZone = TimeZone.getDefault()
+        try {
+            val codec = DateCodec.forPattern("yyyy-MM-dd HH:mm")
+            assertSame(codec, DateCodec.forPattern("yyyy-MM-dd HH:mm"))
+
+            val date = DateCodec.ISO8601_UTC.parse("2019-07-01T22:30:00+0000")
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT+2"))
+            assertEquals("2019-07-02 00:30", codec.format(date))
+
+            TimeZone.setDefault(TimeZone.getTimeZone("GMT-2"))
+            assertEquals("2019-07-01 20:30", codec.format(date))
+        } finally {
+            TimeZone.setDefault(defaultTimeZone)
+        }
+    }
+
+    @Test
+    fun testReconfiguredFormatsAreReset() {
+        DateCodec.XMLRPC.get().timeZone = TimeZone.getTimeZone("GMT+5")
+
+        assertEquals("19700101T00:00:00", DateCodec.XMLRPC.format(Date(0)))
+    }
+
+    @Test
+    fun testConcurrentParsingIsConsistent() {
+        val dates = (0 until 100).map { "2019${"%02d".format(it % 12 + 1)}${"%02d".format(it % 28 + 1)}T10:20:30" }
+        val executor = Executors.newFixedThreadPool(THREADS)
+        try {
+            val results = executor.invokeAll((0 until THREADS).map {
+                Callable {
+                    (0 until ITERATIONS).map { i ->
+                        DateCodec.XMLRPC.format(DateCodec.XMLRPC.parse(dates[i % dates.size]))
+                    }
+                }
+            })
+
+            results.forEach { result ->
+                result.get().forEachIndexed { i, formatted -> assertEquals(dates[i % dates.size], formatted) }
+            }
+        } finally {
+            executor.shutdown()
+            executor.awaitTermination(1, TimeUnit.SECONDS)
+        }
+    }
+
+    /**
+     * Compares the throughput of the shared codecs with a format created for each call, as the code used to do.
+     * Skipped unless the `benchmark` system property of the test JVM is set to true, e.g. with -Pbenchmark=true.
+     */
+    @Test
+    fun benchmarkXmlRpcParsing() {
+        assumeTrue(System.getProperty("benchmark")?.toBoolean() == true)
+        val value = "20190701T10:20:30"
+        val gmt = TimeZone.getTimeZone("GMT")
+
+        val perCall = measureThroughput {
+            SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US).apply { timeZone = gmt }.parse(value)
+        }
+        val shared = measureThroughput { DateCodec.XMLRPC.parse(value) }
+
+        println("XML-RPC date parsing, ops/s: format per call = $perCall, shared codec = $shared")
+        assertTrue(shared >= perCall, "The shared codec is slower than a format per call")
+    }
+
+    private fun measureThroughput(operation: () -> Unit): Long {
+        repeat(BENCHMARK_WARMUP_ITERATIONS) { operation() }
+        var iterations = 0L
+        val start = System.nanoTime()
+        val end = start + TimeUnit.SECONDS.toNanos(1)
+        while (System.nanoTime() < end) {
+            operation()
+            iterations++
+        }
+        return iterations * TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start)
+    }
+
+    companion object {
+        private const val THREADS = 8
+        private const val ITERATIONS = 1000
+        private const val BENCHMARK_WARMUP_ITERATIONS = 20_000
+    }
+}
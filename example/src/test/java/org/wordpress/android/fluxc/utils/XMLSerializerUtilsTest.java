@@ -5,11 +5,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCException;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLSerializerUtils;
+import org.xmlpull.v1.XmlPullParserException;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 
 @RunWith(RobolectricTestRunner.class)
 public class XMLSerializerUtilsTest {
@@ -39,6 +43,65 @@ public class XMLSerializerUtilsTest {
         Assert.assertEquals(xml, result);
     }
 
+    @Test
+    public void testXmlRpcResponseScrubBytesWithJunk() throws IOException {
+        final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><nothing></nothing>";
+        final String junk = "this is junk text 12345,./;'pp<<><><;;";
+        final InputStream resultStream = XMLSerializerUtils.scrubXmlResponse((junk + xml).getBytes("UTF-8"));
+        Assert.assertEquals(xml, readFully(resultStream));
+    }
+
+    @Test
+    public void testXmlRpcResponseScrubWithoutDeclaration() throws IOException {
+        final String xml = "<methodResponse></methodResponse>";
+        final InputStream is = new ByteArrayInputStream(xml.getBytes("UTF-8"));
+        Assert.assertEquals(xml, readFully(XMLSerializerUtils.scrubXmlResponse(is)));
+        Assert.assertEquals(xml, readFully(XMLSerializerUtils.scrubXmlResponse(xml.getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void testDeserializeLargeResponseWithManyItems()
+            throws IOException, XmlPullParserException, XMLRPCException {
+        // A wp.getPosts-like response of several MB, with some junk and non-ASCII content, must be read in full
+        // and the same way from bytes and from a stream
+        final int postCount = 5000;
+        StringBuilder builder = new StringBuilder("Warning: junk\n<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        builder.append("<methodResponse><params><param><value><array><data>");
+        for (int i = 0; i < postCount; i++) {
+            builder.append("<value><struct>")
+                   .append("<member><name>post_id</name><value><string>").append(i).append("</string></value></member>")
+                   .append("<member><name>post_content</name><value><string>");
+            for (int j = 0; j < 20; j++) {
+                builder.append("Lorem ipsum dolor sit amet, caf\u00e9 \u00fcber na\u00efve &amp; more. ");
+            }
+            builder.append("</string></value></member></struct></value>");
+        }
+        builder.append("</data></array></value></param></params></methodResponse>");
+        byte[] data = builder.toString().getBytes("UTF-8");
+        Assert.assertTrue(data.length > 5 * 1024 * 1024);
+
+        Object[] fromBytes = (Object[]) XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(data));
+        Object[] fromStream = (Object[]) XMLSerializerUtils.deserialize(
+                XMLSerializerUtils.scrubXmlResponse(new ByteArrayInputStream(data)));
+
+        Assert.assertEquals(postCount, fromBytes.length);
+        Assert.assertEquals(postCount, fromStream.length);
+        Map<?, ?> lastPost = (Map<?, ?>) fromBytes[postCount - 1];
+        Assert.assertEquals(String.valueOf(postCount - 1), lastPost.get("post_id"));
+        Assert.assertTrue(((String) lastPost.get("post_content")).startsWith("Lorem ipsum dolor sit amet, caf\u00e9"));
+        Assert.assertEquals(lastPost, fromStream[postCount - 1]);
+    }
+
+    private String readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toString("UTF-8");
+    }
+
     private String scrub(String input, int xmlLength) {
         try {
             final InputStream is = new ByteArrayInputStream(input.getBytes("UTF-8"));
@@ -0,0 +1,75 @@
+package org.wordpress.android.fluxc.wc
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.NETWORK_ERROR
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
+import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient
+import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackError
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackSuccess
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.BatchApiResponse
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooErrorType
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.order.OrderApiResponse
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.syncBatchUpdateRequest
+import org.wordpress.android.fluxc.test
+
+class BatchApiResponseTest {
+    private val requestBuilder: JetpackTunnelGsonRequestBuilder = mock()
+    private val restClient: BaseWPComRestClient = mock()
+    private val site = SiteModel().apply { siteId = 1 }
+
+    @Test
+    fun `updated items and item errors are parsed separately`() {
+        val response = parse("""{"update":[{"id":1,"status":"completed"},{"id":2,"error":{
+            |"code":"woocommerce_rest_shop_order_invalid_id","message":"Invalid ID.","data":{"status":404}}}]}"""
+                .trimMargin())
+
+        val (items, errors) = response.parseUpdatedItems(OrderApiResponse::class.java)
+
+        assertThat(items.map { it.id }).containsExactly(1L)
+        assertThat(items.single().status).isEqualTo("completed")
+        assertThat(errors.keys).containsExactly(2L)
+        assertThat(errors.getValue(2).type).isEqualTo(WooErrorType.INVALID_ID)
+        assertThat(errors.getValue(2).message).isEqualTo("Invalid ID.")
+    }
+
+    @Test
+    fun `updates are sent in batches and a failed batch reports an error for each of its items`() = test {
+        val success = JetpackSuccess(parse("""{"update":[{"id":1,"status":"completed"}]}"""))
+        val failure = JetpackError<BatchApiResponse>(WPComGsonNetworkError(BaseNetworkError(NETWORK_ERROR)))
+        whenever(requestBuilder.syncPostRequest(eq(restClient), eq(site), eq(URL), any(), eq(RESPONSE_TYPE)))
+                .thenReturn(success, failure)
+        val updates = (1L..150L).associateWith { mapOf("status" to "completed") }
+
+        val result = requestBuilder.syncBatchUpdateRequest(
+                restClient,
+                site,
+                URL,
+                updates,
+                OrderApiResponse::class.java
+        ) { it.id }
+
+        assertThat(result.updatedItems).containsExactly(1L)
+        assertThat(result.errors.keys).containsExactlyElementsOf(101L..150L)
+        assertThat(result.errors.values.map { it.type }.distinct()).containsExactly(WooErrorType.API_ERROR)
+        verify(requestBuilder, times(2)).syncPostRequest(eq(restClient), eq(site), eq(URL), any(), eq(RESPONSE_TYPE))
+    }
+
+    private fun parse(json: String) =
+            GsonRegistry.get(GsonRegistry.Config.REST).fromJson(json, BatchApiResponse::class.java)
+
+    private companion object {
+        const val URL = "/wc/v3/orders/batch/"
+        val RESPONSE_TYPE = BatchApiResponse::class.java
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Test
 import org.wordpress.android.fluxc.UnitTestUtils
 import kotlin.test.assertEquals
 import kotlin.test.assertNull
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 
 class WCOrderModelTest {
@@ -68,6 +69,19 @@ class WCOrderModelTest {
         }
     }
 
+    @Test
+    fun testLineItemsAreDecodedOnceUntilTheColumnChanges() {
+        val model = OrderTestUtils.generateSampleOrder(61).apply {
+            lineItems = UnitTestUtils.getStringFromResourceFile(this.javaClass, "wc/lineitems.json")
+        }
+
+        val lineItems = model.getLineItemList()
+        assertSame(lineItems, model.getLineItemList())
+
+        model.lineItems = "[]"
+        assertTrue(model.getLineItemList().isEmpty())
+    }
+
     @Test
     fun testGetLineItemAttributes() {
         val model = OrderTestUtils.generateSampleOrder(61).apply {
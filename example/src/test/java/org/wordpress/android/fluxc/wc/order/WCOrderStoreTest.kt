@@ -1,6 +1,9 @@
 package org.wordpress.android.fluxc.wc.order
 
+import com.nhaarman.mockitokotlin2.argThat
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
 import com.yarolegovich.wellsql.WellSql
 import org.junit.Before
 import org.junit.Test
@@ -11,19 +14,29 @@ import org.robolectric.annotation.Config
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
 import org.wordpress.android.fluxc.UnitTestUtils
+import org.wordpress.android.fluxc.action.ListAction
+import org.wordpress.android.fluxc.action.WCOrderAction
 import org.wordpress.android.fluxc.generated.WCOrderActionBuilder
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.WCOrderModel
 import org.wordpress.android.fluxc.model.WCOrderNoteModel
 import org.wordpress.android.fluxc.model.WCOrderStatusModel
 import org.wordpress.android.fluxc.model.order.OrderIdentifier
+import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooBatchResult
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooError
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooErrorType
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.order.CoreOrderStatus
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.order.OrderRestClient
 import org.wordpress.android.fluxc.persistence.OrderSqlUtils
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.fluxc.store.WCOrderStore
 import org.wordpress.android.fluxc.store.WCOrderStore.FetchOrderStatusOptionsResponsePayload
+import org.wordpress.android.fluxc.store.WCOrderStore.OnOrderChanged
 import org.wordpress.android.fluxc.store.WCOrderStore.OrderErrorType
 import org.wordpress.android.fluxc.store.WCOrderStore.RemoteOrderPayload
+import org.wordpress.android.fluxc.test
+import org.wordpress.android.fluxc.tools.initCoroutineEngine
 import kotlin.test.assertEquals
 import kotlin.test.assertNull
 import kotlin.test.assertTrue
@@ -31,7 +44,7 @@ import kotlin.test.assertTrue
 @Config(manifest = Config.NONE)
 @RunWith(RobolectricTestRunner::class)
 class WCOrderStoreTest {
-    private val orderStore = WCOrderStore(Dispatcher(), mock())
+    private val orderStore = WCOrderStore(Dispatcher(), mock(), initCoroutineEngine())
 
     @Before
     fun setUp() {
@@ -216,4 +229,26 @@ class WCOrderStoreTest {
             assertEquals(duplicateRemoteOrder.apply { id = 1 }, orderStore.getOrderByIdentifier(packagedOrder))
         }
     }
+
+    @Test
+    fun testBatchUpdateOrderStatusesSavesOrdersAndInvalidatesOrderLists() = test {
+        val dispatcher: Dispatcher = mock()
+        val restClient: OrderRestClient = mock()
+        val store = WCOrderStore(dispatcher, restClient, initCoroutineEngine())
+        val site = SiteModel().apply { id = 6 }
+        val statuses = mapOf(1L to CoreOrderStatus.COMPLETED.value, 2L to CoreOrderStatus.COMPLETED.value)
+        val updatedOrder = OrderTestUtils.generateSampleOrder(1, CoreOrderStatus.COMPLETED.value)
+        whenever(restClient.batchUpdateOrderStatuses(site, statuses)).thenReturn(WooBatchResult(
+                listOf(updatedOrder), mapOf(2L to WooError(WooErrorType.INVALID_ID, GenericErrorType.NOT_FOUND))
+        ))
+
+        val result = store.batchUpdateOrderStatuses(site, statuses)
+
+        assertEquals(setOf(2L), result.errors.keys)
+        assertEquals(CoreOrderStatus.COMPLETED.value, OrderSqlUtils.getOrdersForSite(site).single().status)
+        verify(dispatcher).emitChange(argThat {
+            this is OnOrderChanged && causeOfChange == WCOrderAction.UPDATE_ORDER_STATUS && rowsAffected == 1
+        })
+        verify(dispatcher).dispatch(argThat { type == ListAction.LIST_DATA_INVALIDATED })
+    }
 }
@@ -100,6 +100,24 @@ class ProductSqlUtilsTest {
         assertEquals(3, storedProductsCount)
     }
 
+    @Test
+    fun testBulkInsertOrUpdateProductsReportsInsertsAndUpdates() {
+        val site = SiteModel().apply { id = 2 }
+        ProductSqlUtils.insertOrUpdateProduct(ProductTestUtils.generateSampleProduct(40, siteId = site.id))
+
+        val products = listOf(
+                ProductTestUtils.generateSampleProduct(40, siteId = site.id).apply { name = "Updated" },
+                ProductTestUtils.generateSampleProduct(41, siteId = site.id),
+                ProductTestUtils.generateSampleProduct(42, siteId = site.id)
+        )
+        val result = ProductSqlUtils.bulkInsertOrUpdateProducts(products)
+
+        assertEquals(2, result.inserted)
+        assertEquals(1, result.updated)
+        assertEquals(3, ProductSqlUtils.getProductCountForSite(site))
+        assertEquals("Updated", ProductSqlUtils.getProductByRemoteId(site, 40)?.name)
+    }
+
     @Test
     fun testGetProductsForSite() {
         // insert products for one site
@@ -0,0 +1,37 @@
+package org.wordpress.android.fluxc.wc.product
+
+import com.google.gson.Gson
+import org.junit.Test
+import org.wordpress.android.fluxc.model.WCProductModel
+import org.wordpress.android.fluxc.model.attribute.WCProductAttributeModel
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+
+class WCProductModelTest {
+    @Test
+    fun testChangingTheOptionsOfAnAttributeLeavesTheProductUnchanged() {
+        val model = WCProductModel().apply {
+            attributes = Gson().toJson(listOf(
+                    WCProductAttributeModel(globalAttributeId = 1, name = "Size", options = mutableListOf("S", "M"))
+            ))
+        }
+
+        model.attributeList[0].options.add("L")
+        model.getAttribute(1)!!.options.add("XL")
+
+        assertEquals(listOf("S", "M"), model.attributeList[0].options)
+        assertEquals(listOf("S", "M"), model.getAttribute(1)!!.options)
+    }
+
+    @Test
+    fun testFirstImageUrlIsNullWithoutSource() {
+        val model = WCProductModel().apply { images = "[{\"id\":1,\"name\":\"Image\"}]" }
+        assertNull(model.getFirstImageUrl())
+
+        model.images = "[{\"id\":1,\"src\":\"https://example.com/image.png\"}]"
+        assertEquals("https://example.com/image.png", model.getFirstImageUrl())
+
+        model.images = ""
+        assertNull(model.getFirstImageUrl())
+    }
+}
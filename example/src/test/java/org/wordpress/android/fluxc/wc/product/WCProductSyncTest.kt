@@ -0,0 +1,111 @@
+package org.wordpress.android.fluxc.wc.product
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.anyOrNull
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.WCProductModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel.SyncedEntity
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooModifiedPage
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooPayload
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.ProductRestClient
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils
+import org.wordpress.android.fluxc.persistence.WCSyncStateSqlUtils
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
+import org.wordpress.android.fluxc.store.WCProductStore
+import org.wordpress.android.fluxc.test
+import org.wordpress.android.fluxc.tools.initCoroutineEngine
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class WCProductSyncTest {
+    private val restClient = mock<ProductRestClient>()
+    private val site = SiteModel().apply { id = 6 }
+    private lateinit var store: WCProductStore
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = SingleStoreWellSqlConfigForTests(
+                appContext,
+                listOf(WCProductModel::class.java, WCSyncStateModel::class.java),
+                WellSqlConfig.ADDON_WOOCOMMERCE
+        )
+        WellSql.init(config)
+        config.reset()
+
+        store = WCProductStore(Dispatcher(), restClient, initCoroutineEngine())
+    }
+
+    @Test
+    fun `products modified since the last sync are fetched and deleted products are removed`() = test {
+        ProductSqlUtils.insertOrUpdateProduct(ProductTestUtils.generateSampleProduct(3))
+        whenever(restClient.fetchProductsModifiedAfter(site, null, 0, PAGE_SIZE))
+                .thenReturn(modifiedPage(1L..2L, "2021-05-01T10:00:00"))
+        whenever(restClient.fetchExistingProductIds(eq(site), any())).thenReturn(WooPayload(listOf(1L, 2L)))
+
+        val result = store.syncModifiedProducts(site)?.model
+
+        assertThat(result?.updatedCount).isEqualTo(2)
+        assertThat(result?.deletedCount).isEqualTo(1)
+        assertThat(ProductSqlUtils.getProductRemoteIdsForSite(site)).containsExactlyInAnyOrder(1L, 2L)
+        assertThat(WCSyncStateSqlUtils.getSyncState(site, SyncedEntity.PRODUCTS)?.modifiedAfterGmt)
+                .isEqualTo("2021-05-01T10:00:00")
+
+        whenever(restClient.fetchProductsModifiedAfter(site, "2021-05-01T09:59:59", 0, PAGE_SIZE))
+                .thenReturn(modifiedPage(2L..2L, "2021-05-02T08:30:00"))
+
+        val nextResult = store.syncModifiedProducts(site)?.model
+
+        assertThat(nextResult?.updatedCount).isEqualTo(1)
+        assertThat(nextResult?.deletedCount).isEqualTo(0)
+        assertThat(WCSyncStateSqlUtils.getSyncState(site, SyncedEntity.PRODUCTS)?.modifiedAfterGmt)
+                .isEqualTo("2021-05-02T08:30:00")
+        // Deleted products are only looked for once a day
+        verify(restClient, times(1)).fetchExistingProductIds(eq(site), any())
+    }
+
+    @Test
+    fun `pages continue from the last modification date, or from an offset when it doesn't change`() = test {
+        whenever(restClient.fetchProductsModifiedAfter(site, null, 0, PAGE_SIZE))
+                .thenReturn(modifiedPage(1L..100L, "2021-05-01T10:00:00"))
+        whenever(restClient.fetchProductsModifiedAfter(site, "2021-05-01T09:59:59", 0, PAGE_SIZE))
+                .thenReturn(modifiedPage(101L..200L, "2021-05-01T10:00:00"))
+        whenever(restClient.fetchProductsModifiedAfter(site, "2021-05-01T09:59:59", 100, PAGE_SIZE))
+                .thenReturn(modifiedPage(201L..201L, "2021-05-01T10:00:05"))
+        whenever(restClient.fetchExistingProductIds(eq(site), any())).thenAnswer {
+            WooPayload(it.getArgument<List<Long>>(1))
+        }
+
+        val result = store.syncModifiedProducts(site)?.model
+
+        assertThat(result?.updatedCount).isEqualTo(201)
+        assertThat(result?.deletedCount).isEqualTo(0)
+        assertThat(ProductSqlUtils.getProductRemoteIdsForSite(site)).hasSize(201)
+        assertThat(WCSyncStateSqlUtils.getSyncState(site, SyncedEntity.PRODUCTS)?.modifiedAfterGmt)
+                .isEqualTo("2021-05-01T10:00:05")
+        verify(restClient, times(3)).fetchProductsModifiedAfter(eq(site), anyOrNull(), any(), eq(PAGE_SIZE))
+    }
+
+    private fun modifiedPage(remoteIds: LongRange, lastModifiedGmt: String) =
+            WooPayload(WooModifiedPage(remoteIds.map { ProductTestUtils.generateSampleProduct(it) }, lastModifiedGmt))
+
+    private companion object {
+        const val PAGE_SIZE = 100
+    }
+}
@@ -9,7 +9,10 @@ import org.robolectric.RuntimeEnvironment
 import org.robolectric.annotation.Config
 import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel.Field
 import org.wordpress.android.fluxc.model.WCRevenueStatsModel
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.orderstats.OrderStatsRestClient.OrderStatsApiUnit
 import org.wordpress.android.fluxc.persistence.WCStatsSqlUtils
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.fluxc.store.WCStatsStore.StatsGranularity
@@ -25,7 +28,7 @@ class WCStatsSqlUtilsTest {
         val appContext = RuntimeEnvironment.application.applicationContext
         val config = SingleStoreWellSqlConfigForTests(
                 appContext,
-                listOf(WCRevenueStatsModel::class.java),
+                listOf(WCRevenueStatsModel::class.java, WCRevenueStatsIntervalModel::class.java),
                 WellSqlConfig.ADDON_WOOCOMMERCE)
         WellSql.init(config)
         config.reset()
@@ -204,4 +207,108 @@ class WCStatsSqlUtilsTest {
                 site, StatsGranularity.YEARS, currentDayStatsModel.startDate, currentDayStatsModel.endDate)
         assertNull(missingData)
     }
+
+    @Test
+    fun testRevenueStatsIntervalsAreMergedAndRolledUp() {
+        val site = SiteModel().apply { id = 6 }
+        // The week and month stats are both fetched by day, so their periods are merged in a single series
+        val weekStatsModel = WCStatsTestUtils.generateSampleRevenueStatsModel(
+                interval = StatsGranularity.WEEKS.toString(), startDate = "2019-07-01", endDate = "2019-07-07"
+        )
+        val monthStatsModel = WCStatsTestUtils.generateSampleRevenueStatsModel(
+                interval = StatsGranularity.MONTHS.toString(), startDate = "2019-07-01", endDate = "2019-07-07"
+        )
+        assertEquals(7, WCStatsSqlUtils.insertOrUpdateRevenueStatsIntervals(weekStatsModel))
+        assertEquals(7, WCStatsSqlUtils.insertOrUpdateRevenueStatsIntervals(monthStatsModel))
+        assertEquals(7, WellSql.select(WCRevenueStatsIntervalModel::class.java).count())
+
+        // Range query
+        val intervals = WCStatsSqlUtils.getRevenueStatsIntervals(
+                site, OrderStatsApiUnit.DAY, "2019-07-02", "2019-07-05 23:59:59"
+        )
+        assertEquals(listOf("2019-07-02", "2019-07-03", "2019-07-04", "2019-07-05"), intervals.map { it.period })
+        assertEquals(7L, intervals[0].ordersCount)
+        assertEquals(200.99, intervals[0].totalSales)
+
+        // Single field projection
+        val ordersCount = WCStatsSqlUtils.getRevenueStatsSeries(
+                site, OrderStatsApiUnit.DAY, Field.ORDERS_COUNT, "2019-07-01", "2019-07-07 23:59:59"
+        )
+        assertEquals(7, ordersCount.size)
+        assertEquals(2.0, ordersCount["2019-07-01"])
+        assertEquals(1.0, ordersCount["2019-07-05"])
+
+        // Rollups of the days
+        val months = WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays(
+                site, OrderStatsApiUnit.MONTH, "2019-07-01", "2019-07-07 23:59:59"
+        )
+        assertEquals(1, months.size)
+        with(months[0]) {
+            assertEquals("2019-07", period)
+            assertEquals("2019-07-01 00:00:00", dateStart)
+            assertEquals(10L, ordersCount)
+            assertEquals(28399L, Math.round(totalSales * 100))
+        }
+
+        val weeks = WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays(
+                site, OrderStatsApiUnit.WEEK, "2019-07-01", "2019-07-07 23:59:59"
+        )
+        assertEquals(listOf("2019-27"), weeks.map { it.period })
+
+        // Other sites and intervals are left out
+        assertEquals(0, WCStatsSqlUtils.getRevenueStatsIntervals(
+                SiteModel().apply { id = 88 }, OrderStatsApiUnit.DAY, "2019-07-01", "2019-07-07 23:59:59"
+        ).size)
+        assertEquals(0, WCStatsSqlUtils.getRevenueStatsIntervals(
+                site, OrderStatsApiUnit.HOUR, "2019-07-01", "2019-07-07 23:59:59"
+        ).size)
+    }
+
+    @Test
+    fun testRevenueStatsWeekSpanningTwoYearsIsRolledUpAsOneIsoWeek() {
+        val site = SiteModel().apply { id = 6 }
+        // From Monday 2019-12-30 to Monday 2020-01-06
+        val days = listOf("2019-12-30", "2019-12-31", "2020-01-01", "2020-01-05", "2020-01-06").map { day ->
+            WCRevenueStatsIntervalModel().apply {
+                localSiteId = site.id
+                interval = OrderStatsApiUnit.DAY.toString()
+                period = day
+                dateStart = "$day 00:00:00"
+                dateEnd = "$day 23:59:59"
+                ordersCount = 1L
+            }
+        }
+        WellSql.insert(days).asSingleTransaction(true).execute()
+
+        val weeks = WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays(
+                site, OrderStatsApiUnit.WEEK, "2019-12-30", "2020-01-06"
+        )
+        assertEquals(listOf("2020-01", "2020-02"), weeks.map { it.period })
+        assertEquals(listOf(4L, 1L), weeks.map { it.ordersCount })
+        assertEquals("2019-12-30 00:00:00", weeks[0].dateStart)
+        assertEquals("2020-01-05 23:59:59", weeks[0].dateEnd)
+    }
+
+    @Test
+    fun testRevenueStatsDateOnlyEndDateIncludesTheWholeDay() {
+        val site = SiteModel().apply { id = 6 }
+        WCStatsSqlUtils.insertOrUpdateRevenueStatsIntervals(WCStatsTestUtils.generateSampleRevenueStatsModel(
+                interval = StatsGranularity.WEEKS.toString(), startDate = "2019-07-01", endDate = "2019-07-07"
+        ))
+
+        val intervals = WCStatsSqlUtils.getRevenueStatsIntervals(
+                site, OrderStatsApiUnit.DAY, "2019-07-02", "2019-07-05"
+        )
+        assertEquals(listOf("2019-07-02", "2019-07-03", "2019-07-04", "2019-07-05"), intervals.map { it.period })
+
+        val ordersCount = WCStatsSqlUtils.getRevenueStatsSeries(
+                site, OrderStatsApiUnit.DAY, Field.ORDERS_COUNT, "2019-07-01", "2019-07-07"
+        )
+        assertEquals(7, ordersCount.size)
+
+        val months = WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays(
+                site, OrderStatsApiUnit.MONTH, "2019-07-01", "2019-07-07"
+        )
+        assertEquals(10L, months.single().ordersCount)
+    }
 }
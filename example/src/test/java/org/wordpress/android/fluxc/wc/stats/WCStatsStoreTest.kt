@@ -22,6 +22,7 @@ import org.wordpress.android.fluxc.generated.WCStatsActionBuilder
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.WCNewVisitorStatsModel
 import org.wordpress.android.fluxc.model.WCOrderStatsModel
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel
 import org.wordpress.android.fluxc.model.WCRevenueStatsModel
 import org.wordpress.android.fluxc.model.WCVisitorStatsModel
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.orderstats.OrderStatsRestClient
@@ -58,6 +59,7 @@ class WCStatsStoreTest {
         val config = SingleStoreWellSqlConfigForTests(
                 appContext, listOf(WCOrderStatsModel::class.java,
                 WCRevenueStatsModel::class.java,
+                WCRevenueStatsIntervalModel::class.java,
                 WCVisitorStatsModel::class.java,
                 WCNewVisitorStatsModel::class.java),
                 WellSqlConfig.ADDON_WOOCOMMERCE
@@ -1824,4 +1826,22 @@ class WCStatsStoreTest {
         assertTrue(customMonthVisitorStats2.isNotEmpty())
         assertTrue(customMonthVisitorStats.isNotEmpty())
     }
+
+    @Test
+    fun testRevenueStatsIntervalsAreReturnedAsStored() {
+        val site = SiteModel().apply { id = 6 }
+        // The stats of a year are fetched and stored by month
+        val yearStatsModel = WCStatsTestUtils.generateSampleRevenueStatsModel(
+                interval = StatsGranularity.YEARS.toString(), startDate = "2019-01-01", endDate = "2019-12-31"
+        )
+        WCStatsSqlUtils.insertOrUpdateRevenueStatsIntervals(yearStatsModel)
+
+        val months = wcStatsStore.getRevenueStatsIntervals(site, OrderStatsApiUnit.MONTH, "2019-01-01", "2019-12-31")
+        assertEquals(yearStatsModel.getIntervalList().size, months.size)
+
+        // No days are stored, so there are none to roll up
+        assertTrue(wcStatsStore.getRevenueStatsRollupOfStoredDays(
+                site, OrderStatsApiUnit.MONTH, "2019-01-01", "2019-12-31"
+        ).isEmpty())
+    }
 }
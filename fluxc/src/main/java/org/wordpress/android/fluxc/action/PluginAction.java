@@ -9,6 +9,7 @@ import org.wordpress.android.fluxc.store.PluginStore.ConfiguredSitePluginPayload
 import org.wordpress.android.fluxc.store.PluginStore.DeleteSitePluginPayload;
 import org.wordpress.android.fluxc.store.PluginStore.DeletedSitePluginPayload;
 import org.wordpress.android.fluxc.store.PluginStore.FetchPluginDirectoryPayload;
+import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginsPayload;
 import org.wordpress.android.fluxc.store.PluginStore.FetchedPluginDirectoryPayload;
 import org.wordpress.android.fluxc.store.PluginStore.FetchedWPOrgPluginPayload;
 import org.wordpress.android.fluxc.store.PluginStore.InstallSitePluginPayload;
@@ -29,6 +30,8 @@ public enum PluginAction implements IAction {
     FETCH_PLUGIN_DIRECTORY,
     @Action(payloadType = String.class)
     FETCH_WPORG_PLUGIN,
+    @Action(payloadType = FetchWPOrgPluginsPayload.class)
+    FETCH_WPORG_PLUGINS,
     @Action(payloadType = InstallSitePluginPayload.class)
     INSTALL_SITE_PLUGIN,
     @Action(payloadType = SearchPluginDirectoryPayload.class)
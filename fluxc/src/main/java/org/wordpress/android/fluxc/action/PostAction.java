@@ -7,6 +7,7 @@ import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.RemoteAutoSavePostPayload;
 import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
@@ -47,6 +48,8 @@ public enum PostAction implements IAction {
     FETCHED_POSTS,
     @Action(payloadType = FetchPostResponsePayload.class)
     FETCHED_POST,
+    @Action(payloadType = FetchChangedPostsResponsePayload.class)
+    FETCHED_CHANGED_POSTS,
     @Action(payloadType = FetchPostStatusResponsePayload.class)
     FETCHED_POST_STATUS,
     @Action(payloadType = RemotePostPayload.class)
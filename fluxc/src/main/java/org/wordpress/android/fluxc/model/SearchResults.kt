@@ -0,0 +1,29 @@
+package org.wordpress.android.fluxc.model
+
+/**
+ * The results of a full-text search.
+ *
+ * Only the local ids of the matching models are read by the search, in the order of the results. The models
+ * themselves are loaded on demand, e.g. a page at a time as the results are scrolled. Models deleted after the
+ * search are skipped.
+ */
+class SearchResults<T>(
+    val ids: List<Int>,
+    private val loadModels: (List<Int>) -> List<T>
+) {
+    val size: Int
+        get() = ids.size
+
+    fun isEmpty() = ids.isEmpty()
+
+    /**
+     * Loads the models of the results between [fromIndex] (inclusive) and [toIndex] (exclusive), in their order.
+     */
+    @JvmOverloads
+    fun getModels(fromIndex: Int = 0, toIndex: Int = size): List<T> {
+        if (fromIndex == toIndex) {
+            return emptyList()
+        }
+        return loadModels(ids.subList(fromIndex, toIndex))
+    }
+}
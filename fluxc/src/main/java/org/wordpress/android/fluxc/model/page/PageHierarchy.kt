@@ -0,0 +1,97 @@
+package org.wordpress.android.fluxc.model.page
+
+/**
+ * An in-memory index of the page tree of a site.
+ *
+ * Only the columns needed to walk the tree are kept for each page, so the index can be built without loading the
+ * content of every page. Pages are looked up by local or remote id, and parents and children by remote id, without
+ * reading the database again.
+ *
+ * Local pages that haven't been uploaded yet don't have a remote id, so they can't be the parent of another page.
+ */
+class PageHierarchy(nodes: List<PageNode> = emptyList()) {
+    data class PageNode(
+        val localSiteId: Int,
+        val pageId: Int,
+        val remoteId: Long,
+        val parentId: Long,
+        val status: String?,
+        val title: String?
+    )
+
+    private val nodesByPageId = HashMap<Int, PageNode>()
+    private val nodesByRemoteId = HashMap<Long, PageNode>()
+    private val childrenByParentId = HashMap<Long, MutableSet<PageNode>>()
+
+    init {
+        nodes.forEach { put(it) }
+    }
+
+    val size: Int
+        @Synchronized get() = nodesByPageId.size
+
+    @Synchronized
+    fun getPageByLocalId(pageId: Int): PageNode? = nodesByPageId[pageId]
+
+    @Synchronized
+    fun getPageByRemoteId(remoteId: Long): PageNode? = if (remoteId > 0L) nodesByRemoteId[remoteId] else null
+
+    @Synchronized
+    fun getParent(page: PageNode): PageNode? = getPageByRemoteId(page.parentId)
+
+    /**
+     * Returns the ancestors of the page, from its parent to the top level page. The walk stops at the first page that
+     * isn't in the index, or at the first page seen twice if the parents form a cycle.
+     */
+    @Synchronized
+    fun getAncestors(page: PageNode): List<PageNode> {
+        val ancestors = mutableListOf<PageNode>()
+        val visitedIds = hashSetOf(page.pageId)
+        var parent = getParent(page)
+        while (parent != null && visitedIds.add(parent.pageId)) {
+            ancestors.add(parent)
+            parent = getParent(parent)
+        }
+        return ancestors
+    }
+
+    @Synchronized
+    fun getChildren(page: PageNode): List<PageNode> {
+        if (page.remoteId <= 0L) {
+            return emptyList()
+        }
+        return childrenByParentId[page.remoteId]?.toList() ?: emptyList()
+    }
+
+    @Synchronized
+    fun getTopLevelPages(): List<PageNode> = nodesByPageId.values.filter { getParent(it) == null }
+
+    /**
+     * Adds the page to the index, or replaces it if a page with the same local id is already indexed.
+     */
+    @Synchronized
+    internal fun put(page: PageNode) {
+        remove(page.pageId)
+        nodesByPageId[page.pageId] = page
+        if (page.remoteId > 0L) {
+            nodesByRemoteId[page.remoteId] = page
+        }
+        if (page.parentId > 0L) {
+            childrenByParentId.getOrPut(page.parentId) { LinkedHashSet() }.add(page)
+        }
+    }
+
+    @Synchronized
+    internal fun remove(pageId: Int) {
+        val page = nodesByPageId.remove(pageId) ?: return
+        if (nodesByRemoteId[page.remoteId] == page) {
+            nodesByRemoteId.remove(page.remoteId)
+        }
+        childrenByParentId[page.parentId]?.let { siblings ->
+            siblings.remove(page)
+            if (siblings.isEmpty()) {
+                childrenByParentId.remove(page.parentId)
+            }
+        }
+    }
+}
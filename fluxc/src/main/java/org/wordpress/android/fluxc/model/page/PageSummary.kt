@@ -0,0 +1,23 @@
+package org.wordpress.android.fluxc.model.page
+
+import org.wordpress.android.fluxc.model.post.PostSummary
+
+/**
+ * A page to show in a list, with its place in the page tree but without its content. See [PostSummary].
+ *
+ * Local pages that haven't been uploaded yet have a negative [remoteId], as in [PageModel], so every page of a site
+ * has a distinct one.
+ */
+data class PageSummary(
+    val summary: PostSummary,
+    val parent: PageSummary?
+) {
+    val pageId: Int
+        get() = summary.id
+
+    val remoteId: Long
+        get() = if (summary.remotePostId == 0L) -summary.id.toLong() else summary.remotePostId
+
+    val status: PageStatus
+        get() = PageStatus.fromPostStatus(summary.postStatus)
+}
@@ -61,15 +61,21 @@ public enum PostStatus {
     }
 
     public static synchronized PostStatus fromPost(PostImmutableModel post) {
-        String value = post.getStatus();
+        return fromStatusAndDateCreated(post.getStatus(), post.getDateCreated());
+    }
+
+    /**
+     * Same as {@link #fromPost(PostImmutableModel)}, from the status and ISO 8601 creation date of a post.
+     */
+    public static synchronized PostStatus fromStatusAndDateCreated(String status, String dateCreatedIso8601) {
         long dateCreatedGMT = 0;
 
-        Date dateCreated = DateTimeUtils.dateUTCFromIso8601(post.getDateCreated());
+        Date dateCreated = DateTimeUtils.dateUTCFromIso8601(dateCreatedIso8601);
         if (dateCreated != null) {
             dateCreatedGMT = dateCreated.getTime();
         }
 
-        return fromStringAndDateGMT(value, dateCreatedGMT);
+        return fromStringAndDateGMT(status, dateCreatedGMT);
     }
 
     public static String postStatusListToString(List<PostStatus> statusList) {
@@ -0,0 +1,28 @@
+package org.wordpress.android.fluxc.model.post
+
+/**
+ * The columns of a post or page needed to show it in a list: its title, creation date, status and featured image,
+ * and whether it has local changes.
+ *
+ * Summaries are read without the content, excerpt and auto-save columns of the post, which can be large for long-form
+ * posts. The full `PostModel` is loaded by local id, with `PostStore.getPostByLocalPostId`, once the post is opened.
+ */
+data class PostSummary(
+    val id: Int,
+    val localSiteId: Int,
+    val remotePostId: Long,
+    val title: String?,
+    val status: String?,
+    val dateCreated: String?,
+    val dateLocallyChanged: String?,
+    val featuredImageId: Long,
+    val authorDisplayName: String?,
+    val isPage: Boolean,
+    val isLocalDraft: Boolean,
+    val isLocallyChanged: Boolean
+) {
+    val postStatus: PostStatus
+        get() = PostStatus.fromStatusAndDateCreated(status, dateCreated)
+
+    fun hasFeaturedImage() = featuredImageId > 0
+}
@@ -21,6 +21,7 @@ import javax.net.ssl.TrustManager;
 import dagger.Module;
 import dagger.Provides;
 import dagger.multibindings.Multibinds;
+import okhttp3.ConnectionPool;
 import okhttp3.CookieJar;
 import okhttp3.Interceptor;
 import okhttp3.JavaNetCookieJar;
@@ -34,6 +35,8 @@ public abstract class DebugOkHttpClientModule {
     @Multibinds abstract @Named("network-interceptors") Set<Interceptor> networkInterceptorSet();
 
     private static CookieJar mCookieJar = new JavaNetCookieJar(new CookieManager());
+    // Shared by all the clients so connections can be reused across request queues
+    private static ConnectionPool mConnectionPool = new ConnectionPool();
 
     @Provides
     @Named("regular")
@@ -42,6 +45,7 @@ public abstract class DebugOkHttpClientModule {
             @Named("network-interceptors") Set<Interceptor> networkInterceptors) {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
         builder.cookieJar(mCookieJar);
+        builder.connectionPool(mConnectionPool);
         for (Interceptor interceptor : interceptors) {
             builder.addInterceptor(interceptor);
         }
@@ -69,6 +73,7 @@ public abstract class DebugOkHttpClientModule {
             @Named("network-interceptors") Set<Interceptor> networkInterceptors) {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
         builder.cookieJar(mCookieJar);
+        builder.connectionPool(mConnectionPool);
         try {
             final SSLContext sslContext = SSLContext.getInstance("TLS");
             sslContext.init(null, new TrustManager[]{memorizingTrustManager}, new SecureRandom());
@@ -7,7 +7,6 @@ import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.BasicNetwork;
 import com.android.volley.toolbox.DiskBasedCache;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.model.scan.threat.ThreatMapper;
@@ -19,10 +18,7 @@ import org.wordpress.android.fluxc.network.UserAgent;
 import org.wordpress.android.fluxc.network.discovery.DiscoveryWPAPIRestClient;
 import org.wordpress.android.fluxc.network.discovery.DiscoveryXMLRPCClient;
 import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder;
-import org.wordpress.android.fluxc.network.rest.JsonObjectOrEmptyArray;
-import org.wordpress.android.fluxc.network.rest.JsonObjectOrEmptyArrayDeserializer;
-import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalse;
-import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalseDeserializer;
+import org.wordpress.android.fluxc.network.rest.GsonRegistry;
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder;
 import org.wordpress.android.fluxc.network.rest.wpcom.account.AccountRestClient;
 import org.wordpress.android.fluxc.network.rest.wpcom.activity.ActivityLogRestClient;
@@ -501,11 +497,6 @@ public class ReleaseNetworkModule {
     @Singleton
     @Provides
     public Gson provideGson() {
-        GsonBuilder gsonBuilder = new GsonBuilder();
-        gsonBuilder.setLenient();
-        gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrFalse.class, new JsonObjectOrFalseDeserializer());
-        gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrEmptyArray.class,
-                new JsonObjectOrEmptyArrayDeserializer());
-        return gsonBuilder.create();
+        return GsonRegistry.get(GsonRegistry.Config.REST);
     }
 }
@@ -19,6 +19,7 @@ import javax.net.ssl.TrustManager;
 
 import dagger.Module;
 import dagger.Provides;
+import okhttp3.ConnectionPool;
 import okhttp3.CookieJar;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
@@ -27,12 +28,15 @@ import okhttp3.internal.tls.OkHostnameVerifier;
 @Module
 public class ReleaseOkHttpClientModule {
     private static CookieJar mCookieJar = new JavaNetCookieJar(new CookieManager());
+    // Shared by all the clients so connections can be reused across request queues
+    private static ConnectionPool mConnectionPool = new ConnectionPool();
 
     @Provides
     @Named("regular")
     public OkHttpClient.Builder provideOkHttpClientBuilder() {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
         builder.cookieJar(mCookieJar);
+        builder.connectionPool(mConnectionPool);
         return builder;
     }
 
@@ -49,6 +53,7 @@ public class ReleaseOkHttpClientModule {
     public OkHttpClient.Builder provideOkHttpClientBuilderCustomSSL(MemorizingTrustManager memorizingTrustManager) {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
         builder.cookieJar(mCookieJar);
+        builder.connectionPool(mConnectionPool);
         try {
             final SSLContext sslContext = SSLContext.getInstance("TLS");
             sslContext.init(null, new TrustManager[]{memorizingTrustManager}, new SecureRandom());
@@ -23,6 +23,9 @@ import org.wordpress.android.fluxc.store.AccountStore.AuthenticateErrorPayload;
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.util.AppLog;
 
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -48,6 +51,7 @@ public abstract class BaseRequest<T> extends Request<T> {
     }
 
     private static final String USER_AGENT_HEADER = "User-Agent";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
 
     protected OnAuthFailedListener mOnAuthFailedListener;
     protected OnParseErrorListener mOnParseErrorListener;
@@ -55,6 +59,7 @@ public abstract class BaseRequest<T> extends Request<T> {
     private BaseErrorListener mErrorListener;
 
     private boolean mResetCache;
+    private boolean mConditionalRequestsEnabled;
     private int mCacheTtl;
     private int mCacheSoftTtl;
 
@@ -178,6 +183,50 @@ public abstract class BaseRequest<T> extends Request<T> {
         mCacheSoftTtl = softTimeToLive;
     }
 
+    /**
+     * Enable conditional requests for this request. The response is kept in the cache along with its {@code ETag}
+     * and {@code Last-Modified} validators, and the next identical request is sent with the matching
+     * {@code If-None-Match} and {@code If-Modified-Since} headers. If the server replies with
+     * {@code 304 Not Modified}, the cached response is used instead.
+     *
+     * Unlike {@link #enableCaching(int)}, the cached response is never used without revalidating it first.
+     */
+    public void enableConditionalRequests() {
+        enableCaching(0);
+        mConditionalRequestsEnabled = true;
+    }
+
+    /**
+     * Returns true if conditional requests have been enabled through {@link #enableConditionalRequests()}.
+     */
+    public boolean isConditionalRequestsEnabled() {
+        return mConditionalRequestsEnabled;
+    }
+
+    /**
+     * The responses to conditional requests are cached per credentials, so that a response cached for one account
+     * is never revalidated and returned for another. The credentials are hashed to keep them out of the cache.
+     */
+    @Override
+    public String getCacheKey() {
+        String cacheKey = super.getCacheKey();
+        String authorization = mConditionalRequestsEnabled ? mHeaders.get(AUTHORIZATION_HEADER) : null;
+        return authorization == null ? cacheKey : cacheKey + "#" + sha256(authorization);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(Charset.forName("UTF-8")));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Reset the cache for this request, to force an update over the network.
      */
@@ -202,7 +251,7 @@ public abstract class BaseRequest<T> extends Request<T> {
         if (httpAuthModel != null) {
             String creds = String.format("%s:%s", httpAuthModel.getUsername(), httpAuthModel.getPassword());
             String auth = "Basic " + Base64.encodeToString(creds.getBytes(), Base64.NO_WRAP);
-            mHeaders.put("Authorization", auth);
+            mHeaders.put(AUTHORIZATION_HEADER, auth);
         }
     }
 
@@ -257,6 +306,7 @@ public abstract class BaseRequest<T> extends Request<T> {
                 cacheEntry.lastModified = HttpHeaderParser.parseDateAsEpoch(headerValue);
             }
 
+            cacheEntry.etag = response.headers.get("ETag");
             cacheEntry.data = response.data;
             cacheEntry.responseHeaders = response.headers;
         }
@@ -3,38 +3,64 @@ package org.wordpress.android.fluxc.network;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.yarolegovich.wellsql.WellSql;
-
 import org.wordpress.android.fluxc.persistence.HTTPAuthSqlUtils;
+import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 
 import java.net.URI;
 import java.util.List;
 
 public class HTTPAuthManager {
+    /**
+     * A stored credential with the URL prefixes it applies to, computed once when the credentials are loaded.
+     */
+    private static class Entry {
+        final HTTPAuthModel mModel;
+        final String mRootUrl;
+        final String mXmlrpcStrippedUrl;
+
+        Entry(HTTPAuthModel model) {
+            mModel = model;
+            mRootUrl = model.getRootUrl();
+            // Also compare against the stored URL with the ending 'xmlrpc.php' (or other name) stripped
+            mXmlrpcStrippedUrl = model.getRootUrl().replaceFirst("/[^/]*?.php$", "");
+        }
+    }
+
+    /**
+     * The stored credentials in table order, and the {@link WellSqlConfig#getResetCount()} they were read at.
+     */
+    private static class Snapshot {
+        final Entry[] mEntries;
+        final int mResetCount;
+
+        Snapshot(Entry[] entries, int resetCount) {
+            mEntries = entries;
+            mResetCount = resetCount;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the stored credentials, replaced on every change. Null until loaded.
+     */
+    @Nullable private volatile Snapshot mSnapshot;
+
     public HTTPAuthManager() {}
 
     /**
      * Get an HTTPAuthModel containing username and password for the url parameter
-     * TODO: Use an in memory model (or caching) - because this SQL query is executed every time a request is sent
+     * <p>
+     * Credentials are read from the database once and then matched in memory, this is called for every request. They
+     * are read again after a change, including when the database is reset.
      *
      * @param url to test
      * @return null if url is not matching any known HTTP auth credentials
      */
     @Nullable
     public HTTPAuthModel getHTTPAuthModel(String url) {
-        List<HTTPAuthModel> authModels = WellSql.select(HTTPAuthModel.class).getAsModel();
-        if (authModels.isEmpty()) {
-            return null;
-        }
-        for (HTTPAuthModel authModel : authModels) {
-            if (url.startsWith(authModel.getRootUrl())) {
-                return authModel;
-            }
-
-            // Also compare against the stored URL with the ending 'xmlrpc.php' (or other name) stripped
-            String xmlrpcStripped = authModel.getRootUrl().replaceFirst("/[^/]*?.php$", "");
-            if (url.startsWith(xmlrpcStripped)) {
-                return authModel;
+        Entry[] entries = getEntries();
+        for (Entry entry : entries) {
+            if (url.startsWith(entry.mRootUrl) || url.startsWith(entry.mXmlrpcStrippedUrl)) {
+                return entry.mModel;
             }
         }
         return null;
@@ -47,8 +73,54 @@ public class HTTPAuthManager {
         httpAuthModel.setPassword(password);
         httpAuthModel.setRootUrl(normalizeURL(url));
         httpAuthModel.setRealm(realm);
-        // Replace old username / password / realm - URL used as key
-        HTTPAuthSqlUtils.insertOrUpdateModel(httpAuthModel);
+        synchronized (this) {
+            // Replace old username / password / realm - URL used as key
+            HTTPAuthSqlUtils.insertOrUpdateModel(httpAuthModel);
+            mSnapshot = null;
+        }
+    }
+
+    /**
+     * Removes the credentials stored for the given URL, if any.
+     */
+    public void removeHTTPAuthCredentials(@NonNull String url) {
+        synchronized (this) {
+            HTTPAuthSqlUtils.deleteModelWithRootUrl(normalizeURL(url));
+            mSnapshot = null;
+        }
+    }
+
+    /**
+     * Drops the credentials kept in memory, they will be read from the database again on the next lookup. Must be
+     * called if the HTTPAuthModel table is changed without going through this class, other than by resetting the
+     * database, which is detected on the next lookup.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            mSnapshot = null;
+        }
+    }
+
+    @NonNull
+    private Entry[] getEntries() {
+        int resetCount = WellSqlConfig.getResetCount();
+        Snapshot snapshot = mSnapshot;
+        if (snapshot != null && snapshot.mResetCount == resetCount) {
+            return snapshot.mEntries;
+        }
+        synchronized (this) {
+            snapshot = mSnapshot;
+            if (snapshot == null || snapshot.mResetCount != resetCount) {
+                List<HTTPAuthModel> authModels = HTTPAuthSqlUtils.getAllModels();
+                Entry[] loadedEntries = new Entry[authModels.size()];
+                for (int i = 0; i < loadedEntries.length; i++) {
+                    loadedEntries[i] = new Entry(authModels.get(i));
+                }
+                snapshot = new Snapshot(loadedEntries, resetCount);
+                mSnapshot = snapshot;
+            }
+            return snapshot.mEntries;
+        }
     }
 
     private String normalizeURL(String url) {
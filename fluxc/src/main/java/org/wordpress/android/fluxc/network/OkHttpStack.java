@@ -13,6 +13,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
@@ -28,12 +29,40 @@ import okhttp3.ResponseBody;
  * <p>
  * OkHttp backed {@link BaseHttpStack BaseHttpStack} that does not
  * use okhttp-urlconnection
+ * <p>
+ * A single {@link OkHttpClient} is built from the given builder and reused for every request. Requests with a
+ * different timeout get a derived client (see {@link OkHttpClient#newBuilder()}), cached per timeout value, so all
+ * of them share the same connection pool, dispatcher and TLS session cache.
  */
 public class OkHttpStack extends BaseHttpStack {
-    private final OkHttpClient.Builder mClientBuilder;
+    private final OkHttpClient mBaseClient;
+    private final ConcurrentHashMap<Integer, OkHttpClient> mClientsByTimeout = new ConcurrentHashMap<>();
 
     public OkHttpStack(OkHttpClient.Builder clientBuilder) {
-        this.mClientBuilder = clientBuilder;
+        // Application interceptors are also run as network interceptors, so they can observe redirects and retries
+        List<Interceptor> networkInterceptors = clientBuilder.networkInterceptors();
+        for (Interceptor interceptor : clientBuilder.interceptors()) {
+            if (!networkInterceptors.contains(interceptor)) {
+                networkInterceptors.add(interceptor);
+            }
+        }
+        mBaseClient = clientBuilder.build();
+    }
+
+    private OkHttpClient getClientForTimeout(int timeoutMs) {
+        OkHttpClient client = mClientsByTimeout.get(timeoutMs);
+        if (client == null) {
+            client = mBaseClient.newBuilder()
+                                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                .build();
+            OkHttpClient existing = mClientsByTimeout.putIfAbsent(timeoutMs, client);
+            if (existing != null) {
+                client = existing;
+            }
+        }
+        return client;
     }
 
     private static void setConnectionParametersForRequest(okhttp3.Request.Builder builder, Request<?> request)
@@ -87,11 +116,7 @@ public class OkHttpStack extends BaseHttpStack {
     @Override
     public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
             throws IOException, AuthFailureError {
-        int timeoutMs = request.getTimeoutMs();
-
-        mClientBuilder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        mClientBuilder.readTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        mClientBuilder.writeTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        OkHttpClient client = getClientForTimeout(request.getTimeoutMs());
 
         okhttp3.Request.Builder okHttpRequestBuilder = new okhttp3.Request.Builder();
         okHttpRequestBuilder.url(request.getUrl());
@@ -112,12 +137,6 @@ public class OkHttpStack extends BaseHttpStack {
 
         setConnectionParametersForRequest(okHttpRequestBuilder, request);
 
-
-        for (Interceptor interceptor : mClientBuilder.interceptors()) {
-            mClientBuilder.addNetworkInterceptor(interceptor);
-        }
-
-        OkHttpClient client = mClientBuilder.build();
         okhttp3.Request okHttpRequest = okHttpRequestBuilder.build();
         Call okHttpCall = client.newCall(okHttpRequest);
         okhttp3.Response okHttpResponse = okHttpCall.execute();
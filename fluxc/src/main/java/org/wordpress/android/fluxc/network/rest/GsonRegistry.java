@@ -0,0 +1,99 @@
+package org.wordpress.android.fluxc.network.rest;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Process-wide registry of {@link Gson} instances, one per adapter configuration.
+ * <p>
+ * Creating a {@link Gson} is cheap, but every new instance starts with an empty type adapter cache that has to be
+ * rebuilt through reflection on first use. {@link Gson} instances are thread-safe, so requests, stores and models
+ * should draw from this registry instead of creating their own.
+ */
+public final class GsonRegistry {
+    /**
+     * Date format of the {@link Config#STATS} instance.
+     */
+    public static final String STATS_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ";
+
+    public enum Config {
+        /**
+         * Equivalent to {@code new Gson()}.
+         */
+        DEFAULT {
+            @Override
+            GsonBuilder newBuilder() {
+                return new GsonBuilder();
+            }
+        },
+        /**
+         * Lenient parsing with the {@link JsonObjectOrFalse} and {@link JsonObjectOrEmptyArray} deserializers,
+         * used to parse all REST responses.
+         */
+        REST {
+            @Override
+            GsonBuilder newBuilder() {
+                GsonBuilder gsonBuilder = new GsonBuilder();
+                gsonBuilder.setLenient();
+                gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrFalse.class, new JsonObjectOrFalseDeserializer());
+                gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrEmptyArray.class,
+                        new JsonObjectOrEmptyArrayDeserializer());
+                return gsonBuilder;
+            }
+        },
+        /**
+         * Dates serialized with the stats date format, used to persist stats blocks.
+         */
+        STATS {
+            @Override
+            GsonBuilder newBuilder() {
+                return new GsonBuilder().setDateFormat(STATS_DATE_FORMAT);
+            }
+        };
+
+        abstract GsonBuilder newBuilder();
+    }
+
+    private static final Map<Config, Gson> INSTANCES = new EnumMap<>(Config.class);
+
+    private GsonRegistry() {
+    }
+
+    @NonNull
+    public static Gson get(@NonNull Config config) {
+        synchronized (INSTANCES) {
+            Gson gson = INSTANCES.get(config);
+            if (gson == null) {
+                gson = config.newBuilder().create();
+                INSTANCES.put(config, gson);
+            }
+            return gson;
+        }
+    }
+
+    /**
+     * Shorthand for {@code get(Config.DEFAULT)}.
+     */
+    @NonNull
+    public static Gson getDefault() {
+        return get(Config.DEFAULT);
+    }
+
+    /**
+     * Builds and caches the type adapters of the given types ahead of time, so the first response of that type
+     * doesn't pay the reflection cost. Meant to be called from a background thread at startup.
+     */
+    public static void warmUp(@NonNull Config config, @NonNull Type... types) {
+        Gson gson = get(config);
+        for (Type type : types) {
+            gson.getAdapter(TypeToken.get(type));
+        }
+    }
+}
@@ -7,12 +7,18 @@ import com.android.volley.Response;
 import com.android.volley.Response.Listener;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.jetbrains.annotations.Nullable;
 import org.wordpress.android.fluxc.network.BaseRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
@@ -29,6 +35,7 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
     private final Listener<T> mListener;
     private final Map<String, String> mParams;
     private final Map<String, Object> mBody;
+    private boolean mStreamingParseEnabled;
 
     protected GsonRequest(int method, Map<String, String> params, Map<String, Object> body, String url, Class<T> clazz,
                        Type type, Listener<T> listener, BaseErrorListener errorListener) {
@@ -43,7 +50,7 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         mClass = clazz;
         mType = type;
         mListener = listener;
-        mGson = setupGsonBuilder().create();
+        mGson = GsonRegistry.get(GsonRegistry.Config.REST);
         mParams = params;
         mBody = body;
     }
@@ -81,30 +88,67 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         return mBody;
     }
 
+    /**
+     * Parse the response with a {@link JsonReader} reading directly from the response bytes, instead of decoding
+     * the whole body into a {@link String} first. This avoids holding a second copy of the body in memory while
+     * the response is parsed, and is recommended for requests that can return large responses.
+     */
+    public void enableStreamingParse() {
+        mStreamingParseEnabled = true;
+    }
+
+    /**
+     * Returns true if the response should be parsed as a stream (see {@link #enableStreamingParse()}).
+     * Subclasses can override this to opt in for all their requests.
+     */
+    protected boolean shouldParseAsStream() {
+        return mStreamingParseEnabled;
+    }
+
     @Override
     protected Response<T> parseNetworkResponse(NetworkResponse response) {
+        // On a 304 Not Modified response to a conditional request, the data is the cached body: it's parsed again so
+        // that every request gets its own result
         try {
-            String json = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
+            String charset = HttpHeaderParser.parseCharset(response.headers);
             T res;
-            if (mClass == null) {
-                res = mGson.fromJson(json, mType);
+            if (shouldParseAsStream()) {
+                JsonReader reader = new JsonReader(
+                        new InputStreamReader(new ByteArrayInputStream(response.data), charset));
+                res = mGson.fromJson(reader, mClass == null ? mType : mClass);
+                if (res != null) {
+                    // An empty body is parsed into null, as with the String parse
+                    assertFullyConsumed(reader);
+                }
             } else {
-                res = mGson.fromJson(json, mClass);
+                String json = new String(response.data, charset);
+                if (mClass == null) {
+                    res = mGson.fromJson(json, mType);
+                } else {
+                    res = mGson.fromJson(json, mClass);
+                }
             }
             return Response.success(res, createCacheEntry(response));
         } catch (UnsupportedEncodingException e) {
             return Response.error(new ParseError(e));
-        } catch (JsonSyntaxException e) {
+        } catch (JsonSyntaxException | JsonIOException e) {
             return Response.error(new ParseError(e));
         }
     }
 
-    private GsonBuilder setupGsonBuilder() {
-        GsonBuilder gsonBuilder = new GsonBuilder();
-        gsonBuilder.setLenient();
-        gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrFalse.class, new JsonObjectOrFalseDeserializer());
-        gsonBuilder.registerTypeHierarchyAdapter(JsonObjectOrEmptyArray.class,
-                new JsonObjectOrEmptyArrayDeserializer());
-        return gsonBuilder;
+    /**
+     * Unlike {@link Gson#fromJson(String, Type)}, {@link Gson#fromJson(JsonReader, Type)} stops after the first
+     * value and ignores the rest of the body, so a streamed response with trailing data must be rejected here.
+     */
+    private static void assertFullyConsumed(JsonReader reader) {
+        try {
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIOException("JSON document was not fully consumed.");
+            }
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
     }
 }
@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.network.rest;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -19,7 +18,7 @@ public class JsonObjectOrEmptyArrayDeserializer implements JsonDeserializer<Json
     public JsonObjectOrEmptyArray deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
             throws JsonParseException {
         if (json.isJsonObject()) {
-            return new Gson().fromJson(json, typeOfT);
+            return GsonRegistry.getDefault().fromJson(json, typeOfT);
         }
         return null;
     }
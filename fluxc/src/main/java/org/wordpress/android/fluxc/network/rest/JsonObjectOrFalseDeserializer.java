@@ -37,7 +37,7 @@ public class JsonObjectOrFalseDeserializer implements JsonDeserializer<JsonObjec
             }
 
             Field[] fields = clazz.getFields();
-            Gson gson = new Gson();
+            Gson gson = GsonRegistry.getDefault();
             for (Field field : fields) {
                 JsonElement element = json.getAsJsonObject().get(field.getName());
                 if (element == null) {
@@ -0,0 +1,79 @@
+package org.wordpress.android.fluxc.network.rest
+
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlin.coroutines.resume
+
+/**
+ * Coalesces identical in-flight calls: callers awaiting a key that is already in flight share its call and its
+ * result instead of starting a new one.
+ *
+ * Cancellation is per caller. A cancelled caller stops waiting, and the shared call itself is only cancelled once
+ * every caller waiting on it has been cancelled.
+ */
+class SingleFlight<K : Any, T> {
+    private class Call<T>(val waiters: MutableList<CancellableContinuation<T>>) {
+        var cancel: (() -> Unit)? = null
+        var isCompleted = false
+    }
+
+    private val calls = mutableMapOf<K, Call<T>>()
+
+    val inFlightCount: Int
+        get() = synchronized(calls) { calls.size }
+
+    /**
+     * Awaits the result of the call identified by [key], starting it with [start] if it isn't already in flight.
+     *
+     * @param start starts the call, which must invoke the given callback exactly once with its result, and returns
+     * a function cancelling the call
+     */
+    suspend fun await(key: K, start: (onResult: (T) -> Unit) -> (() -> Unit)): T =
+            suspendCancellableCoroutine { cont ->
+                val call: Call<T>
+                val isNewCall: Boolean
+                synchronized(calls) {
+                    val existingCall = calls[key]
+                    isNewCall = existingCall == null
+                    call = existingCall ?: Call<T>(mutableListOf()).also { calls[key] = it }
+                    call.waiters.add(cont)
+                }
+
+                cont.invokeOnCancellation { onWaiterCancelled(key, call, cont) }
+
+                if (isNewCall) {
+                    val cancel = start { result -> onResult(key, call, result) }
+                    val isAbandoned = synchronized(calls) {
+                        call.cancel = cancel
+                        !call.isCompleted && call.waiters.isEmpty()
+                    }
+                    if (isAbandoned) {
+                        cancel()
+                    }
+                }
+            }
+
+    private fun onResult(key: K, call: Call<T>, result: T) {
+        val waiters = synchronized(calls) {
+            if (calls[key] === call) {
+                calls.remove(key)
+            }
+            call.isCompleted = true
+            call.waiters.toList().also { call.waiters.clear() }
+        }
+        waiters.forEach { it.resume(result) }
+    }
+
+    private fun onWaiterCancelled(key: K, call: Call<T>, cont: CancellableContinuation<T>) {
+        val cancel = synchronized(calls) {
+            if (!call.waiters.remove(cont) || call.waiters.isNotEmpty()) {
+                return
+            }
+            if (calls[key] === call) {
+                calls.remove(key)
+            }
+            call.cancel
+        }
+        cancel?.invoke()
+    }
+}
@@ -2,6 +2,7 @@ package org.wordpress.android.fluxc.network.rest.wpcom
 
 import kotlinx.coroutines.suspendCancellableCoroutine
 import org.wordpress.android.fluxc.network.BaseRequest
+import org.wordpress.android.fluxc.network.rest.SingleFlight
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response.Error
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response.Success
@@ -12,6 +13,8 @@ import kotlin.coroutines.resume
 @Singleton
 class WPComGsonRequestBuilder
 @Inject constructor() {
+    private val inFlightGetRequests = SingleFlight<GetRequestKey, Response<*>>()
+
     /**
      * Creates a new GET request.
      * @param url the request URL
@@ -31,12 +34,17 @@ class WPComGsonRequestBuilder
     }
 
     /**
-     * Creates a new GET request.
+     * Creates a new GET request, triggers it and awaits results synchronously.
+     *
+     * Identical GET requests, with the same URL, parameters and access token, that are already in flight are not
+     * sent again: the caller awaits the in-flight request and gets the same response. Cancelling a caller only
+     * cancels the request once no other caller is waiting for it.
      * @param restClient rest client that handles the request
      * @param url the request URL
      * @param params the parameters to append to the request URL
      * @param clazz the class defining the expected response
      */
+    @Suppress("UNCHECKED_CAST")
     suspend fun <T> syncGetRequest(
         restClient: BaseWPComRestClient,
         url: String,
@@ -45,20 +53,31 @@ class WPComGsonRequestBuilder
         enableCaching: Boolean = false,
         cacheTimeToLive: Int = BaseRequest.DEFAULT_CACHE_LIFETIME,
         forced: Boolean = false
-    ) = suspendCancellableCoroutine<Response<T>> { cont ->
-        val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
-            cont.resume(Success(it))
-        }, {
-            cont.resume(Error(it))
-        })
-        cont.invokeOnCancellation { request.cancel() }
-        if (enableCaching) {
-            request.enableCaching(cacheTimeToLive)
-        }
-        if (forced) {
-            request.setShouldForceUpdate()
-        }
-        restClient.add(request)
+    ): Response<T> {
+        val key = GetRequestKey(
+                restClient.accessToken?.get(),
+                url,
+                params.toMap(),
+                clazz,
+                enableCaching,
+                cacheTimeToLive,
+                forced
+        )
+        return inFlightGetRequests.await(key) { onResult ->
+            val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
+                onResult(Success(it))
+            }, {
+                onResult(Error(it))
+            })
+            if (enableCaching) {
+                request.enableCaching(cacheTimeToLive)
+            }
+            if (forced) {
+                request.setShouldForceUpdate()
+            }
+            restClient.add(request)
+            return@await { request.cancel() }
+        } as Response<T>
     }
 
     /**
@@ -102,6 +121,16 @@ class WPComGsonRequestBuilder
         restClient.add(request)
     }
 
+    private data class GetRequestKey(
+        val accessToken: String?,
+        val url: String,
+        val params: Map<String, String>,
+        val clazz: Class<*>,
+        val enableCaching: Boolean,
+        val cacheTimeToLive: Int,
+        val forced: Boolean
+    )
+
     sealed class Response<T> {
         data class Success<T>(val data: T) : Response<T>()
         data class Error<T>(val error: WPComGsonNetworkError) : Response<T>()
@@ -42,6 +42,7 @@ import org.wordpress.android.fluxc.network.rest.wpcom.revisions.RevisionsRespons
 import org.wordpress.android.fluxc.network.rest.wpcom.revisions.RevisionsResponse.RevisionResponse;
 import org.wordpress.android.fluxc.network.rest.wpcom.taxonomy.TermWPComRestResponse;
 import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
@@ -49,6 +50,7 @@ import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchRevisionsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.PostDeleteActionType;
 import org.wordpress.android.fluxc.store.PostStore.PostError;
+import org.wordpress.android.fluxc.store.PostStore.PostErrorType;
 import org.wordpress.android.fluxc.store.PostStore.PostListItem;
 import org.wordpress.android.fluxc.store.PostStore.RemoteAutoSavePostPayload;
 import org.wordpress.android.fluxc.store.PostStore.RemotePostPayload;
@@ -60,8 +62,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Singleton;
 
@@ -108,6 +112,66 @@ public class PostRestClient extends BaseWPComRestClient {
         add(request);
     }
 
+    /**
+     * Fetches the given posts of the site with a single request, the posts are matched by remote id.
+     */
+    public void fetchPostsByRemoteIds(final List<PostModel> posts, final SiteModel site) {
+        String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
+
+        final Map<Long, PostModel> requestedPosts = new HashMap<>();
+        for (PostModel post : posts) {
+            requestedPosts.put(post.getRemotePostId(), post);
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put("context", "edit");
+        params.put("meta", "autosave");
+        params.put("include", TextUtils.join(",", requestedPosts.keySet()));
+        params.put("number", String.valueOf(requestedPosts.size()));
+        // "any" leaves out trashed posts, which the changed posts may have become
+        params.put("status", PostStatus.postStatusListToString(Arrays.asList(PostStatus.PUBLISHED, PostStatus.DRAFT,
+                PostStatus.PRIVATE, PostStatus.PENDING, PostStatus.TRASHED, PostStatus.SCHEDULED)));
+        params.put("type", "any");
+
+        final WPComGsonRequest<PostsResponse> request = WPComGsonRequest.buildGetRequest(url, params,
+                PostsResponse.class,
+                new Listener<PostsResponse>() {
+                    @Override
+                    public void onResponse(PostsResponse response) {
+                        FetchChangedPostsResponsePayload payload = new FetchChangedPostsResponsePayload(posts, site);
+                        List<PostModel> fetchedPosts = new ArrayList<>();
+                        Set<Long> missingPostIds = new HashSet<>(requestedPosts.keySet());
+                        for (PostWPComRestResponse postResponse : response.getPosts()) {
+                            PostModel requestedPost = requestedPosts.get(postResponse.getRemotePostId());
+                            if (requestedPost == null) {
+                                continue;
+                            }
+                            PostModel fetchedPost = postResponseToPostModel(postResponse);
+                            fetchedPost.setId(requestedPost.getId());
+                            fetchedPost.setLocalSiteId(site.getId());
+                            fetchedPosts.add(fetchedPost);
+                            missingPostIds.remove(postResponse.getRemotePostId());
+                        }
+                        payload.posts = fetchedPosts;
+                        for (Long remotePostId : missingPostIds) {
+                            payload.postErrors.put(remotePostId, new PostError(PostErrorType.UNKNOWN_POST));
+                        }
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(payload));
+                    }
+                },
+                new WPComErrorListener() {
+                    @Override
+                    public void onErrorResponse(@NonNull WPComGsonNetworkError error) {
+                        FetchChangedPostsResponsePayload payload = new FetchChangedPostsResponsePayload(posts, site);
+                        payload.error = new PostError(error.apiError, error.message);
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(payload));
+                    }
+                }
+        );
+        request.enableStreamingParse();
+        add(request);
+    }
+
     public void fetchPostStatus(final PostModel post, final SiteModel site) {
         String url = WPCOMREST.sites.site(site.getSiteId()).posts.post(post.getRemotePostId()).getUrlV1_1();
 
@@ -224,6 +288,7 @@ public class PostRestClient extends BaseWPComRestClient {
                         mDispatcher.dispatch(PostActionBuilder.newFetchedPostsAction(payload));
                     }
                 });
+        request.enableStreamingParse();
         add(request);
     }
 
@@ -181,6 +181,8 @@ public class SiteRestClient extends BaseWPComRestClient {
                     }
                 }
         );
+        request.enableStreamingParse();
+        request.enableConditionalRequests();
         add(request);
     }
 
@@ -218,6 +220,7 @@ public class SiteRestClient extends BaseWPComRestClient {
                     }
                 }
         );
+        request.enableConditionalRequests();
         add(request);
     }
 
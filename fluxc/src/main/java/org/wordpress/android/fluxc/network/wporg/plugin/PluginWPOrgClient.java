@@ -8,6 +8,9 @@ import androidx.annotation.Nullable;
 import com.android.volley.Request.Method;
 import com.android.volley.RequestQueue;
 import com.android.volley.Response.Listener;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.wordpress.android.fluxc.Dispatcher;
@@ -20,6 +23,7 @@ import org.wordpress.android.fluxc.model.plugin.WPOrgPluginModel;
 import org.wordpress.android.fluxc.network.BaseRequest.BaseErrorListener;
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError;
 import org.wordpress.android.fluxc.network.UserAgent;
+import org.wordpress.android.fluxc.network.rest.GsonRegistry;
 import org.wordpress.android.fluxc.network.wporg.BaseWPOrgAPIClient;
 import org.wordpress.android.fluxc.network.wporg.WPOrgAPIGsonRequest;
 import org.wordpress.android.fluxc.store.PluginStore.FetchWPOrgPluginError;
@@ -40,6 +44,10 @@ import javax.inject.Singleton;
 @Singleton
 public class PluginWPOrgClient extends BaseWPOrgAPIClient {
     private static final int FETCH_PLUGIN_DIRECTORY_PAGE_SIZE = 50;
+    /**
+     * Maximum number of slugs requested at once by {@link #fetchWPOrgPlugins(List)}, to keep the URL short.
+     */
+    public static final int FETCH_WPORG_PLUGINS_MAX_SLUGS = 50;
     private final Dispatcher mDispatcher;
 
     public PluginWPOrgClient(Dispatcher dispatcher, RequestQueue requestQueue, UserAgent userAgent) {
@@ -168,6 +176,74 @@ public class PluginWPOrgClient extends BaseWPOrgAPIClient {
         add(request);
     }
 
+    /**
+     * Fetches the WP.org information of several plugins with a single plugin_information query.
+     * <p>
+     * The result for each slug is dispatched as a separate FETCHED_WPORG_PLUGIN action, the same way as with
+     * {@link #fetchWPOrgPlugin(String)}.
+     */
+    public void fetchWPOrgPlugins(@NonNull final List<String> pluginSlugs) {
+        if (pluginSlugs.isEmpty()) {
+            return;
+        }
+        String url = WPORGAPI.plugins.info.version("1.1").getUrl();
+        Map<String, String> params = new HashMap<>();
+        params.put("action", "plugin_information");
+        params.put("request[slugs]", TextUtils.join(",", pluginSlugs));
+        params.put("request[fields][banners]", String.valueOf(1));
+        params.put("request[fields][icons]", String.valueOf(1));
+        final WPOrgAPIGsonRequest<JsonObject> request =
+                new WPOrgAPIGsonRequest<>(Method.GET, url, params, null, JsonObject.class,
+                        new Listener<JsonObject>() {
+                            @Override
+                            public void onResponse(JsonObject response) {
+                                for (String pluginSlug : pluginSlugs) {
+                                    mDispatcher.dispatch(PluginActionBuilder.newFetchedWporgPluginAction(
+                                            fetchedWPOrgPluginPayloadFromResponse(pluginSlug, response)));
+                                }
+                            }
+                        },
+                        new BaseErrorListener() {
+                            @Override
+                            public void onErrorResponse(@NonNull BaseNetworkError networkError) {
+                                for (String pluginSlug : pluginSlugs) {
+                                    FetchWPOrgPluginError error = new FetchWPOrgPluginError(
+                                            FetchWPOrgPluginErrorType.GENERIC_ERROR);
+                                    mDispatcher.dispatch(PluginActionBuilder.newFetchedWporgPluginAction(
+                                            new FetchedWPOrgPluginPayload(pluginSlug, error)));
+                                }
+                            }
+                        }
+                );
+        add(request);
+    }
+
+    private FetchedWPOrgPluginPayload fetchedWPOrgPluginPayloadFromResponse(String pluginSlug,
+                                                                           @Nullable JsonObject response) {
+        if (response == null) {
+            return new FetchedWPOrgPluginPayload(pluginSlug,
+                    new FetchWPOrgPluginError(FetchWPOrgPluginErrorType.EMPTY_RESPONSE));
+        }
+        // Plugins that don't exist are either missing, `false` or an object with an error message
+        JsonElement pluginJson = response.get(pluginSlug);
+        if (pluginJson == null || !pluginJson.isJsonObject()) {
+            return new FetchedWPOrgPluginPayload(pluginSlug,
+                    new FetchWPOrgPluginError(FetchWPOrgPluginErrorType.PLUGIN_DOES_NOT_EXIST));
+        }
+        WPOrgPluginResponse pluginResponse;
+        try {
+            pluginResponse = GsonRegistry.getDefault().fromJson(pluginJson, WPOrgPluginResponse.class);
+        } catch (JsonParseException e) {
+            return new FetchedWPOrgPluginPayload(pluginSlug,
+                    new FetchWPOrgPluginError(FetchWPOrgPluginErrorType.GENERIC_ERROR));
+        }
+        if (!TextUtils.isEmpty(pluginResponse.getErrorMessage())) {
+            return new FetchedWPOrgPluginPayload(pluginSlug,
+                    new FetchWPOrgPluginError(FetchWPOrgPluginErrorType.PLUGIN_DOES_NOT_EXIST));
+        }
+        return new FetchedWPOrgPluginPayload(pluginSlug, wpOrgPluginFromResponse(pluginResponse));
+    }
+
     public void searchPluginDirectory(@Nullable final SiteModel site, final String searchTerm, final int page) {
         String url = WPORGAPI.plugins.info.version("1.1").getUrl();
         final Map<String, String> params = getCommonPluginDirectoryParams(page);
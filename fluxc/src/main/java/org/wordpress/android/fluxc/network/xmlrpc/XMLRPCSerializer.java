@@ -4,6 +4,7 @@ import android.text.TextUtils;
 import android.util.Base64;
 import android.util.Xml;
 
+import org.wordpress.android.fluxc.utils.DateCodec;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.StringUtils;
@@ -16,17 +17,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.SimpleTimeZone;
 
 public class XMLRPCSerializer {
     // Writes to /dev/null
@@ -52,9 +50,6 @@ public class XMLRPCSerializer {
     public static final String TYPE_ARRAY = "array";
     public static final String TYPE_STRUCT = "struct";
 
-    static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-    static Calendar cal = Calendar.getInstance(new SimpleTimeZone(0, "GMT"));
-
     private static final XmlSerializer SERIALIZE_TESTER;
 
     static {
@@ -90,10 +85,8 @@ public class XMLRPCSerializer {
             serializer.startTag(null, TYPE_STRING).text(makeValidInputString((String) object))
                     .endTag(null, TYPE_STRING);
         } else if (object instanceof Date || object instanceof Calendar) {
-            Date date = (Date) object;
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-            simpleDateFormat.setCalendar(cal);
-            String sDate = simpleDateFormat.format(date);
+            Date date = object instanceof Calendar ? ((Calendar) object).getTime() : (Date) object;
+            String sDate = DateCodec.XMLRPC.format(date);
             serializer.startTag(null, TYPE_DATE_TIME_ISO8601).text(sDate).endTag(null, TYPE_DATE_TIME_ISO8601);
         } else if (object instanceof byte[]) {
             String value;
@@ -225,10 +218,9 @@ public class XMLRPCSerializer {
         } else if (typeNodeName.equals(TYPE_STRING)) {
             obj = parser.nextText();
         } else if (typeNodeName.equals(TYPE_DATE_TIME_ISO8601)) {
-            dateFormat.setCalendar(cal);
             String value = parser.nextText();
             try {
-                obj = dateFormat.parseObject(value);
+                obj = DateCodec.XMLRPC.parse(value);
             } catch (ParseException e) {
                 AppLog.e(T.API, "Can't parse Date:" + value, e);
                 obj = value;
@@ -6,14 +6,11 @@ import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlPullParserFactory;
 import org.xmlpull.v1.XmlSerializer;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.io.StringWriter;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 public class XMLSerializerUtils {
@@ -27,6 +24,7 @@ public class XMLSerializerUtils {
     private static final String TAG_FAULT_STRING = "faultString";
 
     private static final int MAX_SCRUB_CHARACTERS = 5000;
+    private static final byte[] XML_DECLARATION_START = {'<', '?', 'x', 'm', 'l'};
 
     public static StringWriter serialize(XmlSerializer serializer, XMLRPC method, Object[] params)
             throws IOException {
@@ -55,9 +53,17 @@ public class XMLSerializerUtils {
 
     public static Object deserialize(InputStream is)
             throws IOException, XmlPullParserException, XMLRPCException {
+        return deserialize(is, "UTF-8");
+    }
+
+    /**
+     * Deserializes an XML-RPC response read from the given stream, decoded with the given charset.
+     */
+    public static Object deserialize(InputStream is, String charset)
+            throws IOException, XmlPullParserException, XMLRPCException {
         // setup pull parser
         XmlPullParser pullParser = XmlPullParserFactory.newInstance().newPullParser();
-        pullParser.setInput(is, "UTF-8");
+        pullParser.setInput(is, charset);
 
         // lets start pulling...
         pullParser.nextTag();
@@ -87,36 +93,53 @@ public class XMLSerializerUtils {
         }
     }
 
+    /**
+     * Skips any junk before the XML declaration of the response. Only the first {@link #MAX_SCRUB_CHARACTERS} bytes
+     * are searched, the stream is returned from its start if the declaration isn't found in them.
+     */
     public static InputStream scrubXmlResponse(InputStream is) throws IOException {
         // Many WordPress configs can output junk before the xml response (php warnings for example), this cleans it.
-        int bomCheck = -1;
-        int stopper = 0;
-        while ((bomCheck = is.read()) != -1 && stopper <= MAX_SCRUB_CHARACTERS) {
-            stopper++;
-            String snippet = "";
-            // 60 == '<' character
-            if (bomCheck == 60) {
-                for (int i = 0; i < 4; i++) {
-                    byte[] chunk = new byte[1];
-                    int numRead = is.read(chunk);
-                    if (numRead > 0) {
-                        snippet += new String(chunk, "UTF-8");
-                    }
-                }
-                if (snippet.equals("?xml")) {
-                    // it's all good, add xml tag back and start parsing
-                    String start = "<" + snippet;
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(start.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                    break;
-                } else {
-                    // keep searching...
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(snippet.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                }
-            }
+        InputStream markableStream = is.markSupported() ? is : new BufferedInputStream(is);
+        byte[] head = new byte[MAX_SCRUB_CHARACTERS + XML_DECLARATION_START.length];
+        markableStream.mark(head.length);
+        int length = 0;
+        int read;
+        while (length < head.length && (read = markableStream.read(head, length, head.length - length)) != -1) {
+            length += read;
+        }
+        markableStream.reset();
+
+        int offset = findXmlDeclaration(head, length);
+        long skipped = 0;
+        while (skipped < offset) {
+            skipped += markableStream.skip(offset - skipped);
         }
+        return markableStream;
+    }
+
+    /**
+     * Same as {@link #scrubXmlResponse(InputStream)}, but reads straight from the response bytes without copying
+     * them.
+     */
+    public static InputStream scrubXmlResponse(byte[] data) {
+        int offset = findXmlDeclaration(data, data.length);
+        return new ByteArrayInputStream(data, offset, data.length - offset);
+    }
 
-        return is;
+    /**
+     * Returns the offset of the XML declaration in the first bytes of the data, or 0 if there is none.
+     */
+    private static int findXmlDeclaration(byte[] data, int length) {
+        int end = Math.min(length, MAX_SCRUB_CHARACTERS + XML_DECLARATION_START.length);
+        for (int i = 0; i + XML_DECLARATION_START.length <= end; i++) {
+            int j = 0;
+            while (j < XML_DECLARATION_START.length && data[i + j] == XML_DECLARATION_START[j]) {
+                j++;
+            }
+            if (j == XML_DECLARATION_START.length) {
+                return i;
+            }
+        }
+        return 0;
     }
 }
@@ -1,7 +1,5 @@
 package org.wordpress.android.fluxc.network.xmlrpc.media;
 
-import android.util.Base64;
-
 import androidx.annotation.NonNull;
 
 import org.apache.commons.lang3.StringEscapeUtils;
@@ -9,12 +7,15 @@ import org.wordpress.android.fluxc.model.MediaModel;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.network.BaseUploadRequestBody;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Locale;
 
 import okhttp3.MediaType;
 import okio.BufferedSink;
+import okio.ByteString;
 import okio.Okio;
 
 public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
@@ -38,6 +39,17 @@ public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
     private static final String APPEND_XML =
             "</base64></value></member></struct></value></param></params></methodCall>";
 
+    /**
+     * The file is encoded the same way as {@code Base64.encodeToString(bytes, Base64.DEFAULT)}: lines of 76
+     * characters (19 groups of 4 characters, encoding 57 bytes), each followed by a line feed, including the last one.
+     */
+    private static final int BASE64_LINE_GROUPS = 19;
+    private static final int BASE64_LINE_INPUT_BYTES = BASE64_LINE_GROUPS * 3;
+    private static final int BASE64_LINE_CHARS = BASE64_LINE_GROUPS * 4;
+    private static final int BASE64_BUFFER_LINES = 64;
+    private static final byte[] BASE64_ALPHABET =
+            ByteString.encodeUtf8("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/").toByteArray();
+
     private final String mPrependString;
     private long mMediaSize;
     private long mContentSize = -1;
@@ -82,18 +94,78 @@ public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
     }
 
     private long getMediaBase64EncodedSize() throws IOException {
-        FileInputStream fis = new FileInputStream(getMedia().getFilePath());
-        int totalSize = 0;
-        try {
-            byte[] buffer = new byte[3600];
-            int length;
-            while ((length = fis.read(buffer)) > 0) {
-                totalSize += Base64.encodeToString(buffer, 0, length, Base64.DEFAULT).length();
+        File file = new File(getMedia().getFilePath());
+        if (!file.isFile()) {
+            throw new IOException("Can't read media file: " + getMedia().getFilePath());
+        }
+        return getBase64EncodedSize(file.length());
+    }
+
+    /**
+     * Returns the number of characters written by {@link #writeBase64(InputStream, BufferedSink)} for an input of
+     * the given size, without reading it.
+     */
+    static long getBase64EncodedSize(long inputSize) {
+        long encodedSize = (inputSize + 2) / 3 * 4;
+        long lineFeeds = (encodedSize + BASE64_LINE_CHARS - 1) / BASE64_LINE_CHARS;
+        return encodedSize + lineFeeds;
+    }
+
+    /**
+     * Encodes the input stream into the sink, reusing the same input and output buffers for the whole stream.
+     */
+    private void writeBase64(InputStream input, BufferedSink sink) throws IOException {
+        byte[] inputBuffer = new byte[BASE64_LINE_INPUT_BYTES * BASE64_BUFFER_LINES];
+        byte[] outputBuffer = new byte[(BASE64_LINE_CHARS + 1) * BASE64_BUFFER_LINES];
+        int length;
+        while ((length = readFully(input, inputBuffer)) > 0) {
+            int outputLength = encodeBase64Lines(inputBuffer, length, outputBuffer);
+            mMediaBytesWritten += length;
+            sink.write(outputBuffer, 0, outputLength);
+        }
+    }
+
+    /**
+     * Fills the buffer from the input stream, so that only the last read of the stream can return a partial line.
+     */
+    private static int readFully(InputStream input, byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = input.read(buffer, total, buffer.length - total)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static int encodeBase64Lines(byte[] input, int length, byte[] output) {
+        int outputIndex = 0;
+        int lineGroups = 0;
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (input[i] & 0xff) << 16 | (input[i + 1] & 0xff) << 8 | (input[i + 2] & 0xff);
+            output[outputIndex++] = BASE64_ALPHABET[bits >> 18 & 0x3f];
+            output[outputIndex++] = BASE64_ALPHABET[bits >> 12 & 0x3f];
+            output[outputIndex++] = BASE64_ALPHABET[bits >> 6 & 0x3f];
+            output[outputIndex++] = BASE64_ALPHABET[bits & 0x3f];
+            if (++lineGroups == BASE64_LINE_GROUPS) {
+                output[outputIndex++] = '\n';
+                lineGroups = 0;
             }
-        } finally {
-            fis.close();
         }
-        return totalSize;
+
+        int remaining = length - i;
+        if (remaining > 0) {
+            int bits = (input[i] & 0xff) << 16 | (remaining == 2 ? (input[i + 1] & 0xff) << 8 : 0);
+            output[outputIndex++] = BASE64_ALPHABET[bits >> 18 & 0x3f];
+            output[outputIndex++] = BASE64_ALPHABET[bits >> 12 & 0x3f];
+            output[outputIndex++] = remaining == 2 ? BASE64_ALPHABET[bits >> 6 & 0x3f] : (byte) '=';
+            output[outputIndex++] = '=';
+            lineGroups++;
+        }
+        if (lineGroups > 0) {
+            output[outputIndex++] = '\n';
+        }
+        return outputIndex;
     }
 
     @Override
@@ -108,14 +180,7 @@ public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
 
         FileInputStream fis = new FileInputStream(getMedia().getFilePath());
         try {
-            byte[] buffer = new byte[3600]; // you must use a 24bit multiple
-            int length;
-            String chunk;
-            while ((length = fis.read(buffer)) > 0) {
-                chunk = Base64.encodeToString(buffer, 0, length, Base64.DEFAULT);
-                mMediaBytesWritten += length;
-                bufferedSink.writeUtf8(chunk);
-            }
+            writeBase64(fis, bufferedSink);
         } finally {
             fis.close();
         }
@@ -33,6 +33,7 @@ import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCUtils;
 import org.wordpress.android.fluxc.store.PostStore;
 import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
@@ -111,6 +112,68 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         add(request);
     }
 
+    /**
+     * Fetches the given posts of the site with a single system.multicall request of wp.getPost calls.
+     */
+    public void fetchPostsByRemoteIds(final List<PostModel> posts, final SiteModel site) {
+        List<Map<String, Object>> calls = new ArrayList<>(posts.size());
+        for (PostModel post : posts) {
+            Map<String, Object> call = new HashMap<>();
+            call.put("methodName", XMLRPC.GET_POST.toString());
+            call.put("params", createFetchPostParams(post, site));
+            calls.add(call);
+        }
+        List<Object> params = new ArrayList<>(1);
+        params.add(calls);
+
+        final XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.MULTICALL, params,
+                new Listener<Object>() {
+                    @Override
+                    public void onResponse(Object response) {
+                        FetchChangedPostsResponsePayload payload = new FetchChangedPostsResponsePayload(posts, site);
+                        if (!(response instanceof Object[]) || ((Object[]) response).length != posts.size()) {
+                            payload.error = new PostError(PostErrorType.INVALID_RESPONSE);
+                            mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(payload));
+                            return;
+                        }
+
+                        // Each result is either an array holding the wp.getPost response, or a fault struct
+                        Object[] results = (Object[]) response;
+                        List<PostModel> fetchedPosts = new ArrayList<>();
+                        for (int i = 0; i < results.length; i++) {
+                            PostModel requestedPost = posts.get(i);
+                            PostModel postModel = null;
+                            if (results[i] instanceof Object[] && ((Object[]) results[i]).length == 1
+                                && ((Object[]) results[i])[0] instanceof Map) {
+                                postModel = postResponseObjectToPostModel((Map) ((Object[]) results[i])[0], site);
+                            }
+                            if (postModel != null) {
+                                postModel.setId(requestedPost.getId());
+                                fetchedPosts.add(postModel);
+                            } else if (results[i] instanceof Map) {
+                                String faultString = MapUtils.getMapStr((Map) results[i], "faultString");
+                                payload.postErrors.put(requestedPost.getRemotePostId(),
+                                        new PostError(PostErrorType.GENERIC_ERROR, faultString));
+                            } else {
+                                payload.postErrors.put(requestedPost.getRemotePostId(),
+                                        new PostError(PostErrorType.INVALID_RESPONSE));
+                            }
+                        }
+                        payload.posts = fetchedPosts;
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(payload));
+                    }
+                }, new BaseErrorListener() {
+            @Override
+            public void onErrorResponse(@NonNull BaseNetworkError error) {
+                FetchChangedPostsResponsePayload payload = new FetchChangedPostsResponsePayload(posts, site);
+                payload.error = createPostErrorFromBaseNetworkError(error);
+                mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(payload));
+            }
+        });
+
+        add(request);
+    }
+
     public void fetchPostStatus(final PostModel post, final SiteModel site) {
         final String postStatusField = "post_status";
         List<Object> params = createFetchPostParams(post, site);
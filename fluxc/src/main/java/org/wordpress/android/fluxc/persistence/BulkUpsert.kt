@@ -0,0 +1,107 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.DatabaseUtils
+import android.database.sqlite.SQLiteStatement
+import com.yarolegovich.wellsql.WellSql
+import com.yarolegovich.wellsql.core.Identifiable
+
+/**
+ * Inserts or updates a page of models in a single transaction.
+ *
+ * Existing rows are looked up once for the whole page, by local id and by the key returned by [keyOf] (usually the
+ * site and remote ids of the model), instead of with one SELECT per model. Updates go through a single prepared
+ * UPDATE statement that is re-bound for each model.
+ *
+ * As with the single row `insertOrUpdate` methods, a model matches an existing row if it has the same local id, or
+ * the same key. Models sharing a key within a page end up in a single row, the last one wins.
+ *
+ * @param tableName the table of [clazz], which is the class name unless set in its `@Table` annotation
+ * @param keyOf returns the key identifying a model in the table, e.g. its site and remote ids
+ * @param loadExistingIds returns the local ids of the existing rows matching the given models, by key
+ */
+class BulkUpsert<T : Identifiable, K>(
+    private val clazz: Class<T>,
+    private val tableName: String = clazz.simpleName,
+    private val keyOf: (T) -> K,
+    private val loadExistingIds: (List<T>) -> Map<K, Int>
+) {
+    data class Result(val inserted: Int, val updated: Int) {
+        val rowsAffected
+            get() = inserted + updated
+    }
+
+    fun insertOrUpdate(models: List<T>): Result {
+        if (models.isEmpty()) {
+            return Result(0, 0)
+        }
+
+        var inserted = 0
+        var updated = 0
+        val db = WellSql.giveMeWritableDb()
+        var updateStatement: SQLiteStatement? = null
+        db.beginTransaction()
+        try {
+            val existingLocalIds = loadExistingLocalIds(models)
+            val idsByKey = loadExistingIds(models).toMutableMap()
+            val mapper = UpdateAllExceptId(clazz)
+            var columns: List<String>? = null
+
+            models.forEach { model ->
+                val key = keyOf(model)
+                val existingId = if (existingLocalIds.contains(model.id)) model.id else idsByKey[key]
+                if (existingId == null) {
+                    WellSql.insert(model).execute()
+                    idsByKey[key] = model.id
+                    inserted++
+                } else {
+                    val values = mapper.toCv(model)
+                    val statementColumns = columns ?: values.keySet().sorted().also { columns = it }
+                    val statement = updateStatement ?: db.compileStatement(
+                            "UPDATE $tableName SET " + statementColumns.joinToString(",") { "$it=?" } +
+                                    " WHERE _id=?"
+                    ).also { updateStatement = it }
+
+                    statement.clearBindings()
+                    statementColumns.forEachIndexed { index, column ->
+                        DatabaseUtils.bindObjectToProgram(statement, index + 1, values.get(column))
+                    }
+                    statement.bindLong(statementColumns.size + 1, existingId.toLong())
+                    updated += statement.executeUpdateDelete()
+                    idsByKey[key] = existingId
+                }
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            updateStatement?.close()
+            db.endTransaction()
+        }
+        return Result(inserted, updated)
+    }
+
+    private fun loadExistingLocalIds(models: List<T>): Set<Int> {
+        val localIds = models.map { it.id }.filter { it != 0 }.distinct()
+        if (localIds.isEmpty()) {
+            return emptySet()
+        }
+
+        val existingLocalIds = mutableSetOf<Int>()
+        localIds.chunked(MAX_QUERY_ARGUMENTS).forEach { chunk ->
+            WellSql.giveMeReadableDb().rawQuery(
+                    "SELECT _id FROM $tableName WHERE _id IN (${chunk.joinToString(",")})", null
+            ).use { cursor ->
+                while (cursor.moveToNext()) {
+                    existingLocalIds.add(cursor.getInt(0))
+                }
+            }
+        }
+        return existingLocalIds
+    }
+
+    companion object {
+        /**
+         * Maximum number of values passed in a single `IN` clause, SQLite limits the number of bound arguments
+         * of a query to 999.
+         */
+        const val MAX_QUERY_ARGUMENTS = 500
+    }
+}
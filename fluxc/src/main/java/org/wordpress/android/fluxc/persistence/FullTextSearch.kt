@@ -0,0 +1,102 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.yarolegovich.wellsql.WellSql
+import com.yarolegovich.wellsql.core.Identifiable
+import org.wordpress.android.fluxc.model.SearchResults
+import org.wordpress.android.fluxc.persistence.BulkUpsert.Companion.MAX_QUERY_ARGUMENTS
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Ranked prefix searches over the [SearchIndex]es of [WellSqlConfig.searchIndexes].
+ */
+object FullTextSearch {
+    /**
+     * Searches [index] for the rows containing every word of [searchTerm], either as a word or as the prefix of a
+     * word, and returns them lazily, from the most to the least relevant.
+     *
+     * @param filter optional selection on the columns of the indexed table, e.g. `LOCAL_SITE_ID=?`
+     * @param filterArgs arguments of the [filter]
+     */
+    @JvmStatic
+    fun <T : Identifiable> search(
+        clazz: Class<T>,
+        index: SearchIndex,
+        searchTerm: String,
+        filter: String?,
+        vararg filterArgs: String
+    ): SearchResults<T> {
+        return SearchResults(searchIds(index, searchTerm, filter, *filterArgs)) { ids -> loadModels(clazz, ids) }
+    }
+
+    /**
+     * Same as [search], but only returns the local ids of the matching rows.
+     */
+    @JvmStatic
+    fun searchIds(index: SearchIndex, searchTerm: String, filter: String?, vararg filterArgs: String): List<Int> {
+        val query = buildPrefixQuery(searchTerm) ?: return emptyList()
+        val filterSelection = filter?.let { " AND docid IN (SELECT _id FROM ${index.tableName} WHERE $it)" } ?: ""
+
+        val results = mutableListOf<Pair<Int, Double>>()
+        WellSql.giveMeReadableDb().rawQuery(
+                "SELECT docid, matchinfo(${index.name},'pcx') FROM ${index.name} " +
+                        "WHERE ${index.name} MATCH ?$filterSelection",
+                arrayOf(query, *filterArgs)
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                results.add(cursor.getInt(0) to rank(cursor.getBlob(1)))
+            }
+        }
+        // Ties are broken in favor of the most recently added rows
+        return results.sortedWith(compareByDescending<Pair<Int, Double>> { it.second }.thenByDescending { it.first })
+                .map { it.first }
+    }
+
+    /**
+     * Builds a query matching every word of [searchTerm] as a word prefix. Words are split the way the `simple`
+     * tokenizer of the index splits them: on any ASCII character that isn't a letter or a digit. They're left as
+     * they are, as the tokenizer folds the case of ASCII letters in the query the same way as in the index.
+     *
+     * @return the query, or null if [searchTerm] doesn't contain any words
+     */
+    @JvmStatic
+    fun buildPrefixQuery(searchTerm: String): String? {
+        val words = searchTerm.split(Regex("[\\x00-\\x2F\\x3A-\\x40\\x5B-\\x60\\x7B-\\x7F]+"))
+                .filter { it.isNotEmpty() }
+        return if (words.isEmpty()) null else words.joinToString(" ") { "$it*" }
+    }
+
+    /**
+     * Loads the models with the given local ids, in the same order. Ids that don't exist anymore are skipped.
+     */
+    @JvmStatic
+    fun <T : Identifiable> loadModels(clazz: Class<T>, ids: List<Int>): List<T> {
+        val modelsById = HashMap<Int, T>(ids.size)
+        ids.chunked(MAX_QUERY_ARGUMENTS).forEach { chunk ->
+            WellSql.select(clazz).where().isIn("_id", chunk).endWhere().asModel.forEach { modelsById[it.id] = it }
+        }
+        return ids.mapNotNull { modelsById[it] }
+    }
+
+    /**
+     * Scores a row from its `matchinfo(index, 'pcx')` value: each hit of a word in a column counts for the share of
+     * all the hits of that word in that column it represents, so rare words weigh more than common ones.
+     */
+    private fun rank(matchInfo: ByteArray): Double {
+        val values = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer()
+        val phraseCount = values[0]
+        val columnCount = values[1]
+        var score = 0.0
+        for (phrase in 0 until phraseCount) {
+            for (column in 0 until columnCount) {
+                val offset = 2 + (phrase * columnCount + column) * 3
+                val hitsInRow = values[offset]
+                val hitsInAllRows = values[offset + 1]
+                if (hitsInRow > 0) {
+                    score += hitsInRow.toDouble() / hitsInAllRows
+                }
+            }
+        }
+        return score
+    }
+}
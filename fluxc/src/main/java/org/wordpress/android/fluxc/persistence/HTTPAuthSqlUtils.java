@@ -3,6 +3,7 @@ package org.wordpress.android.fluxc.persistence;
 import android.content.ContentValues;
 
 import com.wellsql.generated.HTTPAuthModelTable;
+import com.yarolegovich.wellsql.SelectQuery;
 import com.yarolegovich.wellsql.WellSql;
 import com.yarolegovich.wellsql.mapper.InsertMapper;
 
@@ -11,6 +12,12 @@ import org.wordpress.android.fluxc.network.HTTPAuthModel;
 import java.util.List;
 
 public class HTTPAuthSqlUtils {
+    public static List<HTTPAuthModel> getAllModels() {
+        return WellSql.select(HTTPAuthModel.class)
+                .orderBy(HTTPAuthModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                .getAsModel();
+    }
+
     public static void insertOrUpdateModel(HTTPAuthModel model) {
         List<HTTPAuthModel> modelResult = WellSql.select(HTTPAuthModel.class)
                 .where().equals(HTTPAuthModelTable.ROOT_URL, model.getRootUrl()).endWhere()
@@ -34,4 +41,10 @@ public class HTTPAuthSqlUtils {
                    }).execute();
         }
     }
+
+    public static int deleteModelWithRootUrl(String rootUrl) {
+        return WellSql.delete(HTTPAuthModel.class)
+                .where().equals(HTTPAuthModelTable.ROOT_URL, rootUrl).endWhere()
+                .execute();
+    }
 }
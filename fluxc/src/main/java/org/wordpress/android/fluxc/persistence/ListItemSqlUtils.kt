@@ -26,6 +26,23 @@ class ListItemSqlUtils @Inject constructor() {
      */
     fun getListItems(listId: Int): List<ListItemModel> = getListItemsQuery(listId).asModel
 
+    /**
+     * This function returns the remote item ids of the given [listId], in the same order as [getListItems], without
+     * building a [ListItemModel] for each record.
+     */
+    fun getListItemIds(listId: Int): LongArray {
+        return WellSql.giveMeReadableDb().rawQuery(
+                "SELECT ${ListItemModelTable.REMOTE_ITEM_ID} FROM ListItemModel " +
+                        "WHERE ${ListItemModelTable.LIST_ID}=? ORDER BY ${ListItemModelTable.ID} ASC",
+                arrayOf(listId.toString())
+        ).use { cursor ->
+            LongArray(cursor.count) { index ->
+                cursor.moveToPosition(index)
+                cursor.getLong(0)
+            }
+        }
+    }
+
     /**
      * This function returns the number of records a list has for the given [listId].
      */
@@ -7,7 +7,7 @@ import org.wordpress.android.fluxc.model.list.ListDescriptor
 import org.wordpress.android.fluxc.model.list.ListDescriptorTypeIdentifier
 import org.wordpress.android.fluxc.model.list.ListModel
 import org.wordpress.android.fluxc.model.list.ListState
-import org.wordpress.android.util.DateTimeUtils
+import org.wordpress.android.fluxc.utils.DateCodec
 import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -24,7 +24,7 @@ class ListSqlUtils @Inject constructor() {
         listDescriptor: ListDescriptor,
         listState: ListState = ListState.CAN_LOAD_MORE
     ) {
-        val now = DateTimeUtils.iso8601FromDate(Date())
+        val now = DateCodec.ISO8601_UTC.format(Date())
         val listModel = ListModel()
         listModel.lastModified = now
         listModel.stateDbValue = listState.value
@@ -93,7 +93,7 @@ class ListSqlUtils @Inject constructor() {
         val cutOffDate = Date(System.currentTimeMillis() - expirationDuration)
         // Find the ids of lists that are expired
         val listIdsToDelete = allLists.asSequence().filter {
-            DateTimeUtils.dateFromIso8601(it.lastModified).before(cutOffDate)
+            DateCodec.dateFromIso8601(it.lastModified)?.before(cutOffDate) ?: true
         }.map { it.id }.toList()
         if (listIdsToDelete.isNotEmpty()) {
             WellSql.delete(ListModel::class.java)
@@ -11,6 +11,7 @@ import com.yarolegovich.wellsql.WellSql;
 
 import org.wordpress.android.fluxc.model.MediaModel;
 import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.utils.MimeType.Type;
 
@@ -118,6 +119,11 @@ public class MediaSqlUtils {
         return searchSiteMediaQuery(siteModel, searchTerm).getAsModel();
     }
 
+    public static SearchResults<MediaModel> fullTextSearchSiteMedia(SiteModel siteModel, String searchTerm) {
+        return FullTextSearch.search(MediaModel.class, WellSqlConfig.MEDIA_SEARCH_INDEX, searchTerm,
+                MediaModelTable.LOCAL_SITE_ID + "=?", String.valueOf(siteModel.getId()));
+    }
+
     public static List<MediaModel> searchSiteImages(SiteModel siteModel, String searchTerm) {
         return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.IMAGE.getValue()).getAsModel();
     }
@@ -13,6 +13,7 @@ import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.notification.NoteIdSet
 import org.wordpress.android.fluxc.model.notification.NotificationModel
 import org.wordpress.android.fluxc.model.notification.NotificationModel.Kind
+import org.wordpress.android.fluxc.persistence.BulkUpsert.Companion.MAX_QUERY_ARGUMENTS
 import org.wordpress.android.fluxc.tools.FormattableContent
 import org.wordpress.android.fluxc.tools.FormattableContentMapper
 import org.wordpress.android.fluxc.tools.FormattableMeta
@@ -21,6 +22,30 @@ import javax.inject.Singleton
 
 @Singleton
 class NotificationSqlUtils @Inject constructor(private val formattableContentMapper: FormattableContentMapper) {
+    private val notificationUpsert = BulkUpsert(
+            NotificationModelBuilder::class.java,
+            tableName = "NotificationModel",
+            keyOf = { Pair(it.remoteSiteId, it.remoteNoteId) },
+            loadExistingIds = { notifications ->
+                val idsByKey = mutableMapOf<Pair<Long, Long>, Int>()
+                notifications.map { it.remoteNoteId }.distinct().chunked(MAX_QUERY_ARGUMENTS).forEach { ids ->
+                    WellSql.select(NotificationModelBuilder::class.java)
+                            .columns(
+                                    NotificationModelTable.ID,
+                                    NotificationModelTable.REMOTE_SITE_ID,
+                                    NotificationModelTable.REMOTE_NOTE_ID
+                            )
+                            .where()
+                            .isIn(NotificationModelTable.REMOTE_NOTE_ID, ids)
+                            .endWhere()
+                            .orderBy(NotificationModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                            .asModel
+                            .forEach { idsByKey.getOrPut(Pair(it.remoteSiteId, it.remoteNoteId)) { it.id } }
+                }
+                idsByKey
+            }
+    )
+
     fun insertOrUpdateNotification(notification: NotificationModel): Int {
         val notificationResult = WellSql.select(NotificationModelBuilder::class.java)
                 .where().beginGroup()
@@ -47,6 +72,15 @@ class NotificationSqlUtils @Inject constructor(private val formattableContentMap
         }
     }
 
+    /**
+     * Inserts or updates the given notifications in a single transaction, see [BulkUpsert].
+     *
+     * @return The number of rows inserted or updated
+     */
+    fun insertOrUpdateNotifications(notifications: List<NotificationModel>): Int {
+        return notificationUpsert.insertOrUpdate(notifications.map { it.toBuilder() }).rowsAffected
+    }
+
     /**
      * @return The total records in the notification table.
      */
@@ -85,6 +119,19 @@ class NotificationSqlUtils @Inject constructor(private val formattableContentMap
                 .map { it.build(formattableContentMapper) }
     }
 
+    /**
+     * Returns the note hash of every cached notification, keyed by remote note id.
+     *
+     * Only the two columns are read, none of the notifications are built, which saves parsing the formattable
+     * content of every cached notification when all that's needed is to compare hashes.
+     */
+    fun getNotificationHashes(): Map<Long, Long> {
+        return WellSql.select(NotificationModelBuilder::class.java)
+                .columns(NotificationModelTable.REMOTE_NOTE_ID, NotificationModelTable.NOTE_HASH)
+                .asModel
+                .associateBy({ it.remoteNoteId }, { it.noteHash })
+    }
+
     @SuppressLint("WrongConstant")
     fun getNotificationsForSite(
         site: SiteModel,
@@ -184,6 +231,34 @@ class NotificationSqlUtils @Inject constructor(private val formattableContentMap
                 .endGroup().endWhere().execute()
     }
 
+    /**
+     * Deletes the notifications with the given remote note ids in a single transaction.
+     *
+     * @return The number of rows deleted
+     */
+    fun deleteNotificationsByRemoteIds(remoteNoteIds: Collection<Long>): Int {
+        if (remoteNoteIds.isEmpty()) {
+            return 0
+        }
+
+        var rowsDeleted = 0
+        val db = WellSql.giveMeWritableDb()
+        db.beginTransaction()
+        try {
+            remoteNoteIds.distinct().chunked(MAX_QUERY_ARGUMENTS).forEach { ids ->
+                rowsDeleted += WellSql.delete(NotificationModelBuilder::class.java)
+                        .where()
+                        .isIn(NotificationModelTable.REMOTE_NOTE_ID, ids)
+                        .endWhere()
+                        .execute()
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+        return rowsDeleted
+    }
+
     private fun NotificationModel.toBuilder(): NotificationModelBuilder {
         return NotificationModelBuilder(
                 mId = this.noteId,
@@ -17,10 +17,13 @@ import org.wordpress.android.fluxc.model.plugin.SitePluginModel;
 import org.wordpress.android.fluxc.model.plugin.WPOrgPluginModel;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import static com.yarolegovich.wellsql.SelectQuery.ORDER_ASCENDING;
 
@@ -96,6 +99,55 @@ public class PluginSqlUtils {
         return result.isEmpty() ? null : result.get(0);
     }
 
+    /**
+     * Returns the plugins of the site with the given slugs, by slug, using one query per
+     * {@link BulkUpsert#MAX_QUERY_ARGUMENTS} slugs.
+     */
+    public static @NonNull Map<String, SitePluginModel> getSitePluginsBySlug(@NonNull SiteModel site,
+                                                                           @NonNull Collection<String> slugs) {
+        Map<String, SitePluginModel> pluginsBySlug = new HashMap<>();
+        for (List<String> chunk : chunkedSlugs(slugs)) {
+            List<SitePluginModel> result = WellSql.select(SitePluginModel.class)
+                    .where().isIn(SitePluginModelTable.SLUG, chunk)
+                    .equals(SitePluginModelTable.LOCAL_SITE_ID, site.getId())
+                    .endWhere().getAsModel();
+            for (SitePluginModel plugin : result) {
+                if (!pluginsBySlug.containsKey(plugin.getSlug())) {
+                    pluginsBySlug.put(plugin.getSlug(), plugin);
+                }
+            }
+        }
+        return pluginsBySlug;
+    }
+
+    /**
+     * Returns the WP.org plugins with the given slugs, by slug, using one query per
+     * {@link BulkUpsert#MAX_QUERY_ARGUMENTS} slugs.
+     */
+    public static @NonNull Map<String, WPOrgPluginModel> getWPOrgPluginsBySlug(@NonNull Collection<String> slugs) {
+        Map<String, WPOrgPluginModel> pluginsBySlug = new HashMap<>();
+        for (List<String> chunk : chunkedSlugs(slugs)) {
+            List<WPOrgPluginModel> result = WellSql.select(WPOrgPluginModel.class)
+                    .where().isIn(WPOrgPluginModelTable.SLUG, chunk)
+                    .endWhere().getAsModel();
+            for (WPOrgPluginModel plugin : result) {
+                if (!pluginsBySlug.containsKey(plugin.getSlug())) {
+                    pluginsBySlug.put(plugin.getSlug(), plugin);
+                }
+            }
+        }
+        return pluginsBySlug;
+    }
+
+    private static @NonNull List<List<String>> chunkedSlugs(@NonNull Collection<String> slugs) {
+        List<String> distinctSlugs = new ArrayList<>(new LinkedHashSet<>(slugs));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinctSlugs.size(); i += BulkUpsert.MAX_QUERY_ARGUMENTS) {
+            chunks.add(distinctSlugs.subList(i, Math.min(i + BulkUpsert.MAX_QUERY_ARGUMENTS, distinctSlugs.size())));
+        }
+        return chunks;
+    }
+
     public static @Nullable WPOrgPluginModel getWPOrgPluginBySlug(String slug) {
         List<WPOrgPluginModel> result = WellSql.select(WPOrgPluginModel.class)
                 .where().equals(WPOrgPluginModelTable.SLUG, slug)
@@ -1,6 +1,7 @@
 package org.wordpress.android.fluxc.persistence;
 
 import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
@@ -12,6 +13,7 @@ import com.wellsql.generated.PostModelTable;
 import com.yarolegovich.wellsql.ConditionClauseBuilder;
 import com.yarolegovich.wellsql.SelectQuery;
 import com.yarolegovich.wellsql.SelectQuery.Order;
+import com.yarolegovich.wellsql.WellCursor;
 import com.yarolegovich.wellsql.WellSql;
 import com.yarolegovich.wellsql.mapper.InsertMapper;
 
@@ -19,15 +21,21 @@ import org.wordpress.android.fluxc.model.LocalOrRemoteId;
 import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId;
 import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId;
 import org.wordpress.android.fluxc.model.PostModel;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.fluxc.model.page.PageHierarchy;
+import org.wordpress.android.fluxc.model.page.PageHierarchy.PageNode;
+import org.wordpress.android.fluxc.model.post.PostSummary;
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel;
 import org.wordpress.android.fluxc.model.revisions.LocalRevisionModel;
 import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRemoteAutoSaveModel;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 import javax.inject.Inject;
 
@@ -35,6 +43,14 @@ import dagger.Reusable;
 
 @Reusable
 public class PostSqlUtils {
+    // In the order of the PostSummary constructor parameters
+    private static final String[] POST_SUMMARY_COLUMNS = {PostModelTable.ID, PostModelTable.LOCAL_SITE_ID,
+            PostModelTable.REMOTE_POST_ID, PostModelTable.TITLE, PostModelTable.STATUS, PostModelTable.DATE_CREATED,
+            PostModelTable.DATE_LOCALLY_CHANGED, PostModelTable.FEATURED_IMAGE_ID, PostModelTable.AUTHOR_DISPLAY_NAME,
+            PostModelTable.IS_PAGE, PostModelTable.IS_LOCAL_DRAFT, PostModelTable.IS_LOCALLY_CHANGED};
+    private static final String[] PAGE_NODE_COLUMNS = {PostModelTable.LOCAL_SITE_ID, PostModelTable.ID,
+            PostModelTable.REMOTE_POST_ID, PostModelTable.PARENT_ID, PostModelTable.STATUS, PostModelTable.TITLE};
+
     @Inject
     public PostSqlUtils() {
     }
@@ -103,6 +119,27 @@ public class PostSqlUtils {
         return insertOrUpdatePost(post, true);
     }
 
+    /**
+     * Same as {@link #insertOrUpdatePostOverwritingLocalChanges(PostModel)} for several posts, in a single
+     * transaction.
+     *
+     * @return the number of rows affected for each post, in the same order as the given list
+     */
+    public synchronized int[] insertOrUpdatePostsOverwritingLocalChanges(@NonNull List<PostModel> posts) {
+        int[] rowsAffected = new int[posts.size()];
+        SQLiteDatabase db = WellSql.giveMeWritableDb();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < posts.size(); i++) {
+                rowsAffected[i] = insertOrUpdatePost(posts.get(i), true);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected;
+    }
+
     public List<PostModel> getPostsForSite(SiteModel site, boolean getPages) {
         if (site == null) {
             return Collections.emptyList();
@@ -174,6 +211,13 @@ public class PostSqlUtils {
                       .getAsModel();
     }
 
+    public SearchResults<PostModel> fullTextSearchPosts(@NonNull SiteModel site, @NonNull String searchTerm,
+                                                        boolean isPage) {
+        return FullTextSearch.search(PostModel.class, WellSqlConfig.POST_SEARCH_INDEX, searchTerm,
+                PostModelTable.LOCAL_SITE_ID + "=? AND " + PostModelTable.IS_PAGE + "=?",
+                String.valueOf(site.getId()), isPage ? "1" : "0");
+    }
+
     public List<PostModel> getPostsByRemoteIds(@Nullable List<Long> remoteIds, int localSiteId) {
         if (remoteIds != null && remoteIds.size() > 0) {
             return WellSql.select(PostModel.class)
@@ -189,6 +233,59 @@ public class PostSqlUtils {
         if (localOrRemoteIds.isEmpty()) {
             return Collections.emptyList();
         }
+        return whereLocalOrRemotePostIds(WellSql.select(PostModel.class), localOrRemoteIds, localSiteId)
+                .getAsModel();
+    }
+
+    /**
+     * Same as {@link #getPostsForSite(SiteModel, boolean)}, but only reads the columns of {@link PostSummary}.
+     */
+    public List<PostSummary> getPostSummariesForSite(SiteModel site, boolean getPages) {
+        if (site == null) {
+            return Collections.emptyList();
+        }
+
+        return getPostSummaries(WellSql.select(PostModel.class)
+                .columns(POST_SUMMARY_COLUMNS)
+                .where().beginGroup()
+                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
+                .equals(PostModelTable.IS_PAGE, getPages)
+                .endGroup().endWhere()
+                .orderBy(PostModelTable.IS_LOCAL_DRAFT, SelectQuery.ORDER_DESCENDING)
+                .orderBy(PostModelTable.DATE_CREATED, SelectQuery.ORDER_DESCENDING)
+                .getAsCursor());
+    }
+
+    /**
+     * Same as {@link #getPostsByLocalOrRemotePostIds(List, int)}, but only reads the columns of {@link PostSummary}.
+     */
+    public List<PostSummary> getPostSummariesByLocalOrRemotePostIds(
+            @NonNull List<? extends LocalOrRemoteId> localOrRemoteIds, int localSiteId) {
+        if (localOrRemoteIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return getPostSummaries(whereLocalOrRemotePostIds(
+                WellSql.select(PostModel.class).columns(POST_SUMMARY_COLUMNS), localOrRemoteIds, localSiteId)
+                .getAsCursor());
+    }
+
+    private List<PostSummary> getPostSummaries(WellCursor<PostModel> cursor) {
+        List<PostSummary> summaries = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                summaries.add(new PostSummary(cursor.getInt(0), cursor.getInt(1), cursor.getLong(2),
+                        cursor.getString(3), cursor.getString(4), cursor.getString(5), cursor.getString(6),
+                        cursor.getLong(7), cursor.getString(8), cursor.getInt(9) != 0, cursor.getInt(10) != 0,
+                        cursor.getInt(11) != 0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return summaries;
+    }
+
+    private SelectQuery<PostModel> whereLocalOrRemotePostIds(SelectQuery<PostModel> query,
+            @NonNull List<? extends LocalOrRemoteId> localOrRemoteIds, int localSiteId) {
         List<Integer> localIds = new ArrayList<>();
         List<Long> remoteIds = new ArrayList<>();
         for (LocalOrRemoteId localOrRemoteId : localOrRemoteIds) {
@@ -199,7 +296,7 @@ public class PostSqlUtils {
             }
         }
         ConditionClauseBuilder<SelectQuery<PostModel>> whereQuery =
-                WellSql.select(PostModel.class).where().equals(PostModelTable.LOCAL_SITE_ID, localSiteId).beginGroup();
+                query.where().equals(PostModelTable.LOCAL_SITE_ID, localSiteId).beginGroup();
         boolean addIsInLocalIdsCondition = !localIds.isEmpty();
         if (addIsInLocalIdsCondition) {
             whereQuery = whereQuery.isIn(PostModelTable.ID, localIds);
@@ -211,7 +308,7 @@ public class PostSqlUtils {
             }
             whereQuery = whereQuery.isIn(PostModelTable.REMOTE_POST_ID, remoteIds);
         }
-        return whereQuery.endGroup().endWhere().getAsModel();
+        return whereQuery.endGroup().endWhere();
     }
 
     public PostModel insertPostForResult(PostModel post) {
@@ -265,6 +362,77 @@ public class PostSqlUtils {
                 .endGroup().endGroup().endWhere().exists();
     }
 
+    /**
+     * Returns the local ids of all the sites that have local drafts or locally changed posts, in a single query.
+     */
+    public Set<Integer> getLocalSiteIdsWithLocalChanges() {
+        WellCursor<PostModel> cursor = WellSql.select(PostModel.class)
+                .columns(PostModelTable.LOCAL_SITE_ID)
+                .where().beginGroup()
+                .equals(PostModelTable.IS_LOCAL_DRAFT, true)
+                .or()
+                .equals(PostModelTable.IS_LOCALLY_CHANGED, true)
+                .endGroup().endWhere()
+                .getAsCursor();
+
+        Set<Integer> localSiteIds = new HashSet<>();
+        try {
+            while (cursor.moveToNext()) {
+                localSiteIds.add(cursor.getInt(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return localSiteIds;
+    }
+
+    /**
+     * Returns the {@link PageNode}s of all the pages of the site, reading only the columns needed to build its
+     * {@link PageHierarchy}.
+     */
+    public List<PageNode> getPageNodes(int localSiteId) {
+        return getPageNodes(WellSql.select(PostModel.class)
+                .columns(PAGE_NODE_COLUMNS)
+                .where()
+                .equals(PostModelTable.LOCAL_SITE_ID, localSiteId)
+                .equals(PostModelTable.IS_PAGE, true)
+                .endWhere()
+                .getAsCursor());
+    }
+
+    /**
+     * Returns the {@link PageNode}s of the pages with the given local ids. Ids of deleted pages, or of posts, are
+     * skipped.
+     */
+    public List<PageNode> getPageNodesByLocalIds(@NonNull List<Integer> localPageIds) {
+        List<PageNode> nodes = new ArrayList<>();
+        for (int i = 0; i < localPageIds.size(); i += BulkUpsert.MAX_QUERY_ARGUMENTS) {
+            List<Integer> chunk =
+                    localPageIds.subList(i, Math.min(i + BulkUpsert.MAX_QUERY_ARGUMENTS, localPageIds.size()));
+            nodes.addAll(getPageNodes(WellSql.select(PostModel.class)
+                    .columns(PAGE_NODE_COLUMNS)
+                    .where()
+                    .isIn(PostModelTable.ID, chunk)
+                    .equals(PostModelTable.IS_PAGE, true)
+                    .endWhere()
+                    .getAsCursor()));
+        }
+        return nodes;
+    }
+
+    private List<PageNode> getPageNodes(WellCursor<PostModel> cursor) {
+        List<PageNode> nodes = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                nodes.add(new PageNode(cursor.getInt(0), cursor.getInt(1), cursor.getLong(2), cursor.getLong(3),
+                        cursor.getString(4), cursor.getString(5)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return nodes;
+    }
+
     public int getNumLocalChanges() {
         return (int) WellSql.select(PostModel.class)
                             .where().beginGroup()
@@ -0,0 +1,47 @@
+package org.wordpress.android.fluxc.persistence
+
+/**
+ * A full-text search index on one or more text columns of a WellSql table.
+ *
+ * The index is an FTS4 table using [tableName] as its external content, so only the index itself is stored. Triggers
+ * keep it in sync with every insert, update and delete of the table, whichever code path they go through.
+ *
+ * Search indexes are declared in [WellSqlConfig.searchIndexes] and created along with the tables. As with
+ * [TableIndex], [addOn] should be set for tables belonging to an add-on.
+ */
+data class SearchIndex(
+    val tableName: String,
+    val columns: List<String>,
+    val addOn: String? = null
+) {
+    constructor(tableName: String, vararg columns: String, addOn: String? = null) :
+            this(tableName, columns.toList(), addOn)
+
+    val name: String
+        get() = "${tableName}Search"
+
+    fun createStatements(): List<String> {
+        val columnList = columns.joinToString(",")
+        val newValues = columns.joinToString(",") { "new.$it" }
+        return listOf(
+                "CREATE VIRTUAL TABLE IF NOT EXISTS $name USING fts4(content=\"$tableName\",$columnList)",
+                // External content indexes read the old values back from the table, so they're removed before it
+                // changes and added again once it has changed
+                "CREATE TRIGGER IF NOT EXISTS ${name}_bu BEFORE UPDATE OF $columnList ON $tableName " +
+                        "BEGIN DELETE FROM $name WHERE docid=old._id; END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_bd BEFORE DELETE ON $tableName " +
+                        "BEGIN DELETE FROM $name WHERE docid=old._id; END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_au AFTER UPDATE OF $columnList ON $tableName " +
+                        "BEGIN INSERT INTO $name(docid,$columnList) VALUES(new._id,$newValues); END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_ai AFTER INSERT ON $tableName " +
+                        "BEGIN INSERT INTO $name(docid,$columnList) VALUES(new._id,$newValues); END"
+        )
+    }
+
+    /**
+     * Re-indexes all the rows of the table, e.g. when the index is added to an existing table.
+     */
+    fun rebuildStatement() = "INSERT INTO $name($name) VALUES('rebuild')"
+
+    fun dropStatement() = "DROP TABLE IF EXISTS $name"
+}
@@ -2,6 +2,7 @@ package org.wordpress.android.fluxc.persistence;
 
 import android.content.ContentValues;
 import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
 
 import androidx.annotation.NonNull;
 
@@ -19,6 +20,7 @@ import com.yarolegovich.wellsql.mapper.InsertMapper;
 import org.wordpress.android.fluxc.model.AccountModel;
 import org.wordpress.android.fluxc.model.PostFormatModel;
 import org.wordpress.android.fluxc.model.RoleModel;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.layouts.GutenbergLayoutCategoriesModel;
 import org.wordpress.android.fluxc.model.layouts.GutenbergLayoutCategoriesModelKt;
@@ -33,14 +35,130 @@ import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.UrlUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SiteSqlUtils {
     public static class DuplicateSiteException extends Exception {
         private static final long serialVersionUID = -224883903136726226L;
     }
 
+    public static class InsertOrUpdateSitesResult {
+        public int rowsAffected = 0;
+        public boolean duplicateSiteFound = false;
+    }
+
+    /**
+     * The columns of an existing site row needed to match it against an incoming site.
+     */
+    private static class SiteRow {
+        final int mId;
+        final long mSiteId;
+        final String mUrl;
+        final String mXmlRpcUrl;
+        final int mOrigin;
+        final String mMobileEditor;
+        final String mWebEditor;
+
+        SiteRow(int id, SiteModel site) {
+            mId = id;
+            mSiteId = site.getSiteId();
+            mUrl = site.getUrl();
+            mXmlRpcUrl = site.getXmlRpcUrl();
+            mOrigin = site.getOrigin();
+            mMobileEditor = site.getMobileEditor();
+            mWebEditor = site.getWebEditor();
+        }
+    }
+
+    /**
+     * In-memory index of the site rows, kept up to date as sites are inserted and updated so that sites later in a
+     * batch are matched against the same state the database would return. Rows sharing a key are kept in local id
+     * order, which is the order the equivalent queries return them in.
+     */
+    private static class SiteRowIndex {
+        private final Map<Integer, SiteRow> mRowsById = new HashMap<>();
+        private final Map<String, List<SiteRow>> mRowsByKey = new HashMap<>();
+
+        void add(SiteRow row) {
+            mRowsById.put(row.mId, row);
+            for (String key : keysOf(row)) {
+                List<SiteRow> rows = mRowsByKey.get(key);
+                if (rows == null) {
+                    rows = new ArrayList<>();
+                    mRowsByKey.put(key, rows);
+                }
+                int position = 0;
+                while (position < rows.size() && rows.get(position).mId < row.mId) {
+                    position++;
+                }
+                rows.add(position, row);
+            }
+        }
+
+        void remove(int id) {
+            SiteRow row = mRowsById.remove(id);
+            if (row == null) {
+                return;
+            }
+            for (String key : keysOf(row)) {
+                List<SiteRow> rows = mRowsByKey.get(key);
+                if (rows != null) {
+                    rows.remove(row);
+                }
+            }
+        }
+
+        SiteRow getById(int id) {
+            return mRowsById.get(id);
+        }
+
+        SiteRow getFirstBySiteId(long siteId) {
+            return getFirst(siteIdKey(siteId));
+        }
+
+        SiteRow getFirstBySiteIdAndUrl(long siteId, String url) {
+            return url == null ? null : getFirst(siteIdAndUrlKey(siteId, url));
+        }
+
+        SiteRow getFirstByXmlRpcUrl(String xmlRpcUrl) {
+            return getFirst(xmlRpcUrlKey(xmlRpcUrl));
+        }
+
+        private SiteRow getFirst(String key) {
+            List<SiteRow> rows = mRowsByKey.get(key);
+            return rows == null || rows.isEmpty() ? null : rows.get(0);
+        }
+
+        private static List<String> keysOf(SiteRow row) {
+            List<String> keys = new ArrayList<>();
+            keys.add(siteIdKey(row.mSiteId));
+            if (row.mUrl != null) {
+                keys.add(siteIdAndUrlKey(row.mSiteId, row.mUrl));
+            }
+            if (row.mXmlRpcUrl != null) {
+                keys.add(xmlRpcUrlKey(row.mXmlRpcUrl));
+            }
+            return keys;
+        }
+
+        private static String siteIdKey(long siteId) {
+            return "site_id:" + siteId;
+        }
+
+        private static String siteIdAndUrlKey(long siteId, String url) {
+            return "site_id_url:" + siteId + ":" + url;
+        }
+
+        private static String xmlRpcUrlKey(String xmlRpcUrl) {
+            return "xmlrpc_url:" + xmlRpcUrl;
+        }
+    }
+
     public static SelectQuery<SiteModel> getSitesWith(String field, Object value) {
         return WellSql.select(SiteModel.class)
                 .where().equals(field, value).endWhere();
@@ -62,6 +180,10 @@ public class SiteSqlUtils {
                 .endGroup().endWhere().getAsModel();
     }
 
+    public static SearchResults<SiteModel> fullTextSearchSites(String searchString) {
+        return FullTextSearch.search(SiteModel.class, WellSqlConfig.SITE_SEARCH_INDEX, searchString, null);
+    }
+
     public static List<SiteModel> getSitesByNameOrUrlMatching(String searchString) {
         return WellSql.select(SiteModel.class).where()
                 .contains(SiteModelTable.URL, searchString)
@@ -187,6 +309,112 @@ public class SiteSqlUtils {
         }
     }
 
+    /**
+     * Inserts or updates all the given sites in a single transaction, following the same matching rules as
+     * {@link #insertOrUpdateSite(SiteModel)}. Existing sites are loaded with a single query and matched in memory.
+     *
+     * The REST API doesn't return info about the editor(s), so the current values of sites that already exist
+     * (matched by SITE_ID) are copied to the given sites before they're saved.
+     *
+     * A site that would be a duplicate of an existing one is skipped, and reported in the result.
+     */
+    public static InsertOrUpdateSitesResult insertOrUpdateSites(@NonNull List<SiteModel> sites) {
+        InsertOrUpdateSitesResult result = new InsertOrUpdateSitesResult();
+        if (sites.isEmpty()) {
+            return result;
+        }
+
+        SQLiteDatabase db = WellSql.giveMeWritableDb();
+        db.beginTransaction();
+        try {
+            // This prevents a late UPDATE_SITES action from re-populating the database after sign out from
+            // WordPress.com, see insertOrUpdateSite
+            boolean hasWPComAccount = WellSql.select(AccountModel.class)
+                    .where()
+                    .not().equals(AccountModelTable.USER_ID, 0)
+                    .endWhere()
+                    .exists();
+
+            SiteRowIndex index = new SiteRowIndex();
+            List<SiteModel> existingSites = WellSql.select(SiteModel.class)
+                    .orderBy(SiteModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                    .getAsModel();
+            for (SiteModel existingSite : existingSites) {
+                index.add(new SiteRow(existingSite.getId(), existingSite));
+            }
+
+            for (SiteModel site : sites) {
+                if (site == null) {
+                    continue;
+                }
+
+                if (site.getSiteId() != 0) {
+                    SiteRow siteFromDB = index.getFirstBySiteId(site.getSiteId());
+                    if (siteFromDB != null) {
+                        site.setMobileEditor(siteFromDB.mMobileEditor);
+                        site.setWebEditor(siteFromDB.mWebEditor);
+                    }
+                }
+
+                if (site.isUsingWpComRestApi() && !hasWPComAccount) {
+                    AppLog.w(T.DB, "Can't insert WP.com site " + site.getUrl() + ", missing user account");
+                    continue;
+                }
+
+                try {
+                    result.rowsAffected += insertOrUpdateSite(site, index);
+                } catch (DuplicateSiteException e) {
+                    result.duplicateSiteFound = true;
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return result;
+    }
+
+    private static int insertOrUpdateSite(SiteModel site, SiteRowIndex index) throws DuplicateSiteException {
+        SiteRow siteRow = index.getById(site.getId());
+        if (siteRow == null) {
+            if (site.getSiteId() > 0) {
+                siteRow = index.getFirstBySiteId(site.getSiteId());
+            } else {
+                siteRow = index.getFirstBySiteIdAndUrl(site.getSiteId(), site.getUrl());
+            }
+        }
+
+        if (siteRow == null) {
+            SiteRow httpRow = index.getFirstByXmlRpcUrl("http://" + UrlUtils.removeScheme(site.getXmlRpcUrl()));
+            SiteRow httpsRow = index.getFirstByXmlRpcUrl("https://" + UrlUtils.removeScheme(site.getXmlRpcUrl()));
+            siteRow = httpRow == null || (httpsRow != null && httpsRow.mId < httpRow.mId) ? httpsRow : httpRow;
+            if (siteRow != null && siteRow.mOrigin == SiteModel.ORIGIN_WPCOM_REST) {
+                AppLog.d(T.DB, "Site is a duplicate: " + site.getXmlRpcUrl());
+                throw new DuplicateSiteException();
+            }
+        }
+
+        if (siteRow == null) {
+            AppLog.d(T.DB, "Inserting site: " + site.getUrl());
+            WellSql.insert(site).execute();
+            index.add(new SiteRow(site.getId(), site));
+            return 1;
+        } else {
+            AppLog.d(T.DB, "Updating site: " + site.getUrl());
+            try {
+                int rowsAffected = WellSql.update(SiteModel.class).whereId(siteRow.mId)
+                        .put(site, new UpdateAllExceptId<>(SiteModel.class)).execute();
+                index.remove(siteRow.mId);
+                index.add(new SiteRow(siteRow.mId, site));
+                return rowsAffected;
+            } catch (SQLiteConstraintException e) {
+                AppLog.e(T.DB, "Error while updating site: siteId=" + site.getSiteId() + " url=" + site.getUrl()
+                        + " xmlrpc=" + site.getXmlRpcUrl(), e);
+                throw new DuplicateSiteException();
+            }
+        }
+    }
+
     public static int deleteSite(SiteModel site) {
         if (site == null) {
             return 0;
@@ -364,28 +592,36 @@ public class SiteSqlUtils {
                 .endWhere().getAsModel();
 
         if (localSites.size() > 0) {
+            Set<Integer> localSiteIdsWithLocalChanges = postSqlUtils.getLocalSiteIdsWithLocalChanges();
+            Set<Long> remoteSiteIds = new HashSet<>();
+            for (SiteModel site : sites) {
+                remoteSiteIds.add(site.getSiteId());
+            }
+
             // iterate through all local WP.com+Jetpack sites
             Iterator<SiteModel> localIterator = localSites.iterator();
             while (localIterator.hasNext()) {
                 SiteModel localSite = localIterator.next();
 
-                // don't remove sites with local changes
-                if (postSqlUtils.getSiteHasLocalChanges(localSite)) {
+                // don't remove sites with local changes, or if the remote ID matches a given site's ID
+                if (localSiteIdsWithLocalChanges.contains(localSite.getId())
+                    || remoteSiteIds.contains(localSite.getSiteId())) {
                     localIterator.remove();
-                } else {
-                    // don't remove local site if the remote ID matches a given site's ID
-                    for (SiteModel site : sites) {
-                        if (site.getSiteId() == localSite.getSiteId()) {
-                            localIterator.remove();
-                            break;
-                        }
-                    }
                 }
             }
 
-            // delete applicable sites
-            for (SiteModel site : localSites) {
-                deleteSite(site);
+            // delete applicable sites in a single transaction
+            if (!localSites.isEmpty()) {
+                SQLiteDatabase db = WellSql.giveMeWritableDb();
+                db.beginTransaction();
+                try {
+                    for (SiteModel site : localSites) {
+                        deleteSite(site);
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
             }
         }
 
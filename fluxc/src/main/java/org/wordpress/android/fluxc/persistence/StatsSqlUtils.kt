@@ -1,7 +1,6 @@
 package org.wordpress.android.fluxc.persistence
 
 import com.google.gson.Gson
-import com.google.gson.GsonBuilder
 import com.wellsql.generated.StatsBlockTable
 import com.yarolegovich.wellsql.SelectQuery
 import com.yarolegovich.wellsql.WellSql
@@ -10,19 +9,16 @@ import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import javax.inject.Inject
 import javax.inject.Singleton
 
-const val DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ"
+const val DATE_FORMAT = GsonRegistry.STATS_DATE_FORMAT
 
 @Singleton
 class StatsSqlUtils
 @Inject constructor() {
-    private val gson: Gson by lazy {
-        val builder = GsonBuilder()
-        builder.setDateFormat(DATE_FORMAT)
-        builder.create()
-    }
+    private val gson: Gson by lazy { GsonRegistry.get(GsonRegistry.Config.STATS) }
 
     fun <T> insert(
         site: SiteModel,
@@ -0,0 +1,21 @@
+package org.wordpress.android.fluxc.persistence
+
+/**
+ * A secondary index on one or more columns of a WellSql table.
+ *
+ * Indexes are declared in [WellSqlConfig.tableIndexes] and created along with the tables. [addOn] should be set
+ * for tables belonging to an add-on, so the index is only created when the add-on is active.
+ */
+data class TableIndex(
+    val tableName: String,
+    val columns: List<String>,
+    val addOn: String? = null
+) {
+    constructor(tableName: String, vararg columns: String, addOn: String? = null) :
+            this(tableName, columns.toList(), addOn)
+
+    val name: String
+        get() = "idx_${tableName}_${columns.joinToString("_")}"
+
+    fun createStatement() = "CREATE INDEX IF NOT EXISTS $name ON $tableName (${columns.joinToString(",")})"
+}
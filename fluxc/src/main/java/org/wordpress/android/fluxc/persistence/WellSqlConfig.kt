@@ -11,12 +11,71 @@ import com.yarolegovich.wellsql.WellTableManager
 import org.wordpress.android.fluxc.BuildConfig
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.annotation.AnnotationRetention.SOURCE
 import kotlin.annotation.AnnotationTarget.VALUE_PARAMETER
 
 open class WellSqlConfig : DefaultWellConfig {
     companion object {
         const val ADDON_WOOCOMMERCE = "WC"
+
+        /**
+         * The indexes created by the migration to version 138.
+         */
+        private val VERSION_138_INDEXES = listOf(
+                TableIndex("PostModel", "LOCAL_SITE_ID", "REMOTE_POST_ID"),
+                TableIndex("MediaModel", "LOCAL_SITE_ID", "MEDIA_ID"),
+                TableIndex("SiteModel", "XMLRPC_URL"),
+                TableIndex("WCProductModel", "LOCAL_SITE_ID", "REMOTE_PRODUCT_ID", addOn = ADDON_WOOCOMMERCE),
+                TableIndex("WCProductVariationModel", "LOCAL_SITE_ID", "REMOTE_PRODUCT_ID", "REMOTE_VARIATION_ID",
+                        addOn = ADDON_WOOCOMMERCE),
+                TableIndex("WCProductReviewModel", "LOCAL_SITE_ID", "REMOTE_PRODUCT_ID", addOn = ADDON_WOOCOMMERCE),
+                TableIndex("WCOrderModel", "LOCAL_SITE_ID", "REMOTE_ORDER_ID", addOn = ADDON_WOOCOMMERCE),
+                TableIndex("WCOrderNoteModel", "LOCAL_SITE_ID", "LOCAL_ORDER_ID", addOn = ADDON_WOOCOMMERCE)
+        )
+
+        /**
+         * The indexes created by the migration to version 139, along with the table they index.
+         */
+        private val VERSION_139_INDEXES = listOf(
+                TableIndex("WCRevenueStatsIntervalModel", "LOCAL_SITE_ID", "INTERVAL", "DATE_START",
+                        addOn = ADDON_WOOCOMMERCE)
+        )
+
+        /**
+         * Secondary indexes for the columns the stores filter on the most. Tables that are dropped and re-created
+         * lose their indexes, so migrations that do so should call [createIndexes].
+         *
+         * A migration adding an index must only create its own indexes: earlier migrations run before the tables of
+         * later indexes exist, so each migration's list is frozen at its version, e.g. [VERSION_139_INDEXES].
+         */
+        val tableIndexes = VERSION_138_INDEXES + VERSION_139_INDEXES
+
+        @JvmField val MEDIA_SEARCH_INDEX = SearchIndex("MediaModel", "TITLE", "CAPTION", "DESCRIPTION", "MIME_TYPE")
+        @JvmField val POST_SEARCH_INDEX = SearchIndex("PostModel", "TITLE", "EXCERPT")
+        @JvmField val SITE_SEARCH_INDEX = SearchIndex("SiteModel", "NAME", "URL")
+
+        /**
+         * The full-text search indexes created by the migration to version 140.
+         */
+        private val VERSION_140_SEARCH_INDEXES = listOf(MEDIA_SEARCH_INDEX, POST_SEARCH_INDEX, SITE_SEARCH_INDEX)
+
+        /**
+         * Full-text search indexes, see [SearchIndex]. Tables that are dropped and re-created lose the triggers
+         * keeping their index in sync, so migrations that do so should call [createSearchIndexes]. As with
+         * [tableIndexes], a migration adding a search index must only create its own.
+         */
+        val searchIndexes = VERSION_140_SEARCH_INDEXES
+
+        private val resetCounter = AtomicInteger()
+
+        /**
+         * Incremented every time the tables are dropped and re-created, so the rows cached in memory can be
+         * recognized as stale after e.g. signing out.
+         */
+        @JvmStatic
+        val resetCount: Int
+            get() = resetCounter.get()
     }
 
     constructor(context: Context) : super(context)
@@ -27,8 +86,43 @@ open class WellSqlConfig : DefaultWellConfig {
     @Target(VALUE_PARAMETER)
     annotation class AddOn
 
+    /**
+     * Connection level settings applied in [onConfigure]. The defaults leave SQLite's own defaults untouched.
+     *
+     * With [writeAheadLogging] enabled, readers no longer block behind writers: the framework's connection pool
+     * opens additional connections and runs read-only queries outside of transactions on them, while writes keep
+     * going through the primary connection.
+     *
+     * [onConfigure] only runs once, on the primary connection. [synchronous] only matters for writes, which all go
+     * through that connection, but [cacheSizeKb] and [mmapSizeBytes] are per-connection pragmas: the additional
+     * connections opened for WAL readers keep SQLite's defaults.
+     *
+     * @param synchronous value of `PRAGMA synchronous`, `NORMAL` is safe and recommended together with WAL
+     * @param cacheSizeKb page cache size of the primary connection, in KiB
+     * @param mmapSizeBytes maximum number of bytes of the database file the primary connection memory maps
+     */
+    data class ConnectionOptions(
+        val writeAheadLogging: Boolean = false,
+        val synchronous: Synchronous? = null,
+        val cacheSizeKb: Int? = null,
+        val mmapSizeBytes: Long? = null
+    )
+
+    enum class Synchronous { OFF, NORMAL, FULL }
+
+    /**
+     * Override to change the [ConnectionOptions] of the database, e.g. to enable write-ahead logging.
+     */
+    open fun getConnectionOptions() = ConnectionOptions()
+
+    /**
+     * The database given to [onConfigure], which runs before onCreate, onUpgrade and onDowngrade, so [reset] can
+     * reach it from a helper.
+     */
+    @Volatile private var openingDb: SQLiteDatabase? = null
+
     override fun getDbVersion(): Int {
-        return 137
+        return 141
     }
 
     override fun getDbName(): String {
@@ -37,6 +131,8 @@ open class WellSqlConfig : DefaultWellConfig {
 
     override fun onCreate(db: SQLiteDatabase, helper: WellTableManager) {
         mTables.forEach { table -> helper.createTable(table) }
+        createIndexes(db)
+        createSearchIndexes(db)
     }
 
     @Suppress("CheckStyle")
@@ -1495,6 +1591,37 @@ open class WellSqlConfig : DefaultWellConfig {
                     db.execSQL("CREATE TABLE DynamicCard (_id INTEGER PRIMARY KEY AUTOINCREMENT,SITE_ID INTEGER," +
                             "DYNAMIC_CARD_TYPE TEXT,STATE TEXT)")
                 }
+                137 -> migrate(version) {
+                    createIndexes(db, VERSION_138_INDEXES)
+                }
+                138 -> migrateAddOn(ADDON_WOOCOMMERCE, version) {
+                    db.execSQL(
+                            "CREATE TABLE WCRevenueStatsIntervalModel(" +
+                                    "LOCAL_SITE_ID INTEGER," +
+                                    "INTERVAL TEXT NOT NULL," +
+                                    "PERIOD TEXT NOT NULL," +
+                                    "DATE_START TEXT NOT NULL," +
+                                    "DATE_END TEXT NOT NULL," +
+                                    "ORDERS_COUNT INTEGER," +
+                                    "NUM_ITEMS_SOLD INTEGER," +
+                                    "TOTAL_SALES REAL," +
+                                    "NET_REVENUE REAL," +
+                                    "_id INTEGER PRIMARY KEY AUTOINCREMENT)"
+                    )
+                    createIndexes(db, VERSION_139_INDEXES)
+                }
+                139 -> migrate(version) {
+                    createSearchIndexes(db, VERSION_140_SEARCH_INDEXES)
+                }
+                140 -> migrateAddOn(ADDON_WOOCOMMERCE, version) {
+                    db.execSQL(
+                            "CREATE TABLE WCSyncStateModel (_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                                    "LOCAL_SITE_ID INTEGER," +
+                                    "ENTITY TEXT NOT NULL," +
+                                    "MODIFIED_AFTER_GMT TEXT NOT NULL," +
+                                    "DATE_RECONCILED INTEGER)"
+                    )
+                }
             }
         }
         db.setTransactionSuccessful()
@@ -1503,11 +1630,28 @@ open class WellSqlConfig : DefaultWellConfig {
 
     @Suppress("CheckStyle")
     override fun onConfigure(db: SQLiteDatabase, helper: WellTableManager?) {
+        openingDb = db
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
             db.setForeignKeyConstraintsEnabled(true)
         } else {
             db.execSQL("PRAGMA foreign_keys=ON")
         }
+
+        val options = getConnectionOptions()
+        if (options.writeAheadLogging) {
+            db.enableWriteAheadLogging()
+        }
+        options.synchronous?.let { setPragma(db, "synchronous", it.name) }
+        // A negative cache_size is a size in KiB rather than a number of pages
+        options.cacheSizeKb?.let { setPragma(db, "cache_size", (-it).toString()) }
+        options.mmapSizeBytes?.let { setPragma(db, "mmap_size", it.toString()) }
+    }
+
+    /**
+     * Some pragmas return the new value as a row, which execSQL doesn't allow, so they're all run as queries.
+     */
+    private fun setPragma(db: SQLiteDatabase, name: String, value: String) {
+        db.rawQuery("PRAGMA $name=$value", null).use { it.moveToFirst() }
     }
 
     /**
@@ -1521,28 +1665,78 @@ open class WellSqlConfig : DefaultWellConfig {
     /**
      * Drop and create all tables
      */
-    @Suppress("CheckStyle")
     open fun reset() {
-        val db = WellSql.giveMeWritableDb()
+        reset(WellSql.giveMeWritableDb())
+    }
+
+    /**
+     * Recreates all the tables in this database, with their indexes - same as the above but can be used from
+     * onDowngrade with the database it's given, where we can't call giveMeWritableDb (attempting to do so results in
+     * "IllegalStateException: getDatabase called recursively")
+     */
+    @Suppress("CheckStyle")
+    fun reset(db: SQLiteDatabase) {
+        AppLog.d(T.DB, "resetting tables")
+        // Search indexes are virtual tables that would keep the rows of the dropped tables
+        searchIndexes.forEach { db.execSQL(it.dropStatement()) }
         mTables.forEach { clazz ->
             val table = getTable(clazz)
             db.execSQL("DROP TABLE IF EXISTS ${table.tableName}")
             db.execSQL(table.createStatement())
         }
+        createIndexes(db)
+        createSearchIndexes(db)
+        resetCounter.incrementAndGet()
     }
 
     /**
-     * Recreates all the tables in this database - similar to the above but can be used from onDowngrade where we can't
-     * call giveMeWritableDb (attempting to do so results in "IllegalStateException: getDatabase called recursively")
+     * Recreates all the tables in this database through the [helper] - similar to [reset] but can be used from
+     * onDowngrade where we can't call giveMeWritableDb (attempting to do so results in "IllegalStateException:
+     * getDatabase called recursively"). The indexes are recreated on the database being opened.
      */
     fun reset(helper: WellTableManager) {
+        val db = checkNotNull(openingDb) { "reset(helper) can only be called while the database is being opened" }
         AppLog.d(T.DB, "resetting tables")
+        searchIndexes.forEach { db.execSQL(it.dropStatement()) }
         for (table in mTables) {
             AppLog.d(T.DB, "dropping table " + table.simpleName)
             helper.dropTable(table)
             AppLog.d(T.DB, "creating table " + table.simpleName)
             helper.createTable(table)
         }
+        createIndexes(db)
+        createSearchIndexes(db)
+        resetCounter.incrementAndGet()
+    }
+
+    /**
+     * Creates the [indexes] that don't exist yet, skipping those of inactive add-ons and of tables
+     * that aren't part of this configuration.
+     */
+    protected fun createIndexes(db: SQLiteDatabase, indexes: List<TableIndex> = tableIndexes) {
+        val tableNames = mTables.map { getTable(it).tableName }.toSet()
+        indexes.filter { index ->
+            tableNames.contains(index.tableName) && (index.addOn == null || mActiveAddOns.contains(index.addOn))
+        }.forEach { index ->
+            AppLog.d(T.DB, "Creating index ${index.name}")
+            db.execSQL(index.createStatement())
+        }
+    }
+
+    /**
+     * Creates the [indexes] and their triggers if they don't exist yet, and indexes the existing rows of their
+     * tables. As with [createIndexes], indexes of inactive add-ons and of tables that aren't part of this
+     * configuration are skipped.
+     */
+    protected fun createSearchIndexes(db: SQLiteDatabase, indexes: List<SearchIndex> = searchIndexes) {
+        val tableNames = mTables.map { getTable(it).tableName }.toSet()
+        indexes.filter { index ->
+            tableNames.contains(index.tableName) && (index.addOn == null || mActiveAddOns.contains(index.addOn))
+        }.forEach { index ->
+            AppLog.d(T.DB, "Creating search index ${index.name}")
+            index.createStatements().forEach { db.execSQL(it) }
+            db.execSQL(index.rebuildStatement())
+        }
     }
 
     private fun migrate(version: Int, script: () -> Unit) {
@@ -0,0 +1,95 @@
+package org.wordpress.android.fluxc.store
+
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
+import org.wordpress.android.fluxc.model.list.ListModel
+
+/**
+ * In-memory copy of the remote item ids of each list, keyed by [ListModel] id.
+ *
+ * Ids are kept in primitive arrays and updated with the same inserts and removals `ListStore` applies to the
+ * `ListItemModel` table, once they are committed, so a list can be recreated after an invalidation without reading all of its items back.
+ * Arrays are never modified once cached, every change replaces them, so they can be handed out without copying.
+ *
+ * Each entry is tied to the `lastModified` value its [ListModel] had when it was last updated. Entries that don't
+ * match the stored list anymore, e.g. after a fetch was started or the database was reset, are reloaded.
+ */
+internal class ListItemIdsCache {
+    private class Entry(val lastModified: String?, val ids: LongArray)
+
+    private val entries = mutableMapOf<Int, Entry>()
+
+    /**
+     * Returns the ids of the given list, loading them with [load] if they aren't cached for its current state.
+     *
+     * [load] runs without holding the lock of the cache, as it reads the database. The loaded ids are only cached if
+     * the entry of the list wasn't changed in the meantime, since they could predate that change.
+     */
+    fun get(listModel: ListModel, load: () -> LongArray): LongArray {
+        val entryBeforeLoad = synchronized(this) { entries[listModel.id] }
+        if (entryBeforeLoad != null && entryBeforeLoad.lastModified == listModel.lastModified) {
+            return entryBeforeLoad.ids
+        }
+        val ids = load()
+        synchronized(this) {
+            if (entries[listModel.id] === entryBeforeLoad) {
+                entries[listModel.id] = Entry(listModel.lastModified, ids)
+            }
+        }
+        return ids
+    }
+
+    /**
+     * Replaces the ids of the given list, e.g. once its first page is fetched.
+     */
+    @Synchronized
+    fun replace(listModel: ListModel, remoteItemIds: List<Long>) {
+        entries[listModel.id] = Entry(listModel.lastModified, remoteItemIds.distinct().toLongArray())
+    }
+
+    /**
+     * Appends ids to the given list if it's cached, ignoring the ids it already contains, just like the unique
+     * constraint of `ListItemModel` does.
+     */
+    @Synchronized
+    fun append(listModel: ListModel, remoteItemIds: List<Long>) {
+        val entry = entries[listModel.id] ?: return
+        val existingIds = entry.ids.copyOf().apply { sort() }
+        val appendedIds = LinkedHashSet<Long>()
+        remoteItemIds.forEach {
+            if (existingIds.binarySearch(it) < 0) {
+                appendedIds.add(it)
+            }
+        }
+        entries[listModel.id] = Entry(listModel.lastModified, entry.ids + appendedIds)
+    }
+
+    /**
+     * Removes ids from every cached list in [listIds].
+     */
+    @Synchronized
+    fun remove(listIds: List<Int>, remoteItemIds: List<Long>) {
+        val removedIds = remoteItemIds.toHashSet()
+        listIds.forEach { listId ->
+            val entry = entries[listId] ?: return@forEach
+            if (entry.ids.any { removedIds.contains(it) }) {
+                entries[listId] = Entry(entry.lastModified, entry.ids.filterNot { removedIds.contains(it) }
+                        .toLongArray())
+            }
+        }
+    }
+
+    @Synchronized
+    fun clear() {
+        entries.clear()
+    }
+}
+
+/**
+ * A read-only [RemoteId] view of a cached ids array, which creates the [RemoteId]s as they are accessed.
+ */
+internal class RemoteIdList(private val ids: LongArray) : AbstractList<RemoteId>() {
+    override val size: Int
+        get() = ids.size
+
+    override fun get(index: Int) = RemoteId(value = ids[index])
+}
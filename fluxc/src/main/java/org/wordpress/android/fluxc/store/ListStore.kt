@@ -18,7 +18,6 @@ import org.wordpress.android.fluxc.action.ListAction.LIST_REQUIRES_REFRESH
 import org.wordpress.android.fluxc.action.ListAction.REMOVE_ALL_LISTS
 import org.wordpress.android.fluxc.action.ListAction.REMOVE_EXPIRED_LISTS
 import org.wordpress.android.fluxc.annotations.action.Action
-import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
 import org.wordpress.android.fluxc.model.list.LIST_STATE_TIMEOUT
 import org.wordpress.android.fluxc.model.list.ListDescriptor
 import org.wordpress.android.fluxc.model.list.ListDescriptorTypeIdentifier
@@ -34,9 +33,8 @@ import org.wordpress.android.fluxc.persistence.ListItemSqlUtils
 import org.wordpress.android.fluxc.persistence.ListSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.OnListChanged.CauseOfListChange
 import org.wordpress.android.fluxc.tools.CoroutineEngine
+import org.wordpress.android.fluxc.utils.DateCodec
 import org.wordpress.android.util.AppLog
-import org.wordpress.android.util.DateTimeUtils
-import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.CoroutineContext
@@ -57,6 +55,8 @@ class ListStore @Inject constructor(
     private val coroutineEngine: CoroutineEngine,
     dispatcher: Dispatcher
 ) : Store(dispatcher) {
+    private val listItemIdsCache = ListItemIdsCache()
+
     @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? ListAction ?: return
@@ -148,7 +148,7 @@ class ListStore @Inject constructor(
         listDescriptor: LIST_DESCRIPTOR,
         dataSource: ListItemDataSourceInterface<LIST_DESCRIPTOR, ITEM_IDENTIFIER, LIST_ITEM>
     ): PagedListFactory<LIST_DESCRIPTOR, ITEM_IDENTIFIER, LIST_ITEM> {
-        val getRemoteItemIds = { getListItems(listDescriptor).map { RemoteId(value = it) } }
+        val getRemoteItemIds = { RemoteIdList(getListItemIds(listDescriptor)) }
         val getIsListFullyFetched = { getListState(listDescriptor) == FETCHED }
         return PagedListFactory(
                 createDataSource = {
@@ -162,13 +162,14 @@ class ListStore @Inject constructor(
     }
 
     /**
-     * A helper function that returns the list items for the given [ListDescriptor].
+     * A helper function that returns the remote ids of the list items for the given [ListDescriptor].
+     *
+     * Ids are read from [listItemIdsCache], which is kept up to date with the changes to the list items, so they are
+     * only read from the DB the first time and after the list is modified elsewhere.
      */
-    private fun getListItems(listDescriptor: ListDescriptor): List<Long> {
-        val listModel = listSqlUtils.getList(listDescriptor)
-        return if (listModel != null) {
-            listItemSqlUtils.getListItems(listModel.id).map { it.remoteItemId }
-        } else emptyList()
+    private fun getListItemIds(listDescriptor: ListDescriptor): LongArray {
+        val listModel = listSqlUtils.getList(listDescriptor) ?: return LongArray(0)
+        return listItemIdsCache.get(listModel) { listItemSqlUtils.getListItemIds(listModel.id) }
     }
 
     /**
@@ -232,7 +233,7 @@ class ListStore @Inject constructor(
         if (!payload.isError) {
             val db = WellSql.giveMeWritableDb()
             db.beginTransaction()
-            try {
+            val committedListModel = try {
                 if (!payload.loadedMore) {
                     deleteListItems(payload.listDescriptor)
                 }
@@ -247,9 +248,17 @@ class ListStore @Inject constructor(
                     return@map listItemModel
                 })
                 db.setTransactionSuccessful()
+                listModel
             } finally {
                 db.endTransaction()
             }
+            // The cache is only updated once the items are committed, and outside of the transaction so that the
+            // cache is never waited for while holding the database
+            if (payload.loadedMore) {
+                listItemIdsCache.append(committedListModel, payload.remoteItemIds)
+            } else {
+                listItemIdsCache.replace(committedListModel, payload.remoteItemIds)
+            }
         }
         val causeOfChange = if (payload.isError) {
             CauseOfListChange.ERROR
@@ -268,7 +277,9 @@ class ListStore @Inject constructor(
      */
     private fun handleListItemsRemoved(payload: ListItemsRemovedPayload) {
         val lists = listSqlUtils.getListsWithTypeIdentifier(payload.type)
-        listItemSqlUtils.deleteItemsFromLists(lists.map { it.id }, payload.remoteItemIds)
+        val listIds = lists.map { it.id }
+        listItemSqlUtils.deleteItemsFromLists(listIds, payload.remoteItemIds)
+        listItemIdsCache.remove(listIds, payload.remoteItemIds)
         emitChange(OnListDataInvalidated(payload.type))
     }
 
@@ -299,6 +310,7 @@ class ListStore @Inject constructor(
      */
     private fun handleRemoveExpiredLists(payload: RemoveExpiredListsPayload) {
         listSqlUtils.deleteExpiredLists(payload.expirationDuration)
+        listItemIdsCache.clear()
     }
 
     /**
@@ -308,6 +320,7 @@ class ListStore @Inject constructor(
      */
     private fun handleRemoveAllLists() {
         listSqlUtils.deleteAllLists()
+        listItemIdsCache.clear()
     }
 
     /**
@@ -341,8 +354,9 @@ class ListStore @Inject constructor(
      */
     private fun isListStateOutdated(listModel: ListModel): Boolean {
         listModel.lastModified?.let {
-            val lastModified = DateTimeUtils.dateUTCFromIso8601(it)
-            val timePassed = (Date().time - lastModified.time)
+            // An unreadable date can't tell how old the state is, so it's ignored
+            val lastModified = DateCodec.dateFromIso8601(it) ?: return true
+            val timePassed = (System.currentTimeMillis() - lastModified.time)
             return timePassed > LIST_STATE_TIMEOUT
         }
         // If a list is null, it means we have never fetched it before, so it can't be outdated
@@ -17,6 +17,7 @@ import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.MediaModel;
 import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
 import org.wordpress.android.fluxc.model.PostImmutableModel;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.StockMediaModel;
 import org.wordpress.android.fluxc.network.BaseRequest;
@@ -643,6 +644,14 @@ public class MediaStore extends Store {
         return MediaSqlUtils.searchSiteMedia(siteModel, searchTerm);
     }
 
+    /**
+     * Searches the media of the site by title, caption, description and MIME type, using the full-text search index.
+     * Every word of the search term matches as a word prefix, and results are ordered by relevance.
+     */
+    public SearchResults<MediaModel> fullTextSearchSiteMedia(SiteModel siteModel, String searchTerm) {
+        return MediaSqlUtils.fullTextSearchSiteMedia(siteModel, searchTerm);
+    }
+
     public List<MediaModel> searchSiteImages(SiteModel siteModel, String searchTerm) {
         return MediaSqlUtils.searchSiteImages(siteModel, searchTerm);
     }
@@ -0,0 +1,87 @@
+package org.wordpress.android.fluxc.store;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory progress of the media being uploaded, keyed by local media id.
+ * <p>
+ * Upload progress events are frequent, so the latest progress of each media is kept here and only written to its
+ * {@link org.wordpress.android.fluxc.model.MediaUploadModel} once per flush interval. Entries must be removed
+ * whenever the upload state of the media changes, the {@link org.wordpress.android.fluxc.model.MediaUploadModel}
+ * is the source of truth for media that aren't tracked.
+ */
+class MediaUploadProgressRegistry {
+    private static class Entry {
+        float mProgress;
+        long mLastFlushTime;
+
+        Entry(float progress, long lastFlushTime) {
+            mProgress = progress;
+            mLastFlushTime = lastFlushTime;
+        }
+    }
+
+    private final Map<Integer, Entry> mEntries = new HashMap<>();
+    private long mFlushIntervalMs;
+
+    MediaUploadProgressRegistry(long flushIntervalMs) {
+        mFlushIntervalMs = flushIntervalMs;
+    }
+
+    synchronized void setFlushInterval(long flushIntervalMs) {
+        mFlushIntervalMs = flushIntervalMs;
+    }
+
+    synchronized boolean isTracked(int localMediaId) {
+        return mEntries.containsKey(localMediaId);
+    }
+
+    /**
+     * Starts tracking the given media, with the progress currently stored for it.
+     */
+    synchronized void track(int localMediaId, float storedProgress) {
+        mEntries.put(localMediaId, new Entry(storedProgress, SystemClock.elapsedRealtime()));
+    }
+
+    synchronized @Nullable Float getProgress(int localMediaId) {
+        Entry entry = mEntries.get(localMediaId);
+        return entry != null ? entry.mProgress : null;
+    }
+
+    /**
+     * Records a new progress value for a tracked media. Progress never goes backwards.
+     *
+     * @return true if the progress changed and the flush interval has elapsed since it was last stored, in which
+     * case the caller is expected to store it
+     */
+    synchronized boolean updateProgress(int localMediaId, float progress) {
+        Entry entry = mEntries.get(localMediaId);
+        if (entry == null || progress <= entry.mProgress) {
+            return false;
+        }
+
+        entry.mProgress = progress;
+        long now = SystemClock.elapsedRealtime();
+        if (now - entry.mLastFlushTime < mFlushIntervalMs) {
+            return false;
+        }
+        entry.mLastFlushTime = now;
+        return true;
+    }
+
+    synchronized void remove(int localMediaId) {
+        mEntries.remove(localMediaId);
+    }
+
+    synchronized void removeAll(Collection<Integer> localMediaIds) {
+        for (Integer localMediaId : localMediaIds) {
+            mEntries.remove(localMediaId);
+        }
+    }
+}
@@ -376,23 +376,24 @@ constructor(
         // Create a mutable copy of freshly fetched notifications map
         val notifsToFetch = payload.hashesMap.toMutableMap()
 
-        // Pull cached notifications from the database and build a map of remoteNoteId to noteHash
-        val existingNotifsByRemoteIdMap = notificationSqlUtils
-                .getNotifications().associateBy { it.remoteNoteId }.toMap()
+        // Pull the remoteNoteId to noteHash map of the cached notifications from the database
+        val existingNoteHashesByRemoteId = notificationSqlUtils.getNotificationHashes()
 
         // Scrub the newly fetched list against the cached db records. Remove any entries for records that
         // do not require an update from the remote API
-        existingNotifsByRemoteIdMap.entries.forEach { cached ->
+        val notifsToDelete = mutableListOf<Long>()
+        existingNoteHashesByRemoteId.forEach { (remoteNoteId, cachedNoteHash) ->
             // Compare new note_hash values against cached values. Delete from db if
             // cached notification not present in new list
-            notifsToFetch[cached.key]?.let { newNoteHash ->
-                if (cached.value.noteHash == newNoteHash) {
+            notifsToFetch[remoteNoteId]?.let { newNoteHash ->
+                if (cachedNoteHash == newNoteHash) {
                     // Notifications are identical. No update needed, remove from
                     // list of notifs to fetch
-                    notifsToFetch.remove(cached.key)
+                    notifsToFetch.remove(remoteNoteId)
                 }
-            } ?: notificationSqlUtils.deleteNotificationByRemoteId(cached.key) // Delete notification from the db
+            } ?: notifsToDelete.add(remoteNoteId)
         }
+        notificationSqlUtils.deleteNotificationsByRemoteIds(notifsToDelete)
 
         // Fetch new and updated notifications from the remote api
         notificationRestClient.fetchNotifications(notifsToFetch.keys.toList())
@@ -404,7 +405,7 @@ constructor(
             OnNotificationChanged(0).also { it.error = payload.error }
         } else {
             // Save notifications to the database
-            val rowsAffected = payload.notifs.sumBy { notificationSqlUtils.insertOrUpdateNotification(it) }
+            val rowsAffected = notificationSqlUtils.insertOrUpdateNotifications(payload.notifs)
 
             OnNotificationChanged(rowsAffected)
         }.apply {
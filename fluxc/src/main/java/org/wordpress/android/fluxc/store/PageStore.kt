@@ -5,17 +5,25 @@ import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.generated.PostActionBuilder
 import org.wordpress.android.fluxc.model.CauseOfOnPostChanged
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId
 import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.SearchResults
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.page.PageHierarchy
 import org.wordpress.android.fluxc.model.page.PageModel
+import org.wordpress.android.fluxc.model.page.PageSummary
 import org.wordpress.android.fluxc.model.post.PostStatus
+import org.wordpress.android.fluxc.model.post.PostSummary
 import org.wordpress.android.fluxc.network.utils.CurrentDateUtils
+import org.wordpress.android.fluxc.persistence.FullTextSearch
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.fluxc.store.PageStore.OnPageChanged.Error
 import org.wordpress.android.fluxc.store.PageStore.UploadRequestResult.ERROR_NON_EXISTING_PAGE
 import org.wordpress.android.fluxc.store.PageStore.UploadRequestResult.SUCCESS
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsPayload
 import org.wordpress.android.fluxc.store.PostStore.OnPostChanged
+import org.wordpress.android.fluxc.store.PostStore.OnPostUploaded
 import org.wordpress.android.fluxc.store.PostStore.PostError
 import org.wordpress.android.fluxc.store.PostStore.PostErrorType.UNKNOWN_POST
 import org.wordpress.android.fluxc.store.PostStore.RemotePostPayload
@@ -24,7 +32,10 @@ import org.wordpress.android.fluxc.tools.CoroutineEngine
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.DateTimeUtils
 import java.util.Calendar
+import java.util.Collections
 import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.Continuation
@@ -57,6 +68,17 @@ class PageStore @Inject constructor(
     private var lastFetchTime: Calendar? = null
     private var fetchingSite: SiteModel? = null
 
+    // Page trees by local site id, and the local ids of the pages changed since they were last updated. The main
+    // thread records changes and drops trees without waiting, the trees are only built and updated off the main
+    // thread, under pageHierarchiesLock.
+    private val pageHierarchies = ConcurrentHashMap<Int, PageHierarchy>()
+    private val changedPageIds: MutableSet<Int> = Collections.newSetFromMap(ConcurrentHashMap<Int, Boolean>())
+    private val pageHierarchiesLock = Any()
+    // Incremented whenever the trees are dropped, so a tree built from the pages read before isn't kept
+    private val pageHierarchiesGeneration = AtomicInteger()
+    // The WellSqlConfig.resetCount the trees were built at, as local ids are reused once the tables are reset
+    @Volatile private var pageHierarchiesResetCount = WellSqlConfig.resetCount
+
     init {
         dispatcher.register(this)
     }
@@ -65,7 +87,7 @@ class PageStore @Inject constructor(
             coroutineEngine.withDefaultContext(AppLog.T.POSTS, this, "getPageByLocalId") {
                 val post = postStore.getPostByLocalPostId(pageId)
                 return@withDefaultContext post?.let {
-                    PageModel(it, site, getPageByRemoteId(it.parentId, site))
+                    PageModel(it, site, getParentPage(it, site))
                 }
             }
 
@@ -76,7 +98,7 @@ class PageStore @Inject constructor(
                 }
                 val post = postStore.getPostByRemotePostId(remoteId, site)
                 return@withDefaultContext post?.let {
-                    PageModel(it, site, getPageByRemoteId(it.parentId, site))
+                    PageModel(it, site, getParentPage(it, site))
                 }
             }
 
@@ -88,6 +110,96 @@ class PageStore @Inject constructor(
                 }
             }
 
+    /**
+     * Searches the pages of the site by title and excerpt, using the full-text search index. Every word of the
+     * search term matches as a word prefix, and results are ordered by relevance. Unlike [search], only the ids of
+     * the matching pages are read up front, pages are loaded as they are requested from the results.
+     */
+    fun fullTextSearchPages(site: SiteModel, searchQuery: String): SearchResults<PageModel> {
+        val ids = postSqlUtils.fullTextSearchPosts(site, searchQuery, true).ids
+        return SearchResults(ids) { pageIds ->
+            FullTextSearch.loadModels(PostModel::class.java, pageIds).map {
+                PageModel(it, site, getParentPage(it, site))
+            }
+        }
+    }
+
+    /**
+     * Returns the page tree of the site. The tree is built once from the hierarchy columns of the pages, without
+     * loading their content, and is then kept up to date with the changes [PostStore] reports.
+     */
+    suspend fun getPageHierarchy(site: SiteModel): PageHierarchy =
+            coroutineEngine.withDefaultContext(AppLog.T.POSTS, this, "getPageHierarchy") {
+                getCachedPageHierarchy(site)
+            }
+
+    private fun getCachedPageHierarchy(site: SiteModel): PageHierarchy = synchronized(pageHierarchiesLock) {
+        val resetCount = WellSqlConfig.resetCount
+        if (pageHierarchiesResetCount != resetCount) {
+            pageHierarchiesResetCount = resetCount
+            clearPageHierarchies()
+        }
+        applyPageChanges()
+        pageHierarchies[site.id]?.let { return it }
+
+        val generation = pageHierarchiesGeneration.get()
+        val hierarchy = PageHierarchy(postStore.getPageNodesForSite(site))
+        val publishedHierarchy = pageHierarchies.putIfAbsent(site.id, hierarchy) ?: hierarchy
+        if (pageHierarchiesGeneration.get() != generation) {
+            // The trees were dropped while this one was being built, from pages that may have changed since
+            pageHierarchies.remove(site.id, publishedHierarchy)
+        }
+        publishedHierarchy
+    }
+
+    private fun applyPageChanges() {
+        if (changedPageIds.isEmpty()) {
+            return
+        }
+        // Pages changed from now on are kept for the next time
+        val pageIds = changedPageIds.toList()
+        changedPageIds.removeAll(pageIds)
+        if (pageHierarchies.isNotEmpty()) {
+            val changedNodes = postStore.getPageNodesByLocalPageIds(pageIds)
+            pageHierarchies.values.forEach { hierarchy -> pageIds.forEach { hierarchy.remove(it) } }
+            changedNodes.forEach { pageHierarchies[it.localSiteId]?.put(it) }
+        }
+    }
+
+    private fun onPageChanged(localPageId: Int) {
+        changedPageIds.add(localPageId)
+    }
+
+    private fun clearPageHierarchies() {
+        pageHierarchiesGeneration.incrementAndGet()
+        pageHierarchies.clear()
+        changedPageIds.clear()
+    }
+
+    /**
+     * Loads the ancestors of the page at once, using the page tree of the site to find them. Parents that aren't in
+     * the tree yet are loaded one level at a time.
+     */
+    private fun getParentPage(post: PostModel, site: SiteModel): PageModel? {
+        if (post.parentId <= 0L) {
+            return null
+        }
+        val hierarchy = getCachedPageHierarchy(site)
+        val parentNode = hierarchy.getPageByRemoteId(post.parentId)
+                ?: return postStore.getPostByRemotePostId(post.parentId, site)?.let {
+                    PageModel(it, site, getParentPage(it, site))
+                }
+        val ancestorNodes = listOf(parentNode) + hierarchy.getAncestors(parentNode)
+        val ancestorPosts = postStore.getPostsByLocalOrRemotePostIds(ancestorNodes.map { LocalId(it.pageId) }, site)
+                .associateBy { it.id }
+        var parent: PageModel? = null
+        for (node in ancestorNodes.asReversed()) {
+            val ancestorPost = ancestorPosts[node.pageId] ?: return null
+            parent = PageModel(ancestorPost, site, parent)
+        }
+        return parent
+    }
+
     suspend fun updatePageInDb(page: PageModel): OnPageChanged = suspendCoroutine { cont ->
         val post = postStore.getPostByRemotePostId(page.remoteId, page.site)
                 ?: postStore.getPostByLocalPostId(page.pageId)
@@ -123,6 +235,10 @@ class PageStore @Inject constructor(
         ERROR_NON_EXISTING_PAGE
     }
 
+    /**
+     * Returns the pages of the site with their parents. Every page is loaded with its content, as [PageModel] holds
+     * the full [PostModel]; lists that don't need the content should use [getPageSummariesFromDb].
+     */
     suspend fun getPagesFromDb(site: SiteModel): List<PageModel> {
         // We don't want to return data from the database when it's still being loaded
         if (postLoadContinuations.isNotEmpty()) {
@@ -153,8 +269,9 @@ class PageStore @Inject constructor(
                     }
                     .associateBy { it.remotePostId }
 
-            return@withDefaultContext posts.map { getPageFromPost(it.key, site, posts, false) }
-                    .filterNotNull()
+            // Pages are shared by all their descendants, instead of being created again for each of them
+            val pages = HashMap<Long, PageModel>(posts.size)
+            return@withDefaultContext posts.keys.map { getPageFromPost(it, site, posts, pages, emptySet()) }
                     .sortedBy { it.remoteId }
         }
     }
@@ -163,13 +280,60 @@ class PageStore @Inject constructor(
         postId: Long,
         site: SiteModel,
         posts: Map<Long, PostModel>,
-        skipLocalPages: Boolean = true
-    ): PageModel? {
-        if (skipLocalPages && (postId <= 0L || !posts.containsKey(postId))) {
-            return null
+        pages: MutableMap<Long, PageModel>,
+        descendantIds: Set<Long>
+    ): PageModel {
+        pages[postId]?.let { return it }
+        val post = posts.getValue(postId)
+        // A parent that isn't loaded, or that is also a descendant of the page, is left out
+        val parentId = post.parentId
+        val parent = if (parentId > 0L && posts.containsKey(parentId) && !descendantIds.contains(parentId)) {
+            getPageFromPost(parentId, site, posts, pages, descendantIds + postId)
+        } else {
+            null
+        }
+        return PageModel(post, site, parent).also { pages[postId] = it }
+    }
+
+    /**
+     * Returns the pages of the site with their parents, in the same order as [getPagesFromDb], without loading their
+     * content. The parents are taken from the [PageHierarchy] of the site.
+     */
+    suspend fun getPageSummariesFromDb(site: SiteModel): List<PageSummary> {
+        // We don't want to return data from the database when it's still being loaded
+        if (postLoadContinuations.isNotEmpty()) {
+            return listOf()
+        }
+        return coroutineEngine.withDefaultContext(AppLog.T.POSTS, this, "getPageSummariesFromDb") {
+            val hierarchy = getCachedPageHierarchy(site)
+            val summaries = postStore.getPageSummariesForSite(site)
+                    .filter { PAGE_TYPES.contains(it.postStatus) }
+                    .associateBy { if (it.remotePostId == 0L) -it.id.toLong() else it.remotePostId }
+
+            val pages = HashMap<Long, PageSummary>(summaries.size)
+            return@withDefaultContext summaries.keys
+                    .map { getPageSummary(it, hierarchy, summaries, pages, emptySet()) }
+                    .sortedBy { it.remoteId }
+        }
+    }
+
+    private fun getPageSummary(
+        remoteId: Long,
+        hierarchy: PageHierarchy,
+        summaries: Map<Long, PostSummary>,
+        pages: MutableMap<Long, PageSummary>,
+        descendantIds: Set<Long>
+    ): PageSummary {
+        pages[remoteId]?.let { return it }
+        val summary = summaries.getValue(remoteId)
+        // A parent that isn't loaded, or that is also a descendant of the page, is left out
+        val parentId = hierarchy.getPageByLocalId(summary.id)?.parentId ?: 0L
+        val parent = if (parentId > 0L && summaries.containsKey(parentId) && !descendantIds.contains(parentId)) {
+            getPageSummary(parentId, hierarchy, summaries, pages, descendantIds + remoteId)
+        } else {
+            null
         }
-        val post = posts[postId]!!
-        return PageModel(post, site, getPageFromPost(post.parentId, site, posts))
+        return PageSummary(summary, parent).also { pages[remoteId] = it }
     }
 
     suspend fun deletePageFromServer(page: PageModel): OnPageChanged = suspendCoroutine { cont ->
@@ -243,8 +407,9 @@ class PageStore @Inject constructor(
     @SuppressWarnings("unused")
     @Subscribe(threadMode = ThreadMode.MAIN)
     fun onPostChanged(event: OnPostChanged) {
-        when (event.causeOfChange) {
+        when (val causeOfChange = event.causeOfChange) {
             is CauseOfOnPostChanged.FetchPages -> {
+                clearPageHierarchies()
                 if (event.canLoadMore && fetchingSite != null) {
                     fetchPages(fetchingSite!!, true)
                 } else {
@@ -255,18 +420,30 @@ class PageStore @Inject constructor(
                 }
             }
             is CauseOfOnPostChanged.DeletePost -> {
+                onPageChanged(causeOfChange.localPostId)
                 deletePostContinuation?.resume(event.toOnPageChangedEvent())
                 deletePostContinuation = null
             }
             is CauseOfOnPostChanged.UpdatePost -> {
+                onPageChanged(causeOfChange.localPostId)
                 updatePostContinuation?.resume(event.toOnPageChangedEvent())
                 updatePostContinuation = null
             }
+            is CauseOfOnPostChanged.RestorePost -> onPageChanged(causeOfChange.localPostId)
+            is CauseOfOnPostChanged.RemovePost -> onPageChanged(causeOfChange.localPostId)
+            is CauseOfOnPostChanged.RemoveAllPosts -> clearPageHierarchies()
             else -> {
             }
         }
     }
 
+    @SuppressWarnings("unused")
+    @Subscribe(threadMode = ThreadMode.MAIN)
+    fun onPostUploaded(event: OnPostUploaded) {
+        // Uploading a local page gives it the remote id its children refer to
+        event.post?.let { onPageChanged(it.id) }
+    }
+
     private fun PostModel.updatePageData(page: PageModel) {
         this.setId(page.pageId)
         this.setTitle(page.title)
@@ -24,7 +24,11 @@ import org.wordpress.android.fluxc.persistence.PluginSqlUtils;
 import org.wordpress.android.util.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -76,6 +80,15 @@ public class PluginStore extends Store {
         }
     }
 
+    @SuppressWarnings("WeakerAccess")
+    public static class FetchWPOrgPluginsPayload extends Payload<BaseNetworkError> {
+        public List<String> pluginSlugs;
+
+        public FetchWPOrgPluginsPayload(List<String> pluginSlugs) {
+            this.pluginSlugs = pluginSlugs;
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class InstallSitePluginPayload extends Payload<BaseNetworkError> {
         public SiteModel site;
@@ -545,6 +558,8 @@ public class PluginStore extends Store {
 
     private final PluginRestClient mPluginRestClient;
     private final PluginWPOrgClient mPluginWPOrgClient;
+    // Slugs of the WP.org plugins being fetched with FETCH_WPORG_PLUGINS, so they are only requested once
+    private final Set<String> mWPOrgPluginSlugsInFlight = new HashSet<>();
 
     @Inject
     public PluginStore(Dispatcher dispatcher, PluginRestClient pluginRestClient, PluginWPOrgClient pluginWPOrgClient) {
@@ -579,6 +594,9 @@ public class PluginStore extends Store {
             case FETCH_WPORG_PLUGIN:
                 fetchWPOrgPlugin((String) action.getPayload());
                 break;
+            case FETCH_WPORG_PLUGINS:
+                fetchWPOrgPlugins((FetchWPOrgPluginsPayload) action.getPayload());
+                break;
             case INSTALL_SITE_PLUGIN:
                 installSitePlugin((InstallSitePluginPayload) action.getPayload());
                 break;
@@ -624,9 +642,10 @@ public class PluginStore extends Store {
         }
         List<ImmutablePluginModel> immutablePlugins = new ArrayList<>();
         List<WPOrgPluginModel> wpOrgPlugins = PluginSqlUtils.getWPOrgPluginsForDirectory(type);
+        Map<String, SitePluginModel> sitePluginsBySlug =
+                PluginSqlUtils.getSitePluginsBySlug(site, slugsOfWPOrgPlugins(wpOrgPlugins));
         for (WPOrgPluginModel wpOrgPlugin : wpOrgPlugins) {
-            String slug = wpOrgPlugin.getSlug();
-            SitePluginModel sitePlugin = PluginSqlUtils.getSitePluginBySlug(site, slug);
+            SitePluginModel sitePlugin = sitePluginsBySlug.get(wpOrgPlugin.getSlug());
             immutablePlugins.add(ImmutablePluginModel.newInstance(sitePlugin, wpOrgPlugin));
         }
         return immutablePlugins;
@@ -641,17 +660,35 @@ public class PluginStore extends Store {
     private @NonNull List<ImmutablePluginModel> getSitePlugins(@NonNull SiteModel site) {
         List<ImmutablePluginModel> immutablePlugins = new ArrayList<>();
         List<SitePluginModel> sitePlugins = PluginSqlUtils.getSitePlugins(site);
+        List<String> slugs = new ArrayList<>(sitePlugins.size());
+        for (SitePluginModel sitePluginModel : sitePlugins) {
+            slugs.add(sitePluginModel.getSlug());
+        }
+        Map<String, WPOrgPluginModel> wpOrgPluginsBySlug = PluginSqlUtils.getWPOrgPluginsBySlug(slugs);
+        List<String> missingSlugs = new ArrayList<>();
         for (SitePluginModel sitePluginModel : sitePlugins) {
             String slug = sitePluginModel.getSlug();
-            WPOrgPluginModel wpOrgPluginModel = PluginSqlUtils.getWPOrgPluginBySlug(slug);
+            WPOrgPluginModel wpOrgPluginModel = wpOrgPluginsBySlug.get(slug);
             if (wpOrgPluginModel == null) {
-                mDispatcher.dispatch(PluginActionBuilder.newFetchWporgPluginAction(slug));
+                missingSlugs.add(slug);
             }
             immutablePlugins.add(ImmutablePluginModel.newInstance(sitePluginModel, wpOrgPluginModel));
         }
+        if (!missingSlugs.isEmpty()) {
+            mDispatcher.dispatch(PluginActionBuilder.newFetchWporgPluginsAction(
+                    new FetchWPOrgPluginsPayload(missingSlugs)));
+        }
         return immutablePlugins;
     }
 
+    private static @NonNull List<String> slugsOfWPOrgPlugins(@NonNull List<WPOrgPluginModel> wpOrgPlugins) {
+        List<String> slugs = new ArrayList<>(wpOrgPlugins.size());
+        for (WPOrgPluginModel wpOrgPlugin : wpOrgPlugins) {
+            slugs.add(wpOrgPlugin.getSlug());
+        }
+        return slugs;
+    }
+
     // Remote actions
 
     private void configureSitePlugin(ConfigureSitePluginPayload payload) {
@@ -707,6 +744,21 @@ public class PluginStore extends Store {
         mPluginWPOrgClient.fetchWPOrgPlugin(pluginSlug);
     }
 
+    private void fetchWPOrgPlugins(FetchWPOrgPluginsPayload payload) {
+        List<String> slugsToFetch = new ArrayList<>();
+        synchronized (mWPOrgPluginSlugsInFlight) {
+            for (String slug : payload.pluginSlugs) {
+                if (slug != null && mWPOrgPluginSlugsInFlight.add(slug)) {
+                    slugsToFetch.add(slug);
+                }
+            }
+        }
+        for (int i = 0; i < slugsToFetch.size(); i += PluginWPOrgClient.FETCH_WPORG_PLUGINS_MAX_SLUGS) {
+            int end = Math.min(i + PluginWPOrgClient.FETCH_WPORG_PLUGINS_MAX_SLUGS, slugsToFetch.size());
+            mPluginWPOrgClient.fetchWPOrgPlugins(new ArrayList<>(slugsToFetch.subList(i, end)));
+        }
+    }
+
     private void installSitePlugin(InstallSitePluginPayload payload) {
         if (payload.site.isUsingWpComRestApi() && payload.site.isJetpackConnected()) {
             mPluginRestClient.installSitePlugin(payload.site, payload.slug);
@@ -798,6 +850,9 @@ public class PluginStore extends Store {
     }
 
     private void fetchedWPOrgPlugin(FetchedWPOrgPluginPayload payload) {
+        synchronized (mWPOrgPluginSlugsInFlight) {
+            mWPOrgPluginSlugsInFlight.remove(payload.pluginSlug);
+        }
         OnWPOrgPluginFetched event = new OnWPOrgPluginFetched(payload.pluginSlug);
         if (payload.isError()) {
             event.error = payload.error;
@@ -833,11 +888,13 @@ public class PluginStore extends Store {
             event.canLoadMore = payload.canLoadMore;
             PluginSqlUtils.insertOrUpdateWPOrgPluginList(payload.plugins);
             List<ImmutablePluginModel> immutablePluginList = new ArrayList<>();
+            Map<String, SitePluginModel> sitePluginsBySlug = new HashMap<>();
+            if (payload.site != null) {
+                sitePluginsBySlug = PluginSqlUtils.getSitePluginsBySlug(payload.site,
+                        slugsOfWPOrgPlugins(payload.plugins));
+            }
             for (WPOrgPluginModel wpOrgPlugin : payload.plugins) {
-                SitePluginModel sitePlugin = null;
-                if (payload.site != null) {
-                    sitePlugin = PluginSqlUtils.getSitePluginBySlug(payload.site, wpOrgPlugin.getSlug());
-                }
+                SitePluginModel sitePlugin = sitePluginsBySlug.get(wpOrgPlugin.getSlug());
                 immutablePluginList.add(ImmutablePluginModel.newInstance(sitePlugin, wpOrgPlugin));
             }
             event.plugins = immutablePluginList;
@@ -29,12 +29,15 @@ import org.wordpress.android.fluxc.model.LocalOrRemoteId;
 import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId;
 import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.fluxc.model.PostsModel;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.list.ListOrder;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForXmlRpcSite;
+import org.wordpress.android.fluxc.model.page.PageHierarchy.PageNode;
 import org.wordpress.android.fluxc.model.post.PostStatus;
+import org.wordpress.android.fluxc.model.post.PostSummary;
 import org.wordpress.android.fluxc.model.revisions.Diff;
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel;
 import org.wordpress.android.fluxc.model.revisions.LocalDiffType;
@@ -68,6 +71,8 @@ import javax.inject.Singleton;
 @Singleton
 public class PostStore extends Store {
     public static final int NUM_POSTS_PER_FETCH = 20;
+    // Maximum number of posts fetched with a single request when refreshing the changed posts of a post list
+    public static final int NUM_CHANGED_POSTS_PER_FETCH = 20;
 
     public static final List<PostStatus> DEFAULT_POST_STATUS_LIST = Collections.unmodifiableList(Arrays.asList(
             PostStatus.DRAFT,
@@ -218,6 +223,22 @@ public class PostStore extends Store {
         }
     }
 
+    /**
+     * Response to a batched fetch of several posts of a site, see {@link PostStore#NUM_CHANGED_POSTS_PER_FETCH}.
+     */
+    public static class FetchChangedPostsResponsePayload extends Payload<PostError> {
+        public @NonNull SiteModel site;
+        public @NonNull List<PostModel> requestedPosts;
+        public @NonNull List<PostModel> posts = Collections.emptyList();
+        // Errors of individual posts, by remote post id
+        public @NonNull Map<Long, PostError> postErrors = new HashMap<>();
+
+        public FetchChangedPostsResponsePayload(@NonNull List<PostModel> requestedPosts, @NonNull SiteModel site) {
+            this.requestedPosts = requestedPosts;
+            this.site = site;
+        }
+    }
+
     public static class FetchRevisionsResponsePayload extends Payload<BaseNetworkError> {
         public PostModel post;
         public RevisionsModel revisionsModel;
@@ -454,6 +475,44 @@ public class PostStore extends Store {
         return mPostSqlUtils.getPostsForSite(site, true);
     }
 
+    /**
+     * Returns the list columns of all posts in the store for the given site, without loading their content.
+     * The full post is loaded with {@link #getPostByLocalPostId(int)} when it's opened.
+     */
+    public List<PostSummary> getPostSummariesForSite(SiteModel site) {
+        return mPostSqlUtils.getPostSummariesForSite(site, false);
+    }
+
+    /**
+     * Returns the list columns of all pages in the store for the given site, without loading their content.
+     * The full page is loaded with {@link #getPostByLocalPostId(int)} when it's opened.
+     */
+    public List<PostSummary> getPageSummariesForSite(SiteModel site) {
+        return mPostSqlUtils.getPostSummariesForSite(site, true);
+    }
+
+    /**
+     * Returns the hierarchy data of all pages in the store for the given site, without loading their content.
+     */
+    public List<PageNode> getPageNodesForSite(SiteModel site) {
+        return mPostSqlUtils.getPageNodes(site.getId());
+    }
+
+    /**
+     * Returns the hierarchy data of the pages with the given local ids, without loading their content.
+     */
+    public List<PageNode> getPageNodesByLocalPageIds(List<Integer> localPageIds) {
+        return mPostSqlUtils.getPageNodesByLocalIds(localPageIds);
+    }
+
+    /**
+     * Searches the posts of the site by title and excerpt, using the full-text search index. Every word of the
+     * search term matches as a word prefix, and results are ordered by relevance.
+     */
+    public SearchResults<PostModel> fullTextSearchPosts(SiteModel site, String searchTerm) {
+        return mPostSqlUtils.fullTextSearchPosts(site, searchTerm, false);
+    }
+
     /**
      * Returns the number of posts in the store for the given site.
      */
@@ -533,6 +592,17 @@ public class PostStore extends Store {
         return mPostSqlUtils.getPostsByLocalOrRemotePostIds(localOrRemoteIds, site.getId());
     }
 
+    /**
+     * Same as {@link #getPostsByLocalOrRemotePostIds(List, SiteModel)}, but only loads the list columns of the posts.
+     */
+    public List<PostSummary> getPostSummariesByLocalOrRemotePostIds(List<? extends LocalOrRemoteId> localOrRemoteIds,
+                                                                    SiteModel site) {
+        if (localOrRemoteIds == null || site == null) {
+            return Collections.emptyList();
+        }
+        return mPostSqlUtils.getPostSummariesByLocalOrRemotePostIds(localOrRemoteIds, site.getId());
+    }
+
     /**
      * Given a list of remote IDs for a post and the site to which it belongs, returns the posts as map where the
      * key is the remote post ID and the value is the {@link PostModel}.
@@ -646,6 +716,9 @@ public class PostStore extends Store {
             case FETCHED_POST:
                 handleFetchSinglePostCompleted((FetchPostResponsePayload) action.getPayload());
                 break;
+            case FETCHED_CHANGED_POSTS:
+                handleFetchedChangedPosts((FetchChangedPostsResponsePayload) action.getPayload());
+                break;
             case FETCHED_POST_STATUS:
                 handleFetchPostStatusCompleted((FetchPostStatusResponsePayload) action.getPayload());
                 break;
@@ -766,6 +839,7 @@ public class PostStore extends Store {
                 postIds.add(item.remotePostId);
             }
             Map<Long, PostModel> posts = getPostsByRemotePostIds(postIds, site);
+            List<PostModel> changedPosts = new ArrayList<>();
             for (PostListItem item : payload.postListItems) {
                 PostModel post = posts.get(item.remotePostId);
                 if (post == null) {
@@ -803,7 +877,7 @@ public class PostStore extends Store {
                     // Dispatch a fetch action for the posts that are changed, but not for posts with local changes
                     // as we'd otherwise overwrite and lose these local changes forever
                     if (!post.isLocallyChanged()) {
-                        mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, site)));
+                        changedPosts.add(post);
                     } else if (isPostChanged) {
                         // at this point we know there's a potential version conflict (the post has been modified
                         // both locally and on the remote), so flag the local version of the Post so the
@@ -821,6 +895,7 @@ public class PostStore extends Store {
                     }
                 }
             }
+            fetchChangedPosts(changedPosts, site);
         }
 
         FetchedListItemsPayload fetchedListItemsPayload =
@@ -829,6 +904,57 @@ public class PostStore extends Store {
         mDispatcher.dispatch(ListActionBuilder.newFetchedListItemsAction(fetchedListItemsPayload));
     }
 
+    /**
+     * Fetches the given posts of the site, {@link #NUM_CHANGED_POSTS_PER_FETCH} posts per request.
+     */
+    private void fetchChangedPosts(List<PostModel> posts, SiteModel site) {
+        for (int i = 0; i < posts.size(); i += NUM_CHANGED_POSTS_PER_FETCH) {
+            List<PostModel> chunk =
+                    new ArrayList<>(posts.subList(i, Math.min(i + NUM_CHANGED_POSTS_PER_FETCH, posts.size())));
+            if (site.isUsingWpComRestApi()) {
+                mPostRestClient.fetchPostsByRemoteIds(chunk, site);
+            } else {
+                mPostXMLRPCClient.fetchPostsByRemoteIds(chunk, site);
+            }
+        }
+    }
+
+    private void handleFetchedChangedPosts(FetchChangedPostsResponsePayload payload) {
+        if (payload.isError()) {
+            for (PostModel post : payload.requestedPosts) {
+                emitFetchPostError(post, payload.error);
+            }
+            return;
+        }
+
+        for (PostModel post : payload.requestedPosts) {
+            PostError error = payload.postErrors.get(post.getRemotePostId());
+            if (error != null) {
+                emitFetchPostError(post, error);
+            }
+        }
+        if (payload.posts.isEmpty()) {
+            return;
+        }
+
+        int[] rowsAffected = mPostSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(payload.posts);
+        for (int i = 0; i < payload.posts.size(); i++) {
+            PostModel post = payload.posts.get(i);
+            CauseOfOnPostChanged causeOfChange =
+                    new CauseOfOnPostChanged.UpdatePost(post.getId(), post.getRemotePostId());
+            emitChange(new OnPostChanged(causeOfChange, rowsAffected[i]));
+        }
+        mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(
+                PostListDescriptor.calculateTypeIdentifier(payload.site.getId())));
+    }
+
+    private void emitFetchPostError(PostModel post, PostError error) {
+        OnPostChanged event = new OnPostChanged(
+                new CauseOfOnPostChanged.UpdatePost(post.getId(), post.getRemotePostId()), 0);
+        event.error = error;
+        emitChange(event);
+    }
+
     private void fetchPosts(FetchPostsPayload payload, boolean pages) {
         int offset = 0;
         if (payload.loadMore) {
@@ -948,10 +1074,7 @@ public class PostStore extends Store {
         }
 
         if (payload.isError()) {
-            OnPostChanged event = new OnPostChanged(
-                    new CauseOfOnPostChanged.UpdatePost(payload.post.getId(), payload.post.getRemotePostId()), 0);
-            event.error = payload.error;
-            emitChange(event);
+            emitFetchPostError(payload.post, payload.error);
         } else {
             updatePost(payload.post, false);
         }
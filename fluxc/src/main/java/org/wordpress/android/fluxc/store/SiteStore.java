@@ -21,6 +21,7 @@ import org.wordpress.android.fluxc.model.JetpackCapability;
 import org.wordpress.android.fluxc.model.PlanModel;
 import org.wordpress.android.fluxc.model.PostFormatModel;
 import org.wordpress.android.fluxc.model.RoleModel;
+import org.wordpress.android.fluxc.model.SearchResults;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.SitesModel;
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError;
@@ -42,6 +43,7 @@ import org.wordpress.android.fluxc.network.xmlrpc.site.SiteXMLRPCClient;
 import org.wordpress.android.fluxc.persistence.PostSqlUtils;
 import org.wordpress.android.fluxc.persistence.SiteSqlUtils;
 import org.wordpress.android.fluxc.persistence.SiteSqlUtils.DuplicateSiteException;
+import org.wordpress.android.fluxc.persistence.SiteSqlUtils.InsertOrUpdateSitesResult;
 import org.wordpress.android.fluxc.utils.SiteErrorUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
@@ -1314,6 +1316,15 @@ public class SiteStore extends Store {
         return SiteSqlUtils.getSitesByNameOrUrlMatching(searchString);
     }
 
+    /**
+     * Searches sites by name and url, using the full-text search index. Every word of the search string matches as
+     * a word prefix, and results are ordered by relevance.
+     */
+    @NonNull
+    public SearchResults<SiteModel> fullTextSearchSites(@NonNull String searchString) {
+        return SiteSqlUtils.fullTextSearchSites(searchString);
+    }
+
     /**
      * Returns sites accessed via WPCom REST API (WPCom sites or Jetpack sites connected via WPCom REST API) with a
      * name or url matching the search string.
@@ -1780,22 +1791,13 @@ public class SiteStore extends Store {
     }
 
     private UpdateSitesResult createOrUpdateSites(SitesModel sites) {
+        // The REST API doesn't return info about the editor(s). The current values available on the DB are copied
+        // while saving, otherwise the apps would receive an updated site without editor prefs set.
+        // The apps will dispatch the action to update editor(s) when necessary.
+        InsertOrUpdateSitesResult sqlResult = SiteSqlUtils.insertOrUpdateSites(sites.getSites());
         UpdateSitesResult result = new UpdateSitesResult();
-        for (SiteModel site : sites.getSites()) {
-            try {
-                // The REST API doesn't return info about the editor(s). Make sure to copy current values
-                // available on the DB. Otherwise the apps will receive an update site without editor prefs set.
-                // The apps will dispatch the action to update editor(s) when necessary.
-                SiteModel siteFromDB = getSiteBySiteId(site.getSiteId());
-                if (siteFromDB != null) {
-                    site.setMobileEditor(siteFromDB.getMobileEditor());
-                    site.setWebEditor(siteFromDB.getWebEditor());
-                }
-                result.rowsAffected += SiteSqlUtils.insertOrUpdateSite(site);
-            } catch (DuplicateSiteException caughtException) {
-                result.duplicateSiteFound = true;
-            }
-        }
+        result.rowsAffected = sqlResult.rowsAffected;
+        result.duplicateSiteFound = sqlResult.duplicateSiteFound;
         return result;
     }
 
@@ -80,11 +80,24 @@ public class UploadStore extends Store {
         }
     }
 
+    /**
+     * Minimum interval between two writes of the progress of an upload to the database, progress events in between
+     * are only kept in memory.
+     */
+    public static final long DEFAULT_PROGRESS_FLUSH_INTERVAL_MS = 1000;
+
+    private final MediaUploadProgressRegistry mProgressRegistry =
+            new MediaUploadProgressRegistry(DEFAULT_PROGRESS_FLUSH_INTERVAL_MS);
+
     @Inject
     public UploadStore(Dispatcher dispatcher) {
         super(dispatcher);
     }
 
+    public void setProgressFlushInterval(long flushIntervalMs) {
+        mProgressRegistry.setFlushInterval(flushIntervalMs);
+    }
+
     @Override
     public void onRegister() {
         AppLog.d(T.API, "UploadStore onRegister");
@@ -259,6 +272,10 @@ public class UploadStore extends Store {
     }
 
     public float getUploadProgressForMedia(MediaModel mediaModel) {
+        Float progress = mProgressRegistry.getProgress(mediaModel.getId());
+        if (progress != null) {
+            return progress;
+        }
         MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(mediaModel.getId());
         if (mediaUploadModel != null) {
             return mediaUploadModel.getProgress();
@@ -274,6 +291,11 @@ public class UploadStore extends Store {
             mediaUploadModel.setMediaError(new MediaError(MediaErrorType.MALFORMED_MEDIA_ARG, errorMessage));
         }
         UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
+        if (mediaUploadModel.getUploadState() == MediaUploadModel.UPLOADING) {
+            mProgressRegistry.track(mediaUploadModel.getId(), mediaUploadModel.getProgress());
+        } else {
+            mProgressRegistry.remove(mediaUploadModel.getId());
+        }
     }
 
     private void handleMediaUploaded(@NonNull ProgressPayload payload) {
@@ -281,13 +303,14 @@ public class UploadStore extends Store {
             return;
         }
 
-        MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(payload.media.getId());
+        if (!payload.isError() && !payload.canceled && !payload.completed) {
+            handleMediaUploadProgress(payload.media.getId(), payload.progress);
+            return;
+        }
+
+        MediaUploadModel mediaUploadModel = getMediaUploadModelForLocalId(payload.media.getId());
+        mProgressRegistry.remove(payload.media.getId());
         if (mediaUploadModel == null) {
-            if (!payload.isError() && !payload.canceled && !payload.completed) {
-                // This is a progress event, and the upload seems to have already been cancelled
-                // We don't want to store a new MediaUploadModel in this case, just move on
-                return;
-            }
             mediaUploadModel = new MediaUploadModel(payload.media.getId());
         }
 
@@ -303,18 +326,42 @@ public class UploadStore extends Store {
             return;
         }
 
-        if (payload.completed) {
-            mediaUploadModel.setUploadState(MediaUploadModel.COMPLETED);
-            mediaUploadModel.setProgress(1F);
-            UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
-        } else {
-            if (mediaUploadModel.getProgress() < payload.progress) {
-                mediaUploadModel.setProgress(payload.progress);
-                // To avoid conflicts with another action handler updating the state of the MediaUploadModel,
-                // update the progress value only, since that's all the new information this event gives us
-                UploadSqlUtils.updateMediaProgressOnly(mediaUploadModel);
+        mediaUploadModel.setUploadState(MediaUploadModel.COMPLETED);
+        mediaUploadModel.setProgress(1F);
+        UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
+    }
+
+    private void handleMediaUploadProgress(int localMediaId, float progress) {
+        if (!mProgressRegistry.isTracked(localMediaId)) {
+            MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(localMediaId);
+            if (mediaUploadModel == null) {
+                // This is a progress event, and the upload seems to have already been cancelled
+                // We don't want to store a new MediaUploadModel in this case, just move on
+                return;
             }
+            mProgressRegistry.track(localMediaId, mediaUploadModel.getProgress());
+        }
+
+        if (mProgressRegistry.updateProgress(localMediaId, progress)) {
+            MediaUploadModel mediaUploadModel = new MediaUploadModel(localMediaId);
+            mediaUploadModel.setProgress(progress);
+            // To avoid conflicts with another action handler updating the state of the MediaUploadModel,
+            // update the progress value only, since that's all the new information this event gives us
+            UploadSqlUtils.updateMediaProgressOnly(mediaUploadModel);
+        }
+    }
+
+    /**
+     * Returns the stored {@link MediaUploadModel} for the given media, with the latest progress if it hasn't been
+     * written yet.
+     */
+    private @Nullable MediaUploadModel getMediaUploadModelForLocalId(int localMediaId) {
+        MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(localMediaId);
+        Float progress = mProgressRegistry.getProgress(localMediaId);
+        if (mediaUploadModel != null && progress != null && progress > mediaUploadModel.getProgress()) {
+            mediaUploadModel.setProgress(progress);
         }
+        return mediaUploadModel;
     }
 
     private void handleCancelMedia(@NonNull CancelMediaPayload payload) {
@@ -326,7 +373,7 @@ public class UploadStore extends Store {
         // reaches the MediaStore, along with the MediaUploadModel (because of the FOREIGN KEY association)
         // Otherwise, we should mark the MediaUploadModel as FAILED
         if (!payload.delete) {
-            MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(payload.media.getId());
+            MediaUploadModel mediaUploadModel = getMediaUploadModelForLocalId(payload.media.getId());
             if (mediaUploadModel == null) {
                 mediaUploadModel = new MediaUploadModel(payload.media.getId());
             }
@@ -334,6 +381,7 @@ public class UploadStore extends Store {
             mediaUploadModel.setUploadState(MediaUploadModel.FAILED);
             UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
         }
+        mProgressRegistry.remove(payload.media.getId());
 
         if (payload.media.getLocalPostId() > 0) {
             cancelPost(payload.media.getLocalPostId());
@@ -341,7 +389,7 @@ public class UploadStore extends Store {
     }
 
     private void handleUpdateMedia(@NonNull MediaModel payload) {
-        MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(payload.getId());
+        MediaUploadModel mediaUploadModel = getMediaUploadModelForLocalId(payload.getId());
         if (mediaUploadModel == null) {
             return;
         }
@@ -354,6 +402,7 @@ public class UploadStore extends Store {
                     mediaUploadModel.setUploadState(MediaUploadModel.FAILED);
                     mediaUploadModel.setMediaError(new MediaError(MediaErrorType.GENERIC_ERROR));
                     mediaUploadModel.setProgress(0);
+                    mProgressRegistry.remove(mediaUploadModel.getId());
                     UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
                     // Also cancel the associated post
                     if (payload.getLocalPostId() > 0) {
@@ -368,6 +417,7 @@ public class UploadStore extends Store {
                 if (newUploadState == MediaUploadState.UPLOADING || newUploadState == MediaUploadState.QUEUED) {
                     mediaUploadModel.setUploadState(MediaUploadModel.UPLOADING);
                     mediaUploadModel.setMediaError(null); // clear any previous errors
+                    mProgressRegistry.remove(mediaUploadModel.getId());
                     UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
                 }
                 break;
@@ -450,6 +500,7 @@ public class UploadStore extends Store {
             localMediaIds.add(mediaModel.getId());
         }
         UploadSqlUtils.deleteMediaUploadModelsWithLocalIds(localMediaIds);
+        mProgressRegistry.removeAll(localMediaIds);
 
         emitChange(new OnUploadChanged(UploadAction.CLEAR_MEDIA_FOR_POST));
     }
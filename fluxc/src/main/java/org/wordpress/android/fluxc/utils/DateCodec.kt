@@ -0,0 +1,88 @@
+package org.wordpress.android.fluxc.utils
+
+import java.text.ParseException
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A thread-safe date format for a fixed pattern, locale and time zone.
+ *
+ * [SimpleDateFormat] is expensive to create and isn't thread-safe, so each thread gets its own instance, created on
+ * first use and reused afterwards. Codecs without a [timeZone] use the default time zone at the time of the call.
+ */
+class DateCodec(
+    private val pattern: String,
+    private val locale: Locale = Locale.ROOT,
+    private val timeZone: TimeZone? = null
+) {
+    private val formats = object : ThreadLocal<SimpleDateFormat>() {
+        override fun initialValue() = SimpleDateFormat(pattern, locale).apply {
+            timeZone?.let { setTimeZone(it.clone() as TimeZone) }
+        }
+    }
+
+    /**
+     * Returns the format of the calling thread, which may be reconfigured by the caller (e.g. with the time zone of
+     * a site) but must not be retained or shared with other threads.
+     */
+    fun get(): SimpleDateFormat {
+        val format = formats.get()!!
+        if (timeZone == null) {
+            format.timeZone = TimeZone.getDefault()
+        } else if (format.timeZone.id != timeZone.id) {
+            format.timeZone = timeZone.clone() as TimeZone
+        }
+        return format
+    }
+
+    fun format(date: Date): String = get().format(date)
+
+    @Throws(ParseException::class)
+    fun parse(value: String): Date = get().parse(value)!!
+
+    companion object {
+        private val UTC = TimeZone.getTimeZone("UTC")
+        private val codecs = ConcurrentHashMap<String, DateCodec>()
+
+        /**
+         * `yyyyMMdd'T'HH:mm:ss` in GMT, the format of XML-RPC `dateTime.iso8601` values.
+         */
+        @JvmField val XMLRPC = DateCodec("yyyyMMdd'T'HH:mm:ss", Locale.US, TimeZone.getTimeZone("GMT"))
+
+        /**
+         * `yyyy-MM-dd'T'HH:mm:ssZ` in UTC, e.g. `1955-11-05T14:15:00+0000`.
+         */
+        @JvmField val ISO8601_UTC = DateCodec("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US, UTC)
+
+        /**
+         * Returns the shared codec of the given pattern, in the [Locale.ROOT] locale and the default time zone.
+         */
+        @JvmStatic
+        fun forPattern(pattern: String): DateCodec = codecs.getOrPut(pattern) { DateCodec(pattern) }
+
+        /**
+         * Parses an ISO 8601 date, with a `Z`, `+00:00` or `+0000` style offset, or returns null if it's invalid.
+         */
+        @JvmStatic
+        fun dateFromIso8601(value: String?): Date? {
+            if (value.isNullOrEmpty()) {
+                return null
+            }
+            val normalized = when {
+                value.endsWith("Z") -> value.substring(0, value.length - 1) + "+0000"
+                value.length > 6 && value[value.length - 3] == ':' && value[value.length - 6].let {
+                    it == '+' || it == '-'
+                } -> value.substring(0, value.length - 3) + value.substring(value.length - 2)
+                else -> value
+            }
+            return try {
+                ISO8601_UTC.parse(normalized)
+            } catch (e: ParseException) {
+                null
+            }
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -25,8 +24,7 @@ public class SiteUtils {
      * Imported from WordPress-Android with some modifications.
      */
     public static @NonNull String getCurrentDateTimeForSite(@NonNull SiteModel site, @NonNull String pattern) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(pattern, Locale.ROOT);
-        return getCurrentDateTimeForSite(site, dateFormat);
+        return getCurrentDateTimeForSite(site, DateCodec.forPattern(pattern).get());
     }
 
     /**
@@ -36,8 +34,7 @@ public class SiteUtils {
     public static @NonNull String getDateTimeForSite(@NonNull SiteModel site,
                                                      @NonNull String pattern,
                                                      @NonNull Date date) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(pattern, Locale.ROOT);
-        return getDateTimeForSite(site, dateFormat, date);
+        return getDateTimeForSite(site, DateCodec.forPattern(pattern).get(), date);
     }
 
     /**
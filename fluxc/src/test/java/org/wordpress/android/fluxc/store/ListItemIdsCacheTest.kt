@@ -0,0 +1,100 @@
+package org.wordpress.android.fluxc.store
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.list.ListModel
+import java.util.concurrent.TimeUnit
+
+class ListItemIdsCacheTest {
+    private val cache = ListItemIdsCache()
+    private val firstList = listModel(1)
+    private val secondList = listModel(2)
+
+    @Test
+    fun `appending ignores the ids the list already contains`() {
+        cache.replace(firstList, listOf(1L, 2L, 3L))
+
+        cache.append(firstList, listOf(3L, 4L, 2L, 5L, 4L))
+
+        assertThat(getCachedIds(firstList)).containsExactly(1L, 2L, 3L, 4L, 5L)
+    }
+
+    @Test
+    fun `appending to a list that isn't cached does nothing`() {
+        cache.append(firstList, listOf(1L, 2L))
+
+        assertThat(cache.get(firstList) { longArrayOf(7L) }).containsExactly(7L)
+    }
+
+    @Test
+    fun `removing ids removes them from every given list`() {
+        val thirdList = listModel(3)
+        cache.replace(firstList, listOf(1L, 2L, 3L))
+        cache.replace(secondList, listOf(2L, 3L, 4L))
+        cache.replace(thirdList, listOf(2L, 5L))
+
+        cache.remove(listOf(firstList.id, secondList.id), listOf(2L, 4L))
+
+        assertThat(getCachedIds(firstList)).containsExactly(1L, 3L)
+        assertThat(getCachedIds(secondList)).containsExactly(3L)
+        assertThat(getCachedIds(thirdList)).containsExactly(2L, 5L)
+    }
+
+    @Test
+    fun `ids are reloaded when the list was modified since they were cached`() {
+        cache.replace(firstList, listOf(1L, 2L))
+        var loadCount = 0
+
+        firstList.lastModified = "2021-05-02T08:30:00Z"
+        val ids = cache.get(firstList) { loadCount++; longArrayOf(3L) }
+        val cachedIds = cache.get(firstList) { loadCount++; longArrayOf(4L) }
+
+        assertThat(ids).containsExactly(3L)
+        assertThat(cachedIds).isSameAs(ids)
+        assertThat(loadCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `ids loaded while the list was updated aren't cached`() {
+        var updatedIds: LongArray? = null
+
+        val loadedIds = cache.get(firstList) {
+            cache.replace(firstList, listOf(2L))
+            updatedIds = getCachedIds(firstList)
+            longArrayOf(1L)
+        }
+
+        assertThat(loadedIds).containsExactly(1L)
+        assertThat(getCachedIds(firstList)).isSameAs(updatedIds)
+    }
+
+    @Test
+    fun `ids are loaded without holding the cache`() {
+        val updater = Thread { cache.replace(secondList, listOf(1L)) }
+
+        cache.get(firstList) {
+            updater.start()
+            updater.join(TimeUnit.SECONDS.toMillis(5))
+            longArrayOf()
+        }
+
+        assertThat(updater.isAlive).isFalse()
+        assertThat(getCachedIds(secondList)).containsExactly(1L)
+    }
+
+    @Test
+    fun `clearing the cache reloads every list`() {
+        cache.replace(firstList, listOf(1L))
+        cache.replace(secondList, listOf(2L))
+
+        cache.clear()
+
+        assertThat(cache.get(firstList) { longArrayOf(3L) }).containsExactly(3L)
+        assertThat(cache.get(secondList) { longArrayOf(4L) }).containsExactly(4L)
+    }
+
+    private fun getCachedIds(listModel: ListModel) =
+            cache.get(listModel) { throw AssertionError("The ids of list ${listModel.id} should be cached") }
+
+    private fun listModel(id: Int) = ListModel(id).apply { lastModified = "2021-05-01T10:00:00Z" }
+}
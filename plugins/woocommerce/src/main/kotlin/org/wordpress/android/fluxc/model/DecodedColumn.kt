@@ -0,0 +1,22 @@
+package org.wordpress.android.fluxc.model
+
+/**
+ * Decodes a JSON-backed column of a model, and keeps the decoded value until the column changes.
+ *
+ * Models are bound to list items over and over again, this saves parsing the same JSON on each bind. The decoded
+ * value is shared between callers, so it shouldn't be modified.
+ */
+internal class DecodedColumn<T>(private val decode: (String) -> T) {
+    private class Decoded<T>(val json: String, val value: T)
+
+    @Volatile private var decoded: Decoded<T>? = null
+
+    fun get(json: String): T {
+        decoded?.let {
+            if (it.json == json) {
+                return it.value
+            }
+        }
+        return decode(json).also { decoded = Decoded(json, it) }
+    }
+}
@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.JsonArray
 import com.google.gson.annotations.SerializedName
 import com.google.gson.reflect.TypeToken
@@ -12,6 +11,7 @@ import org.wordpress.android.fluxc.model.order.OrderAddress
 import org.wordpress.android.fluxc.model.order.OrderAddress.AddressType
 import org.wordpress.android.fluxc.model.order.OrderIdentifier
 import org.wordpress.android.fluxc.model.order.OrderProductAttributeListDeserializer
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import java.util.Locale
 
@@ -69,7 +69,25 @@ data class WCOrderModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
     @Column var feeLines = ""
 
     companion object {
-        private val gson by lazy { Gson() }
+        private val gson by lazy { GsonRegistry.getDefault() }
+        private val lineItemListType = object : TypeToken<List<LineItem>>() {}.type
+        private val shippingLineListType = object : TypeToken<List<ShippingLine>>() {}.type
+        private val feeLineListType = object : TypeToken<List<FeeLine>>() {}.type
+        private val attributeListType = object : TypeToken<List<LineItem.Attribute>>() {}.type
+        private val attributeListGson by lazy {
+            gson.newBuilder().registerTypeAdapter(attributeListType, OrderProductAttributeListDeserializer()).create()
+        }
+    }
+
+    // The JSON columns decoded by the accessors below, kept until the column changes
+    @Transient private val decodedLineItems = DecodedColumn<List<LineItem>> {
+        gson.fromJson(it, lineItemListType) as? List<LineItem> ?: emptyList()
+    }
+    @Transient private val decodedShippingLines = DecodedColumn<List<ShippingLine>> {
+        gson.fromJson(it, shippingLineListType) as? List<ShippingLine> ?: emptyList()
+    }
+    @Transient private val decodedFeeLines = DecodedColumn<List<FeeLine>> {
+        gson.fromJson(it, feeLineListType) as? List<FeeLine> ?: emptyList()
     }
 
     class ShippingLine {
@@ -112,10 +130,7 @@ data class WCOrderModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
         class Attribute(val key: String?, val value: String?)
 
         fun getAttributeList(): List<Attribute> {
-            val responseType = object : TypeToken<List<Attribute>>() {}.type
-            val newGson = gson.newBuilder()
-                    .registerTypeAdapter(responseType, OrderProductAttributeListDeserializer()).create()
-            return newGson.fromJson(attributes, responseType)
+            return attributeListGson.fromJson(attributes, attributeListType)
         }
 
         /**
@@ -165,10 +180,7 @@ data class WCOrderModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
     /**
      * Deserializes the JSON contained in [lineItems] into a list of [LineItem] objects.
      */
-    fun getLineItemList(): List<LineItem> {
-        val responseType = object : TypeToken<List<LineItem>>() {}.type
-        return gson.fromJson(lineItems, responseType) as? List<LineItem> ?: emptyList()
-    }
+    fun getLineItemList() = decodedLineItems.get(lineItems)
 
     /**
      * Returns the order subtotal (the sum of the subtotals of each line item in the order).
@@ -180,18 +192,12 @@ data class WCOrderModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
     /**
      * Deserializes the JSON contained in [shippingLines] into a list of [ShippingLine] objects.
      */
-    fun getShippingLineList(): List<ShippingLine> {
-        val responseType = object : TypeToken<List<ShippingLine>>() {}.type
-        return gson.fromJson(shippingLines, responseType) as? List<ShippingLine> ?: emptyList()
-    }
+    fun getShippingLineList() = decodedShippingLines.get(shippingLines)
 
     /**
      * Deserializes the JSON contained in [feeLines] into a list of [FeeLine] objects.
      */
-    fun getFeeLineList(): List<FeeLine> {
-        val responseType = object : TypeToken<List<FeeLine>>() {}.type
-        return gson.fromJson(feeLines, responseType) as? List<FeeLine> ?: emptyList()
-    }
+    fun getFeeLineList() = decodedFeeLines.get(feeLines)
 
     fun isMultiShippingLinesAvailable() = getShippingLineList().size > 1
 }
@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.JsonArray
 import com.google.gson.JsonElement
 import com.google.gson.JsonObject
@@ -10,6 +9,7 @@ import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
 import org.wordpress.android.fluxc.model.attribute.WCProductAttributeModel
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.network.utils.getBoolean
 import org.wordpress.android.fluxc.network.utils.getLong
 import org.wordpress.android.fluxc.network.utils.getString
@@ -100,8 +100,26 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     @Column var width = ""
     @Column var height = ""
 
+    companion object {
+        private val gson by lazy { GsonRegistry.getDefault() }
+    }
+
+    // The JSON columns decoded by the accessors below, kept until the column changes
+    @Transient private val decodedAttributes = DecodedColumn<Array<WCProductAttributeModel>> {
+        gson.fromJson(it, Array<WCProductAttributeModel>::class.java)
+    }
+    @Transient private val decodedAttributeList = DecodedColumn(::decodeAttributeList)
+    @Transient private val decodedImages = DecodedColumn(::decodeImageList)
+    @Transient private val decodedFirstImageUrl = DecodedColumn(::decodeFirstImageUrl)
+    @Transient private val decodedCategories = DecodedColumn(::decodeTriplets)
+    @Transient private val decodedTags = DecodedColumn(::decodeTriplets)
+    @Transient private val decodedDownloads = DecodedColumn(::decodeDownloadableFiles)
+
+    // Attributes have mutable options, so callers get copies of the decoded attributes
     val attributeList: Array<WCProductAttributeModel>
-        get() = Gson().fromJson(attributes, Array<WCProductAttributeModel>::class.java)
+        get() = decodedAttributes.get(attributes).map { it.deepCopy() }.toTypedArray()
+
+    private fun WCProductAttributeModel.deepCopy() = copy(options = options.toMutableList())
 
     class ProductTriplet(val id: Long, val name: String, val slug: String) {
         fun toJson(): JsonObject {
@@ -137,45 +155,57 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     fun addAttribute(newAttribute: WCProductAttributeModel) {
         mutableListOf<WCProductAttributeModel>()
                 .apply {
-                    attributeList
+                    decodedAttributes.get(attributes)
                             .takeIf {
                                 it.find { currentAttribute ->
                                     currentAttribute.globalAttributeId == newAttribute.globalAttributeId
                                 } == null
                             }?.let { currentAttributes ->
                                 add(newAttribute)
-                                currentAttributes
-                                        .takeIf { it.isNotEmpty() }
-                                        ?.let { addAll(it) }
+                                addAll(currentAttributes)
                             }
-                }.also { attributes = Gson().toJson(it) }
+                }.also { attributes = gson.toJson(it) }
     }
 
     fun removeAttribute(attributeID: Int) =
-            mutableListOf<WCProductAttributeModel>().apply {
-                attributeList
-                        .takeIf { it.isNotEmpty() }
-                        ?.filter { attributeID != it.globalAttributeId }
-                        ?.let { addAll(it) }
-            }.also { attributes = Gson().toJson(it) }
+            decodedAttributes.get(attributes)
+                    .filterTo(mutableListOf()) { attributeID != it.globalAttributeId }
+                    .also { attributes = gson.toJson(it) }
 
     fun getAttribute(attributeID: Int) =
-        attributeList.find { it.globalAttributeId == attributeID }
+        decodedAttributes.get(attributes).find { it.globalAttributeId == attributeID }?.deepCopy()
 
+    /**
+     * Replaces the attribute with the same global id as [updatedAttribute], or adds it if there is none. The
+     * attributes are serialized once, with the updated attribute first, as removing then adding it would.
+     */
     fun updateAttribute(updatedAttribute: WCProductAttributeModel) = apply {
-        getAttribute(updatedAttribute.globalAttributeId)
-                ?.let { removeAttribute(it.globalAttributeId) }
-        addAttribute(updatedAttribute)
+        mutableListOf(updatedAttribute)
+                .apply {
+                    decodedAttributes.get(attributes)
+                            .filterTo(this) { it.globalAttributeId != updatedAttribute.globalAttributeId }
+                }.also { attributes = gson.toJson(it) }
     }
 
     /**
      * Parses the images json array into a list of product images
      */
     fun getImageList(): ArrayList<WCProductImageModel> {
+        // Image models are mutable, so return copies of the decoded images
+        return decodedImages.get(images).mapTo(ArrayList()) { image ->
+            WCProductImageModel(image.id).also {
+                it.name = image.name
+                it.src = image.src
+                it.alt = image.alt
+            }
+        }
+    }
+
+    private fun decodeImageList(images: String): List<WCProductImageModel> {
         val imageList = ArrayList<WCProductImageModel>()
         if (images.isNotEmpty()) {
             try {
-                Gson().fromJson(images, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
+                gson.fromJson(images, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
                     with(jsonElement.asJsonObject) {
                         WCProductImageModel(this.getLong("id")).also {
                             it.name = this.getString("name") ?: ""
@@ -197,10 +227,12 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     /**
      * Extract the first image url from the json array of images
      */
-    fun getFirstImageUrl(): String? {
+    fun getFirstImageUrl() = decodedFirstImageUrl.get(images)
+
+    private fun decodeFirstImageUrl(images: String): String? {
         try {
             if (images.isNotEmpty()) {
-                Gson().fromJson(images, JsonElement::class.java).asJsonArray.firstOrNull { jsonElement ->
+                gson.fromJson(images, JsonElement::class.java).asJsonArray.firstOrNull { jsonElement ->
                     return (jsonElement.asJsonObject).getString("src")
                 }
             }
@@ -215,13 +247,15 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
      */
     fun getImageUrls(): List<String> {
         val imageUrls = ArrayList<String>()
-        getImageList().forEach {
+        decodedImages.get(images).forEach {
             imageUrls.add(it.src)
         }
         return imageUrls
     }
 
-    fun getAttributeList(): List<ProductAttribute> {
+    fun getAttributeList() = decodedAttributeList.get(attributes)
+
+    private fun decodeAttributeList(attributes: String): List<ProductAttribute> {
         fun getAttributeOptions(jsonArray: JsonArray?): List<String> {
             val options = ArrayList<String>()
             try {
@@ -238,7 +272,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
 
         val attrList = ArrayList<ProductAttribute>()
         try {
-            Gson().fromJson(attributes, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
+            gson.fromJson(attributes, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
                 with(jsonElement.asJsonObject) {
                     attrList.add(
                             ProductAttribute(
@@ -256,11 +290,13 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         return attrList
     }
 
-    fun getDownloadableFiles(): List<WCProductFileModel> {
+    fun getDownloadableFiles() = decodedDownloads.get(downloads)
+
+    private fun decodeDownloadableFiles(downloads: String): List<WCProductFileModel> {
         if (downloads.isEmpty()) return emptyList()
         val fileList = ArrayList<WCProductFileModel>()
         try {
-            Gson().fromJson(downloads, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
+            gson.fromJson(downloads, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
                 with(jsonElement.asJsonObject) {
                     fileList.add(
                             WCProductFileModel(
@@ -294,7 +330,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         val productIds = ArrayList<Long>()
         try {
             if (jsonString.isNotEmpty()) {
-                val jsonElement = Gson().fromJson(jsonString, JsonElement::class.java)
+                val jsonElement = gson.fromJson(jsonString, JsonElement::class.java)
                 when {
                     jsonElement.isJsonNull -> {
                         return emptyList()
@@ -320,7 +356,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     fun getNumVariations(): Int {
         return try {
             if (variations.isNotEmpty()) {
-                val jsonElement = Gson().fromJson(variations, JsonElement::class.java)
+                val jsonElement = gson.fromJson(variations, JsonElement::class.java)
                 when {
                     jsonElement.isJsonArray -> {
                         jsonElement.asJsonArray.size()
@@ -343,13 +379,13 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
 
     fun getCrossSellProductIdList() = parseJson(crossSellIds)
 
-    fun getCategoryList() = getTriplets(categories)
+    fun getCategoryList() = ArrayList(decodedCategories.get(categories))
 
-    fun getCommaSeparatedCategoryNames() = getCommaSeparatedTripletNames(getCategoryList())
+    fun getCommaSeparatedCategoryNames() = getCommaSeparatedTripletNames(decodedCategories.get(categories))
 
-    fun getTagList() = getTriplets(tags)
+    fun getTagList() = ArrayList(decodedTags.get(tags))
 
-    fun getCommaSeparatedTagNames() = getCommaSeparatedTripletNames(getTagList())
+    fun getCommaSeparatedTagNames() = getCommaSeparatedTripletNames(decodedTags.get(tags))
 
     private fun getCommaSeparatedTripletNames(triplets: List<ProductTriplet>): String {
         if (triplets.isEmpty()) return ""
@@ -364,11 +400,11 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         return commaSeparatedNames
     }
 
-    private fun getTriplets(jsonStr: String): ArrayList<ProductTriplet> {
+    private fun decodeTriplets(jsonStr: String): List<ProductTriplet> {
         val triplets = ArrayList<ProductTriplet>()
         try {
             if (jsonStr.isNotEmpty()) {
-                val jsonElement = Gson().fromJson<JsonElement>(jsonStr, JsonElement::class.java)
+                val jsonElement = gson.fromJson<JsonElement>(jsonStr, JsonElement::class.java)
                 if (jsonElement.isJsonArray) {
                     jsonElement.asJsonArray.forEach { jsonArray ->
                         with(jsonArray.asJsonObject) {
@@ -394,8 +430,8 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
      * lists contain the same images in the same order
      */
     fun hasSameImages(updatedProduct: WCProductModel): Boolean {
-        val updatedImages = updatedProduct.getImageList()
-        val thisImages = getImageList()
+        val updatedImages = updatedProduct.decodedImages.get(updatedProduct.images)
+        val thisImages = decodedImages.get(images)
         if (thisImages.size != updatedImages.size) {
             return false
         }
@@ -412,8 +448,8 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
      * lists contain the same categories in the same order
      */
     fun hasSameCategories(updatedProduct: WCProductModel): Boolean {
-        val updatedCategories = updatedProduct.getCategoryList()
-        val storedCategories = getCategoryList()
+        val updatedCategories = updatedProduct.decodedCategories.get(updatedProduct.categories)
+        val storedCategories = decodedCategories.get(categories)
         if (storedCategories.size != updatedCategories.size) {
             return false
         }
@@ -430,8 +466,8 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
      * lists contain the same tags in the same order
      */
     fun hasSameTags(updatedProduct: WCProductModel): Boolean {
-        val updatedTags = updatedProduct.getTagList()
-        val storedTags = getTagList()
+        val updatedTags = updatedProduct.decodedTags.get(updatedProduct.tags)
+        val storedTags = decodedTags.get(tags)
         if (storedTags.size != updatedTags.size) {
             return false
         }
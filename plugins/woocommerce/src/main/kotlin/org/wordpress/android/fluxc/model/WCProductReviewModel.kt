@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.JsonElement
 import com.google.gson.annotations.SerializedName
 import com.yarolegovich.wellsql.core.Identifiable
@@ -8,6 +7,7 @@ import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.RawConstraints
 import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 
 @Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
@@ -17,7 +17,7 @@ import org.wordpress.android.fluxc.persistence.WellSqlConfig
 )
 data class WCProductReviewModel(@PrimaryKey @Column private var id: Int = 0) : Identifiable {
     companion object {
-        private val json by lazy { Gson() }
+        private val json by lazy { GsonRegistry.getDefault() }
     }
 
     @Column var localSiteId = 0
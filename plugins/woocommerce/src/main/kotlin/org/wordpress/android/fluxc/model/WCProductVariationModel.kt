@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.JsonElement
 import com.google.gson.JsonParseException
 import com.google.gson.reflect.TypeToken
@@ -8,6 +7,7 @@ import com.yarolegovich.wellsql.core.Identifiable
 import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.network.utils.getLong
 import org.wordpress.android.fluxc.network.utils.getString
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
@@ -89,7 +89,7 @@ data class WCProductVariationModel(@PrimaryKey @Column private var id: Int = 0)
         val option: String? = null
     )
 
-    private val gson by lazy { Gson() }
+    private val gson by lazy { GsonRegistry.getDefault() }
 
     val attributeList by lazy {
         gson.fromJson(attributes, Array<ProductVariantOption>::class.java)
@@ -0,0 +1,42 @@
+package org.wordpress.android.fluxc.model
+
+import com.yarolegovich.wellsql.core.Identifiable
+import com.yarolegovich.wellsql.core.annotation.Column
+import com.yarolegovich.wellsql.core.annotation.PrimaryKey
+import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
+
+/**
+ * A single period of the revenue stats of a site, with one column per metric.
+ *
+ * The periods of every fetched [WCRevenueStatsModel] are merged here, keyed by site, interval and period, so the
+ * stats of a date range can be read without decoding the JSON of the whole fetched series.
+ */
+@Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
+data class WCRevenueStatsIntervalModel(@PrimaryKey @Column private var id: Int = 0) : Identifiable {
+    @Column var localSiteId = 0
+    @Column var interval = "" // The unit ("hour", "day", "week", "month", "year")
+    @Column var period = "" // The period within the unit, e.g. "2019-07-07" for a day
+    @Column var dateStart = "" // The start date of the period, e.g. "2019-07-07 00:00:00"
+    @Column var dateEnd = "" // The end date of the period, e.g. "2019-07-07 23:59:59"
+    @Column var ordersCount = 0L
+    @Column var numItemsSold = 0L
+    @Column var totalSales = 0.0
+    @Column var netRevenue = 0.0
+
+    /**
+     * The metrics of a period, with the column holding them.
+     */
+    enum class Field(val column: String) {
+        ORDERS_COUNT("ORDERS_COUNT"),
+        NUM_ITEMS_SOLD("NUM_ITEMS_SOLD"),
+        TOTAL_SALES("TOTAL_SALES"),
+        NET_REVENUE("NET_REVENUE")
+    }
+
+    override fun getId() = id
+
+    override fun setId(id: Int) {
+        this.id = id
+    }
+}
@@ -1,6 +1,5 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.JsonParser
 import com.google.gson.annotations.SerializedName
 import com.google.gson.reflect.TypeToken
@@ -8,6 +7,7 @@ import com.yarolegovich.wellsql.core.Identifiable
 import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 
 @Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
@@ -20,7 +20,7 @@ data class WCRevenueStatsModel(@PrimaryKey @Column private var id: Int = 0) : Id
     @Column var total = "" // JSON - A map of total stats for a given time period
 
     companion object {
-        private val gson by lazy { Gson() }
+        private val gson by lazy { GsonRegistry.getDefault() }
     }
 
     override fun getId() = id
@@ -31,14 +31,22 @@ data class WCRevenueStatsModel(@PrimaryKey @Column private var id: Int = 0) : Id
 
     class Interval {
         val interval: String? = null
+        @SerializedName("date_start")
+        val dateStart: String? = null
+        @SerializedName("date_end")
+        val dateEnd: String? = null
         val subtotals: SubTotal? = null
     }
 
     class SubTotal {
         @SerializedName("orders_count")
         val ordersCount: Long? = null
+        @SerializedName("num_items_sold")
+        val numItemsSold: Long? = null
         @SerializedName("total_sales")
         val totalSales: Double? = null
+        @SerializedName("net_revenue")
+        val netRevenue: Double? = null
     }
 
     /**
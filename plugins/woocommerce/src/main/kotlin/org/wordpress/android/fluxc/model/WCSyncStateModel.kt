@@ -0,0 +1,35 @@
+package org.wordpress.android.fluxc.model
+
+import com.yarolegovich.wellsql.core.Identifiable
+import com.yarolegovich.wellsql.core.annotation.Column
+import com.yarolegovich.wellsql.core.annotation.PrimaryKey
+import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
+
+/**
+ * The progress of the incremental sync of one kind of record of a site, see `WCDeltaSync`.
+ */
+@Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
+data class WCSyncStateModel(@PrimaryKey @Column private var id: Int = 0) : Identifiable {
+    enum class SyncedEntity { PRODUCTS, ORDERS }
+
+    @Column var localSiteId = 0
+    @Column var entity = ""
+
+    /**
+     * The GMT modification date, in `yyyy-MM-dd'T'HH:mm:ss` format, of the last record synced. Records modified
+     * after this date are fetched by the next sync. Empty if the records were never synced.
+     */
+    @Column var modifiedAfterGmt = ""
+
+    /**
+     * The time, in milliseconds since the epoch, the deleted records were last looked for.
+     */
+    @Column var dateReconciled = 0L
+
+    override fun getId() = id
+
+    override fun setId(id: Int) {
+        this.id = id
+    }
+}
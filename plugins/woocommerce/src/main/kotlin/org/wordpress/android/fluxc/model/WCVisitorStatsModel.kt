@@ -1,11 +1,11 @@
 package org.wordpress.android.fluxc.model
 
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.yarolegovich.wellsql.core.Identifiable
 import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 
 @Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
@@ -42,7 +42,7 @@ data class WCVisitorStatsModel(@PrimaryKey @Column private var id: Int = 0) : Id
     }
 
     companion object {
-        private val gson by lazy { Gson() }
+        private val gson by lazy { GsonRegistry.getDefault() }
     }
 
     override fun getId() = id
@@ -1,8 +1,8 @@
 package org.wordpress.android.fluxc.model.leaderboards
 
-import com.google.gson.Gson
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.WCProductModel
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.leaderboards.LeaderboardProductItem
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.leaderboards.LeaderboardsApiResponse
 import org.wordpress.android.fluxc.persistence.ProductSqlUtils
@@ -12,7 +12,7 @@ import org.wordpress.android.fluxc.store.WCStatsStore.StatsGranularity
 import javax.inject.Inject
 
 class WCProductLeaderboardsMapper @Inject constructor() {
-    private val gson = Gson()
+    private val gson = GsonRegistry.getDefault()
 
     suspend fun map(
         response: LeaderboardsApiResponse,
@@ -1,11 +1,11 @@
 package org.wordpress.android.fluxc.model.leaderboards
 
-import com.google.gson.Gson
 import com.yarolegovich.wellsql.core.Identifiable
 import com.yarolegovich.wellsql.core.annotation.Column
 import com.yarolegovich.wellsql.core.annotation.PrimaryKey
 import com.yarolegovich.wellsql.core.annotation.Table
 import org.wordpress.android.fluxc.model.WCProductModel
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 
 @Table(addOn = WellSqlConfig.ADDON_WOOCOMMERCE)
@@ -19,7 +19,7 @@ data class WCTopPerformerProductModel(
     @PrimaryKey @Column private var id: Int = 0
 ) : Identifiable {
     val product
-        get() = Gson().fromJson(productInfo, WCProductModel::class.java)
+        get() = GsonRegistry.getDefault().fromJson(productInfo, WCProductModel::class.java)
 
     override fun setId(id: Int) {
         this.id = id
@@ -44,8 +44,9 @@ class ReleaseWCNetworkModule {
         dispatcher: Dispatcher,
         @Named("regular") requestQueue: RequestQueue,
         token: AccessToken,
-        userAgent: UserAgent
-    ) = OrderRestClient(appContext, dispatcher, requestQueue, token, userAgent)
+        userAgent: UserAgent,
+        requestBuilder: JetpackTunnelGsonRequestBuilder
+    ) = OrderRestClient(appContext, dispatcher, requestQueue, token, userAgent, requestBuilder)
 
     @Singleton
     @Provides
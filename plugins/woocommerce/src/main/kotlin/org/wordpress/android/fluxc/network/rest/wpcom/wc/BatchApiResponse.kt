@@ -0,0 +1,95 @@
+package org.wordpress.android.fluxc.network.rest.wpcom.wc
+
+import com.google.gson.JsonObject
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType
+import org.wordpress.android.fluxc.network.Response
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
+import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackError
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackSuccess
+
+/**
+ * Response of the `batch` endpoints of the WooCommerce API, e.g. `POST /wc/v3/products/batch`.
+ *
+ * Each item of a batch succeeds or fails on its own: an item the server rejected is returned as its `id` and an
+ * `error` instead of the updated object, so items are kept as JSON until they are parsed with [parseUpdatedItems].
+ */
+class BatchApiResponse : Response {
+    val update: List<JsonObject>? = null
+
+    /**
+     * Parses the updated items as [clazz], and the errors of the rejected items by id.
+     */
+    fun <T> parseUpdatedItems(clazz: Class<T>): Pair<List<T>, Map<Long, WooError>> {
+        val items = mutableListOf<T>()
+        val errors = mutableMapOf<Long, WooError>()
+        update.orEmpty().forEach { item ->
+            val error = item.getAsJsonObject("error")
+            if (error == null) {
+                items.add(GsonRegistry.get(GsonRegistry.Config.REST).fromJson(item, clazz))
+            } else {
+                errors[item.get("id")?.asLong ?: 0L] = error.toWooError()
+            }
+        }
+        return Pair(items, errors)
+    }
+
+    private fun JsonObject.toWooError(): WooError {
+        val status = getAsJsonObject("data")?.get("status")?.asInt
+        val message = get("message")?.asString
+        return when (status) {
+            404 -> WooError(WooErrorType.INVALID_ID, GenericErrorType.NOT_FOUND, message)
+            401, 403 -> WooError(WooErrorType.AUTHORIZATION_REQUIRED, GenericErrorType.NOT_AUTHENTICATED, message)
+            else -> WooError(WooErrorType.API_ERROR, GenericErrorType.UNKNOWN, message)
+        }
+    }
+
+    companion object {
+        /**
+         * Maximum number of items the WooCommerce API accepts in a single batch request.
+         */
+        const val MAX_BATCH_SIZE = 100
+    }
+}
+
+/**
+ * Sends [updates], the changes to apply to each item by remote id, to the batch endpoint [url], in as many requests
+ * of up to [BatchApiResponse.MAX_BATCH_SIZE] items as needed. A request that fails as a whole reports its error for
+ * each of its items, the other requests are still sent.
+ *
+ * @param mapItem converts the updated items returned by the server, parsed as [clazz], to models
+ */
+suspend fun <R, T> JetpackTunnelGsonRequestBuilder.syncBatchUpdateRequest(
+    restClient: BaseWPComRestClient,
+    site: SiteModel,
+    url: String,
+    updates: Map<Long, Map<String, Any>>,
+    clazz: Class<R>,
+    mapItem: (R) -> T
+): WooBatchResult<T> {
+    val updatedItems = mutableListOf<T>()
+    val errors = mutableMapOf<Long, WooError>()
+    updates.entries.chunked(BatchApiResponse.MAX_BATCH_SIZE).forEach { chunk ->
+        val body = mapOf("update" to chunk.map { (remoteId, changes) -> changes + ("id" to remoteId) })
+        when (val response = syncPostRequest(restClient, site, url, body, BatchApiResponse::class.java)) {
+            is JetpackSuccess -> {
+                val data = response.data
+                if (data != null) {
+                    val (items, itemErrors) = data.parseUpdatedItems(clazz)
+                    items.mapTo(updatedItems, mapItem)
+                    errors.putAll(itemErrors)
+                } else {
+                    val error = WooError(WooErrorType.INVALID_RESPONSE, GenericErrorType.INVALID_RESPONSE)
+                    chunk.forEach { errors[it.key] = error }
+                }
+            }
+            is JetpackError -> {
+                val error = response.error.toWooError()
+                chunk.forEach { errors[it.key] = error }
+            }
+        }
+    }
+    return WooBatchResult(updatedItems, errors)
+}
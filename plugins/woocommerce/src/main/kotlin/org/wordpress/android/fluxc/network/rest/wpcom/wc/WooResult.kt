@@ -22,3 +22,14 @@ data class WooResult<T>(val model: T? = null) : Store.OnChanged<WooError>() {
         this.error = error
     }
 }
+
+/**
+ * Result of a batch update: the items the server updated, and the errors of the items it didn't update, by remote id.
+ */
+data class WooBatchResult<T>(val updatedItems: List<T>, val errors: Map<Long, WooError>)
+
+/**
+ * A page of records ordered by modification date, and the GMT modification date of the last one, in
+ * `yyyy-MM-dd'T'HH:mm:ss` format, or null if the page is empty.
+ */
+data class WooModifiedPage<T>(val items: List<T>, val lastModifiedGmt: String?)
@@ -24,6 +24,15 @@ import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComErro
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
 import org.wordpress.android.fluxc.network.rest.wpcom.auth.AccessToken
 import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequest
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackError
+import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackSuccess
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.BatchApiResponse
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooBatchResult
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooModifiedPage
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooPayload
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.syncBatchUpdateRequest
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.toWooError
 import org.wordpress.android.fluxc.store.WCOrderStore
 import org.wordpress.android.fluxc.store.WCOrderStore.AddOrderShipmentTrackingResponsePayload
 import org.wordpress.android.fluxc.store.WCOrderStore.DeleteOrderShipmentTrackingResponsePayload
@@ -55,7 +64,8 @@ class OrderRestClient(
     private val dispatcher: Dispatcher,
     requestQueue: RequestQueue,
     accessToken: AccessToken,
-    userAgent: UserAgent
+    userAgent: UserAgent,
+    private val jetpackTunnelGsonRequestBuilder: JetpackTunnelGsonRequestBuilder? = null
 ) : BaseWPComRestClient(appContext, dispatcher, requestQueue, accessToken, userAgent) {
     private val ORDER_FIELDS = "id,number,status,currency,date_created_gmt,total,total_tax,shipping_total," +
             "payment_method,payment_method_title,prices_include_tax,customer_note,discount_total," +
@@ -413,6 +423,109 @@ class OrderRestClient(
         add(request)
     }
 
+    /**
+     * Makes POST calls to `/wc/v3/orders/batch` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
+     * updating the status of several orders at once, in batches of [BatchApiResponse.MAX_BATCH_SIZE] orders.
+     *
+     * @param [statuses] the new status of each order, by remote order id
+     */
+    suspend fun batchUpdateOrderStatuses(
+        site: SiteModel,
+        statuses: Map<Long, String>
+    ): WooBatchResult<WCOrderModel> {
+        if (statuses.isEmpty()) {
+            return WooBatchResult(emptyList(), emptyMap())
+        }
+        val requestBuilder = requireNotNull(jetpackTunnelGsonRequestBuilder) {
+            "Batch updates require a JetpackTunnelGsonRequestBuilder"
+        }
+        val updates = statuses.mapValues { mapOf("status" to it.value) }
+        return requestBuilder.syncBatchUpdateRequest(
+                this,
+                site,
+                WOOCOMMERCE.orders.batch.pathV3,
+                updates,
+                OrderApiResponse::class.java
+        ) {
+            orderResponseToOrderModel(it).apply { localSiteId = site.id }
+        }
+    }
+
+    /**
+     * Makes a GET call to `/wc/v3/orders` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
+     * retrieving a page of the orders modified after [modifiedAfterGmt], from the least to the most recently
+     * modified, or of all the orders if [modifiedAfterGmt] is null.
+     *
+     * Requires WooCommerce 5.8 or later for the dates to be compared in GMT.
+     *
+     * @param [modifiedAfterGmt] a GMT date in `yyyy-MM-dd'T'HH:mm:ss` format
+     */
+    suspend fun fetchOrdersModifiedAfter(
+        site: SiteModel,
+        modifiedAfterGmt: String?,
+        offset: Int,
+        pageSize: Int
+    ): WooPayload<WooModifiedPage<WCOrderModel>>? {
+        val params = mutableMapOf(
+                "per_page" to pageSize.toString(),
+                "offset" to offset.toString(),
+                "status" to WCOrderStore.DEFAULT_ORDER_STATUS,
+                "orderby" to "modified",
+                "order" to "asc",
+                "dates_are_gmt" to "true",
+                "_fields" to "$ORDER_FIELDS,date_modified_gmt"
+        ).putIfNotEmpty("modified_after" to modifiedAfterGmt)
+        val response = jetpackTunnelGsonRequestBuilder?.syncGetRequest(
+                this,
+                site,
+                WOOCOMMERCE.orders.pathV3,
+                params,
+                Array<OrderApiResponse>::class.java
+        )
+        return when (response) {
+            is JetpackSuccess -> {
+                val orders = response.data?.toList().orEmpty()
+                WooPayload(WooModifiedPage(
+                        orders.map { orderResponseToOrderModel(it).apply { localSiteId = site.id } },
+                        orders.lastOrNull()?.date_modified_gmt
+                ))
+            }
+            is JetpackError -> WooPayload(response.error.toWooError())
+            null -> null
+        }
+    }
+
+    /**
+     * Makes a GET call to `/wc/v3/orders` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
+     * retrieving only the ids of the given orders that still exist, which is how the orders deleted or trashed
+     * on the server are found.
+     *
+     * @param [remoteOrderIds] up to 100 remote order ids
+     */
+    suspend fun fetchExistingOrderIds(
+        site: SiteModel,
+        remoteOrderIds: List<Long>
+    ): WooPayload<List<Long>>? {
+        val params = mapOf(
+                "per_page" to remoteOrderIds.size.toString(),
+                "include" to remoteOrderIds.joinToString(),
+                "status" to WCOrderStore.DEFAULT_ORDER_STATUS,
+                "_fields" to "id"
+        )
+        val response = jetpackTunnelGsonRequestBuilder?.syncGetRequest(
+                this,
+                site,
+                WOOCOMMERCE.orders.pathV3,
+                params,
+                Array<OrderApiResponse>::class.java
+        )
+        return when (response) {
+            is JetpackSuccess -> WooPayload(response.data?.mapNotNull { it.id }.orEmpty())
+            is JetpackError -> WooPayload(response.error.toWooError())
+            null -> null
+        }
+    }
+
     /**
      * Makes a GET call to `/wc/v3/orders/<id>/notes` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
      * retrieving a list of notes for the given WooCommerce [SiteModel] and [WCOrderModel].
@@ -15,6 +15,7 @@ class ProductApiResponse : Response {
 
     var date_created: String? = null
     var date_modified: String? = null
+    var date_modified_gmt: String? = null
 
     var type: String? = null
     var status: String? = null
@@ -30,7 +30,11 @@ import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunne
 import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackError
 import org.wordpress.android.fluxc.network.rest.wpcom.jetpacktunnel.JetpackTunnelGsonRequestBuilder.JetpackResponse.JetpackSuccess
 import org.wordpress.android.fluxc.network.rest.wpcom.post.PostWPComRestResponse
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.BatchApiResponse
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooBatchResult
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooModifiedPage
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooPayload
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.syncBatchUpdateRequest
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.toWooError
 import org.wordpress.android.fluxc.store.WCProductStore
 import org.wordpress.android.fluxc.store.WCProductStore.Companion.DEFAULT_CATEGORY_SORTING
@@ -436,6 +440,64 @@ class ProductRestClient(
                         .requestTo(site, it)
             }?.handleResultFrom(site)
 
+    /**
+     * Makes a GET call to `/wc/v3/products` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
+     * retrieving a page of the products modified after [modifiedAfterGmt], from the least to the most recently
+     * modified, or of all the products if [modifiedAfterGmt] is null.
+     *
+     * Requires WooCommerce 5.8 or later for the dates to be compared in GMT.
+     *
+     * @param [modifiedAfterGmt] a GMT date in `yyyy-MM-dd'T'HH:mm:ss` format
+     */
+    suspend fun fetchProductsModifiedAfter(
+        site: SiteModel,
+        modifiedAfterGmt: String?,
+        offset: Int,
+        pageSize: Int
+    ): WooPayload<WooModifiedPage<WCProductModel>>? {
+        val params = mutableMapOf(
+                "per_page" to pageSize.toString(),
+                "offset" to offset.toString(),
+                "orderby" to "modified",
+                "order" to "asc",
+                "dates_are_gmt" to "true"
+        ).putIfNotEmpty("modified_after" to modifiedAfterGmt)
+        return when (val response = WOOCOMMERCE.products.pathV3.requestTo(site, params)) {
+            is JetpackSuccess -> {
+                val products = response.data?.toList().orEmpty()
+                WooPayload(WooModifiedPage(
+                        products.map { it.asProductModel().apply { localSiteId = site.id } },
+                        products.lastOrNull()?.date_modified_gmt
+                ))
+            }
+            is JetpackError -> WooPayload(response.error.toWooError())
+            null -> null
+        }
+    }
+
+    /**
+     * Makes a GET call to `/wc/v3/products` via the Jetpack tunnel (see [JetpackTunnelGsonRequest]),
+     * retrieving only the ids of the given products that still exist, which is how the products deleted or trashed
+     * on the server are found.
+     *
+     * @param [remoteProductIds] up to 100 remote product ids
+     */
+    suspend fun fetchExistingProductIds(
+        site: SiteModel,
+        remoteProductIds: List<Long>
+    ): WooPayload<List<Long>>? {
+        val params = mapOf(
+                "per_page" to remoteProductIds.size.toString(),
+                "include" to remoteProductIds.joinToString(),
+                "_fields" to "id"
+        )
+        return when (val response = WOOCOMMERCE.products.pathV3.requestTo(site, params)) {
+            is JetpackSuccess -> WooPayload(response.data?.mapNotNull { it.id }.orEmpty())
+            is JetpackError -> WooPayload(response.error.toWooError())
+            null -> null
+        }
+    }
+
     private suspend fun String.requestTo(
         site: SiteModel,
         params: Map<String, String>
@@ -715,6 +777,74 @@ class ProductRestClient(
         add(request)
     }
 
+    /**
+     * Makes POST requests to `/wp-json/wc/v3/products/batch` to update several products at once, in batches of
+     * [BatchApiResponse.MAX_BATCH_SIZE] products
+     *
+     * Each product only sends the fields that differ from its stored model, products without changes aren't sent.
+     *
+     * @param [site] The site the products belong to
+     * @param [storedProducts] the stored models to compare with the [updatedProducts], by remote product id
+     * @param [updatedProducts] the product models that contain the updates
+     */
+    suspend fun batchUpdateProducts(
+        site: SiteModel,
+        storedProducts: Map<Long, WCProductModel>,
+        updatedProducts: List<WCProductModel>
+    ): WooBatchResult<WCProductModel> {
+        val updates = updatedProducts.associate {
+            it.remoteProductId to productModelToProductJsonBody(storedProducts[it.remoteProductId], it)
+        }.filterValues { it.isNotEmpty() }
+        return batchUpdate(site, WOOCOMMERCE.products.batch.pathV3, updates, ProductApiResponse::class.java) {
+            it.asProductModel().apply { localSiteId = site.id }
+        }
+    }
+
+    /**
+     * Makes POST requests to `/wp-json/wc/v3/products/[remoteProductId]/variations/batch` to update several
+     * variations of a product at once, in batches of [BatchApiResponse.MAX_BATCH_SIZE] variations
+     *
+     * Each variation only sends the fields that differ from its stored model, variations without changes aren't sent.
+     *
+     * @param [site] The site the product belongs to
+     * @param [remoteProductId] Unique server id of the product the variations belong to
+     * @param [storedVariations] the stored models to compare with the [updatedVariations], by remote variation id
+     * @param [updatedVariations] the variation models that contain the updates
+     */
+    suspend fun batchUpdateVariations(
+        site: SiteModel,
+        remoteProductId: Long,
+        storedVariations: Map<Long, WCProductVariationModel>,
+        updatedVariations: List<WCProductVariationModel>
+    ): WooBatchResult<WCProductVariationModel> {
+        val updates = updatedVariations.associate {
+            it.remoteVariationId to variantModelToProductJsonBody(storedVariations[it.remoteVariationId], it)
+        }.filterValues { it.isNotEmpty() }
+        val url = WOOCOMMERCE.products.id(remoteProductId).variations.batch.pathV3
+        return batchUpdate(site, url, updates, ProductVariationApiResponse::class.java) {
+            it.asProductVariationModel().apply {
+                this.remoteProductId = remoteProductId
+                localSiteId = site.id
+            }
+        }
+    }
+
+    private suspend fun <R, T> batchUpdate(
+        site: SiteModel,
+        url: String,
+        updates: Map<Long, Map<String, Any>>,
+        clazz: Class<R>,
+        mapItem: (R) -> T
+    ): WooBatchResult<T> {
+        if (updates.isEmpty()) {
+            return WooBatchResult(emptyList(), emptyMap())
+        }
+        val requestBuilder = requireNotNull(jetpackTunnelGsonRequestBuilder) {
+            "Batch updates require a JetpackTunnelGsonRequestBuilder"
+        }
+        return requestBuilder.syncBatchUpdateRequest(this, site, url, updates, clazz, mapItem)
+    }
+
     /**
      * Makes a PUT request to `/wp-json/wc/v3/products/[remoteProductId]` to replace a product's images
      * with the passed media list
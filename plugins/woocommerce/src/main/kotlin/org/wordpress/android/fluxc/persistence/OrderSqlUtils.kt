@@ -21,6 +21,28 @@ import org.wordpress.android.fluxc.model.order.OrderIdSet
 object OrderSqlUtils {
     private const val CHUNK_SIZE = 200
 
+    private val orderUpsert = BulkUpsert(
+            WCOrderModel::class.java,
+            keyOf = { Pair(it.localSiteId, it.remoteOrderId) },
+            loadExistingIds = { orders ->
+                val idsByKey = mutableMapOf<Pair<Int, Long>, Int>()
+                orders.groupBy { it.localSiteId }.forEach { (localSiteId, siteOrders) ->
+                    siteOrders.map { it.remoteOrderId }.distinct().chunked(CHUNK_SIZE).forEach { ids ->
+                        WellSql.select(WCOrderModel::class.java)
+                                .columns(WCOrderModelTable.ID, WCOrderModelTable.REMOTE_ORDER_ID)
+                                .where().beginGroup()
+                                .equals(WCOrderModelTable.LOCAL_SITE_ID, localSiteId)
+                                .isIn(WCOrderModelTable.REMOTE_ORDER_ID, ids)
+                                .endGroup().endWhere()
+                                .orderBy(WCOrderModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                                .asModel
+                                .forEach { idsByKey.getOrPut(Pair(localSiteId, it.remoteOrderId)) { it.id } }
+                    }
+                }
+                idsByKey
+            }
+    )
+
     fun insertOrUpdateOrderSummaries(orderSummaries: List<WCOrderSummaryModel>) {
         WellSql.insert(orderSummaries).asSingleTransaction(true).execute()
     }
@@ -82,6 +104,11 @@ object OrderSqlUtils {
         }
     }
 
+    /**
+     * Inserts or updates the given orders in a single transaction, see [BulkUpsert].
+     */
+    fun insertOrUpdateOrders(orders: List<WCOrderModel>) = orderUpsert.insertOrUpdate(orders)
+
     fun getOrderForIdSet(orderIdSet: OrderIdSet): WCOrderModel? {
         val (id, remoteOrderId, localSiteId) = orderIdSet
         return WellSql.select(WCOrderModel::class.java)
@@ -132,6 +159,30 @@ object OrderSqlUtils {
                 .execute()
     }
 
+    /**
+     * Returns the remote ids of the stored orders of the site, without loading the orders.
+     */
+    fun getOrderRemoteIdsForSite(site: SiteModel): List<Long> {
+        return WellSql.select(WCOrderModel::class.java)
+                .columns(WCOrderModelTable.REMOTE_ORDER_ID)
+                .where()
+                .equals(WCOrderModelTable.LOCAL_SITE_ID, site.id)
+                .endWhere()
+                .asModel
+                .map { it.remoteOrderId }
+    }
+
+    fun deleteOrdersForSiteByRemoteIds(site: SiteModel, remoteOrderIds: List<Long>): Int {
+        return remoteOrderIds.chunked(CHUNK_SIZE).sumBy { ids ->
+            WellSql.delete(WCOrderModel::class.java)
+                    .where()
+                    .equals(WCOrderModelTable.LOCAL_SITE_ID, site.id)
+                    .isIn(WCOrderModelTable.REMOTE_ORDER_ID, ids)
+                    .endWhere()
+                    .execute()
+        }
+    }
+
     fun getOrderCountForSite(site: SiteModel): Int {
         return WellSql.select(WCOrderModel::class.java)
                 .where()
@@ -18,6 +18,7 @@ import org.wordpress.android.fluxc.model.WCProductReviewModel
 import org.wordpress.android.fluxc.model.WCProductShippingClassModel
 import org.wordpress.android.fluxc.model.WCProductTagModel
 import org.wordpress.android.fluxc.model.WCProductVariationModel
+import org.wordpress.android.fluxc.persistence.BulkUpsert.Companion.MAX_QUERY_ARGUMENTS
 import org.wordpress.android.fluxc.store.WCProductStore.Companion.DEFAULT_CATEGORY_SORTING
 import org.wordpress.android.fluxc.store.WCProductStore.Companion.DEFAULT_PRODUCT_SORTING
 import org.wordpress.android.fluxc.store.WCProductStore.ProductCategorySorting
@@ -32,6 +33,85 @@ import org.wordpress.android.fluxc.store.WCProductStore.ProductSorting.TITLE_DES
 import java.util.Locale
 
 object ProductSqlUtils {
+    private val productUpsert = BulkUpsert(
+            WCProductModel::class.java,
+            keyOf = { Pair(it.localSiteId, it.remoteProductId) },
+            loadExistingIds = { products ->
+                val idsByKey = mutableMapOf<Pair<Int, Long>, Int>()
+                products.groupBy { it.localSiteId }.forEach { (localSiteId, siteProducts) ->
+                    siteProducts.map { it.remoteProductId }.distinct().chunked(MAX_QUERY_ARGUMENTS).forEach { ids ->
+                        WellSql.select(WCProductModel::class.java)
+                                .columns(WCProductModelTable.ID, WCProductModelTable.REMOTE_PRODUCT_ID)
+                                .where().beginGroup()
+                                .equals(WCProductModelTable.LOCAL_SITE_ID, localSiteId)
+                                .isIn(WCProductModelTable.REMOTE_PRODUCT_ID, ids)
+                                .endGroup().endWhere()
+                                .orderBy(WCProductModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                                .asModel
+                                .forEach { idsByKey.getOrPut(Pair(localSiteId, it.remoteProductId)) { it.id } }
+                    }
+                }
+                idsByKey
+            }
+    )
+
+    private val variationUpsert = BulkUpsert(
+            WCProductVariationModel::class.java,
+            keyOf = { Triple(it.localSiteId, it.remoteProductId, it.remoteVariationId) },
+            loadExistingIds = { variations ->
+                val idsByKey = mutableMapOf<Triple<Int, Long, Long>, Int>()
+                variations.groupBy { it.localSiteId }.forEach { (localSiteId, siteVariations) ->
+                    val remoteIds = siteVariations.map { it.remoteVariationId }.distinct()
+                    remoteIds.chunked(MAX_QUERY_ARGUMENTS).forEach { ids ->
+                        WellSql.select(WCProductVariationModel::class.java)
+                                .columns(
+                                        WCProductVariationModelTable.ID,
+                                        WCProductVariationModelTable.REMOTE_PRODUCT_ID,
+                                        WCProductVariationModelTable.REMOTE_VARIATION_ID
+                                )
+                                .where().beginGroup()
+                                .equals(WCProductVariationModelTable.LOCAL_SITE_ID, localSiteId)
+                                .isIn(WCProductVariationModelTable.REMOTE_VARIATION_ID, ids)
+                                .endGroup().endWhere()
+                                .orderBy(WCProductVariationModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                                .asModel
+                                .forEach {
+                                    idsByKey.getOrPut(Triple(localSiteId, it.remoteProductId, it.remoteVariationId)) {
+                                        it.id
+                                    }
+                                }
+                    }
+                }
+                idsByKey
+            }
+    )
+
+    private val reviewUpsert = BulkUpsert(
+            WCProductReviewModel::class.java,
+            keyOf = { Pair(it.localSiteId, it.remoteProductReviewId) },
+            loadExistingIds = { reviews ->
+                val idsByKey = mutableMapOf<Pair<Int, Long>, Int>()
+                reviews.groupBy { it.localSiteId }.forEach { (localSiteId, siteReviews) ->
+                    val remoteIds = siteReviews.map { it.remoteProductReviewId }.distinct()
+                    remoteIds.chunked(MAX_QUERY_ARGUMENTS).forEach { ids ->
+                        WellSql.select(WCProductReviewModel::class.java)
+                                .columns(
+                                        WCProductReviewModelTable.ID,
+                                        WCProductReviewModelTable.REMOTE_PRODUCT_REVIEW_ID
+                                )
+                                .where().beginGroup()
+                                .equals(WCProductReviewModelTable.LOCAL_SITE_ID, localSiteId)
+                                .isIn(WCProductReviewModelTable.REMOTE_PRODUCT_REVIEW_ID, ids)
+                                .endGroup().endWhere()
+                                .orderBy(WCProductReviewModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                                .asModel
+                                .forEach { idsByKey.getOrPut(Pair(localSiteId, it.remoteProductReviewId)) { it.id } }
+                    }
+                }
+                idsByKey
+            }
+    )
+
     fun insertOrUpdateProduct(product: WCProductModel): Int {
         val productResult = WellSql.select(WCProductModel::class.java)
                 .where().beginGroup()
@@ -60,13 +140,14 @@ object ProductSqlUtils {
     }
 
     fun insertOrUpdateProducts(products: List<WCProductModel>): Int {
-        var rowsAffected = 0
-        products.forEach {
-            rowsAffected += insertOrUpdateProduct(it)
-        }
-        return rowsAffected
+        return bulkInsertOrUpdateProducts(products).rowsAffected
     }
 
+    /**
+     * Inserts or updates the given products in a single transaction, see [BulkUpsert].
+     */
+    fun bulkInsertOrUpdateProducts(products: List<WCProductModel>) = productUpsert.insertOrUpdate(products)
+
     fun getProductByRemoteId(site: SiteModel, remoteProductId: Long): WCProductModel? {
         return WellSql.select(WCProductModel::class.java)
                 .where().beginGroup()
@@ -255,13 +336,15 @@ object ProductSqlUtils {
     }
 
     fun insertOrUpdateProductVariations(variations: List<WCProductVariationModel>): Int {
-        var rowsAffected = 0
-        variations.forEach {
-            rowsAffected += insertOrUpdateProductVariation(it)
-        }
-        return rowsAffected
+        return bulkInsertOrUpdateProductVariations(variations).rowsAffected
     }
 
+    /**
+     * Inserts or updates the given variations in a single transaction, see [BulkUpsert].
+     */
+    fun bulkInsertOrUpdateProductVariations(variations: List<WCProductVariationModel>) =
+            variationUpsert.insertOrUpdate(variations)
+
     fun getVariationsForProduct(site: SiteModel, remoteProductId: Long): List<WCProductVariationModel> {
         return WellSql.select(WCProductVariationModel::class.java)
                 .where()
@@ -292,13 +375,15 @@ object ProductSqlUtils {
     }
 
     fun insertOrUpdateProductReviews(productReviews: List<WCProductReviewModel>): Int {
-        var rowsAffected = 0
-        productReviews.forEach {
-            rowsAffected += insertOrUpdateProductReview(it)
-        }
-        return rowsAffected
+        return bulkInsertOrUpdateProductReviews(productReviews).rowsAffected
     }
 
+    /**
+     * Inserts or updates the given product reviews in a single transaction, see [BulkUpsert].
+     */
+    fun bulkInsertOrUpdateProductReviews(productReviews: List<WCProductReviewModel>) =
+            reviewUpsert.insertOrUpdate(productReviews)
+
     fun insertOrUpdateProductReview(productReview: WCProductReviewModel): Int {
         val result = WellSql.select(WCProductReviewModel::class.java)
                 .where().beginGroup()
@@ -409,6 +494,30 @@ object ProductSqlUtils {
         return updateProductImages(product, imageList) > 0
     }
 
+    /**
+     * Returns the remote ids of the stored products of the site, without loading the products.
+     */
+    fun getProductRemoteIdsForSite(site: SiteModel): List<Long> {
+        return WellSql.select(WCProductModel::class.java)
+                .columns(WCProductModelTable.REMOTE_PRODUCT_ID)
+                .where()
+                .equals(WCProductModelTable.LOCAL_SITE_ID, site.id)
+                .endWhere()
+                .asModel
+                .map { it.remoteProductId }
+    }
+
+    fun deleteProductsByRemoteIds(site: SiteModel, remoteProductIds: List<Long>): Int {
+        return remoteProductIds.chunked(MAX_QUERY_ARGUMENTS).sumBy { ids ->
+            WellSql.delete(WCProductModel::class.java)
+                    .where()
+                    .equals(WCProductModelTable.LOCAL_SITE_ID, site.id)
+                    .isIn(WCProductModelTable.REMOTE_PRODUCT_ID, ids)
+                    .endWhere()
+                    .execute()
+        }
+    }
+
     fun deleteProduct(site: SiteModel, remoteProductId: Long): Int {
         return WellSql.delete(WCProductModel::class.java)
                 .where()
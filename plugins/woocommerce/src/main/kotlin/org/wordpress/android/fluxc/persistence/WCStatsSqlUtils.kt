@@ -1,15 +1,46 @@
 package org.wordpress.android.fluxc.persistence
 
 import com.wellsql.generated.WCOrderStatsModelTable
+import com.wellsql.generated.WCRevenueStatsIntervalModelTable
 import com.wellsql.generated.WCRevenueStatsModelTable
+import com.yarolegovich.wellsql.SelectQuery
 import com.yarolegovich.wellsql.WellSql
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.WCOrderStatsModel
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel.Field
 import org.wordpress.android.fluxc.model.WCRevenueStatsModel
+import org.wordpress.android.fluxc.persistence.BulkUpsert.Companion.MAX_QUERY_ARGUMENTS
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.orderstats.OrderStatsRestClient.OrderStatsApiUnit
 import org.wordpress.android.fluxc.store.WCStatsStore.StatsGranularity
 
 object WCStatsSqlUtils {
+    private const val DATE_ONLY_LENGTH = 10 // "2019-07-07"
+
+    private val revenueStatsIntervalUpsert = BulkUpsert(
+            WCRevenueStatsIntervalModel::class.java,
+            keyOf = { Triple(it.localSiteId, it.interval, it.period) },
+            loadExistingIds = { intervals ->
+                val idsByKey = mutableMapOf<Triple<Int, String, String>, Int>()
+                intervals.groupBy { Pair(it.localSiteId, it.interval) }.forEach { (siteAndInterval, siteIntervals) ->
+                    val (localSiteId, interval) = siteAndInterval
+                    siteIntervals.map { it.period }.distinct().chunked(MAX_QUERY_ARGUMENTS).forEach { periods ->
+                        WellSql.select(WCRevenueStatsIntervalModel::class.java)
+                                .columns(WCRevenueStatsIntervalModelTable.ID, WCRevenueStatsIntervalModelTable.PERIOD)
+                                .where().beginGroup()
+                                .equals(WCRevenueStatsIntervalModelTable.LOCAL_SITE_ID, localSiteId)
+                                .equals(WCRevenueStatsIntervalModelTable.INTERVAL, interval)
+                                .isIn(WCRevenueStatsIntervalModelTable.PERIOD, periods)
+                                .endGroup().endWhere()
+                                .orderBy(WCRevenueStatsIntervalModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                                .asModel
+                                .forEach { idsByKey.getOrPut(Triple(localSiteId, interval, it.period)) { it.id } }
+                    }
+                }
+                idsByKey
+            }
+    )
+
     fun insertOrUpdateStats(stats: WCOrderStatsModel): Int {
         val statsResult = if (stats.isCustomField) {
             WellSql.select(WCOrderStatsModel::class.java)
@@ -155,4 +186,142 @@ object WCStatsSqlUtils {
                 .endGroup().endWhere()
                 .asModel.firstOrNull()
     }
+
+    /**
+     * Merges the periods of the given revenue stats into the revenue stats intervals of its site, in a single
+     * transaction. Periods that were already stored are replaced, the others are added.
+     *
+     * Periods are stored by the interval they were fetched with (see
+     * [OrderStatsApiUnit.convertToRevenueStatsInterval]), so e.g. the days of the week and month stats end up in
+     * the same series.
+     *
+     * @return The number of periods inserted or updated
+     */
+    fun insertOrUpdateRevenueStatsIntervals(stats: WCRevenueStatsModel): Int {
+        val granularity = StatsGranularity.values().firstOrNull { it.toString() == stats.interval } ?: return 0
+        val unit = OrderStatsApiUnit.convertToRevenueStatsInterval(granularity)
+        val intervals = stats.getIntervalList().mapNotNull { interval ->
+            val period = interval.interval ?: return@mapNotNull null
+            WCRevenueStatsIntervalModel().apply {
+                localSiteId = stats.localSiteId
+                this.interval = unit.toString()
+                this.period = period
+                dateStart = interval.dateStart ?: ""
+                dateEnd = interval.dateEnd ?: ""
+                ordersCount = interval.subtotals?.ordersCount ?: 0L
+                numItemsSold = interval.subtotals?.numItemsSold ?: 0L
+                totalSales = interval.subtotals?.totalSales ?: 0.0
+                netRevenue = interval.subtotals?.netRevenue ?: 0.0
+            }
+        }
+        return revenueStatsIntervalUpsert.insertOrUpdate(intervals).rowsAffected
+    }
+
+    /**
+     * Returns the stored periods of the given [unit] that start between [startDate] and [endDate] (inclusive),
+     * ordered by start date. Dates are formatted as "2019-07-07 00:00:00". A date alone ("2019-07-07") matches
+     * the whole day: from its start as a [startDate], and up to its end as an [endDate].
+     */
+    fun getRevenueStatsIntervals(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        startDate: String,
+        endDate: String
+    ): List<WCRevenueStatsIntervalModel> {
+        return WellSql.select(WCRevenueStatsIntervalModel::class.java)
+                .where()
+                .beginGroup()
+                .equals(WCRevenueStatsIntervalModelTable.LOCAL_SITE_ID, site.id)
+                .equals(WCRevenueStatsIntervalModelTable.INTERVAL, unit.toString())
+                .greaterThenOrEqual(WCRevenueStatsIntervalModelTable.DATE_START, startDate)
+                .lessThenOrEqual(WCRevenueStatsIntervalModelTable.DATE_START, endDate.toEndOfDay())
+                .endGroup().endWhere()
+                .orderBy(WCRevenueStatsIntervalModelTable.DATE_START, SelectQuery.ORDER_ASCENDING)
+                .asModel
+    }
+
+    /**
+     * Returns a single metric of the stored periods of the given [unit] that start between [startDate] and
+     * [endDate] (inclusive, see [getRevenueStatsIntervals]), keyed by period and ordered by start date. Only the
+     * period and the metric column are read.
+     */
+    fun getRevenueStatsSeries(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        field: Field,
+        startDate: String,
+        endDate: String
+    ): Map<String, Double> {
+        val series = LinkedHashMap<String, Double>()
+        WellSql.giveMeReadableDb().rawQuery(
+                "SELECT PERIOD, ${field.column} FROM WCRevenueStatsIntervalModel " +
+                        "WHERE LOCAL_SITE_ID = ? AND INTERVAL = ? AND DATE_START >= ? AND DATE_START <= ? " +
+                        "ORDER BY DATE_START",
+                arrayOf(site.id.toString(), unit.toString(), startDate, endDate.toEndOfDay())
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                series[cursor.getString(0)] = cursor.getDouble(1)
+            }
+        }
+        return series
+    }
+
+    /**
+     * Rolls the stored daily periods starting between [startDate] and [endDate] (inclusive, see
+     * [getRevenueStatsIntervals]) up into periods of the given [unit], ordered by start date. Days are grouped into
+     * weeks starting on Monday, labeled with their ISO year and week as WooCommerce does ("2019-27"), months
+     * ("2019-07") or years ("2019"), and the metrics of the days of each period are summed. Hours and days are
+     * returned as stored.
+     *
+     * Only the days that are stored are summed, so a period is partial unless all of its days were fetched.
+     */
+    fun getRevenueStatsRollupOfStoredDays(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        startDate: String,
+        endDate: String
+    ): List<WCRevenueStatsIntervalModel> {
+        val periodExpression = when (unit) {
+            OrderStatsApiUnit.HOUR, OrderStatsApiUnit.DAY ->
+                return getRevenueStatsIntervals(site, unit, startDate, endDate)
+            OrderStatsApiUnit.WEEK -> {
+                // A week belongs to the ISO year of its Thursday, and is numbered from the first week of that year
+                val thursday = "date(DATE_START, '-6 days', 'weekday 1', '+3 days')"
+                "strftime('%Y', $thursday) || '-' || printf('%02d', (strftime('%j', $thursday) - 1) / 7 + 1)"
+            }
+            OrderStatsApiUnit.MONTH -> "substr(DATE_START, 1, 7)"
+            OrderStatsApiUnit.YEAR -> "substr(DATE_START, 1, 4)"
+        }
+
+        val rollup = mutableListOf<WCRevenueStatsIntervalModel>()
+        WellSql.giveMeReadableDb().rawQuery(
+                "SELECT $periodExpression AS ROLLUP_PERIOD, MIN(DATE_START), MAX(DATE_END), SUM(ORDERS_COUNT), " +
+                        "SUM(NUM_ITEMS_SOLD), SUM(TOTAL_SALES), SUM(NET_REVENUE) " +
+                        "FROM WCRevenueStatsIntervalModel " +
+                        "WHERE LOCAL_SITE_ID = ? AND INTERVAL = ? AND DATE_START >= ? AND DATE_START <= ? " +
+                        "GROUP BY ROLLUP_PERIOD ORDER BY MIN(DATE_START)",
+                arrayOf(site.id.toString(), OrderStatsApiUnit.DAY.toString(), startDate, endDate.toEndOfDay())
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                rollup.add(WCRevenueStatsIntervalModel().apply {
+                    localSiteId = site.id
+                    interval = unit.toString()
+                    period = cursor.getString(0)
+                    dateStart = cursor.getString(1)
+                    dateEnd = cursor.getString(2)
+                    ordersCount = cursor.getLong(3)
+                    numItemsSold = cursor.getLong(4)
+                    totalSales = cursor.getDouble(5)
+                    netRevenue = cursor.getDouble(6)
+                })
+            }
+        }
+        return rollup
+    }
+
+    /**
+     * Dates are compared as strings, so a date alone sorts before every time of that day: it's extended to the end
+     * of the day to include them.
+     */
+    private fun String.toEndOfDay() = if (length == DATE_ONLY_LENGTH) "$this 23:59:59" else this
 }
@@ -0,0 +1,45 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.wellsql.generated.WCSyncStateModelTable
+import com.yarolegovich.wellsql.WellSql
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel.SyncedEntity
+
+object WCSyncStateSqlUtils {
+    fun insertOrUpdateSyncState(state: WCSyncStateModel): Int {
+        val result = WellSql.select(WCSyncStateModel::class.java)
+                .where()
+                .equals(WCSyncStateModelTable.LOCAL_SITE_ID, state.localSiteId)
+                .equals(WCSyncStateModelTable.ENTITY, state.entity)
+                .endWhere()
+                .asModel.firstOrNull()
+
+        return if (result == null) {
+            WellSql.insert(state).asSingleTransaction(true).execute()
+            1
+        } else {
+            val oldId = result.id
+            WellSql.update(WCSyncStateModel::class.java).whereId(oldId)
+                    .put(state, UpdateAllExceptId(WCSyncStateModel::class.java)).execute()
+        }
+    }
+
+    fun getSyncState(site: SiteModel, entity: SyncedEntity): WCSyncStateModel? {
+        return WellSql.select(WCSyncStateModel::class.java)
+                .where()
+                .equals(WCSyncStateModelTable.LOCAL_SITE_ID, site.id)
+                .equals(WCSyncStateModelTable.ENTITY, entity.name)
+                .endWhere()
+                .asModel.firstOrNull()
+    }
+
+    fun deleteSyncState(site: SiteModel, entity: SyncedEntity): Int {
+        return WellSql.delete(WCSyncStateModel::class.java)
+                .where()
+                .equals(WCSyncStateModelTable.LOCAL_SITE_ID, site.id)
+                .equals(WCSyncStateModelTable.ENTITY, entity.name)
+                .endWhere()
+                .execute()
+    }
+}
@@ -0,0 +1,118 @@
+package org.wordpress.android.fluxc.store
+
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel.SyncedEntity
+import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.UNKNOWN
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooError
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooErrorType.GENERIC_ERROR
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooModifiedPage
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooPayload
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooResult
+import org.wordpress.android.fluxc.persistence.WCSyncStateSqlUtils
+import org.wordpress.android.fluxc.utils.DateCodec
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.TimeUnit
+
+/**
+ * Result of [WCDeltaSync.sync]: the number of records fetched and saved, and the number of records removed because
+ * they were deleted or trashed on the server.
+ */
+data class WCDeltaSyncResult(val updatedCount: Int, val deletedCount: Int)
+
+/**
+ * Keeps the stored records of one [entity] of a site up to date by fetching only the records modified since the
+ * last sync, so the cost of a refresh depends on the number of changes rather than on the number of records.
+ *
+ * The GMT modification date of the last record saved is kept per site in a [WCSyncStateModel], and records are
+ * fetched from the least to the most recently modified. Each page continues from the modification date of the last
+ * record of the previous page rather than from an offset, so records modified while the sync is running can't shift
+ * records out of the pages not fetched yet.
+ *
+ * Records deleted or trashed on the server are never returned as modified, so the stored records are looked up by id
+ * at most once every [RECONCILE_INTERVAL_MILLIS], and the ones the server no longer returns are removed.
+ */
+internal class WCDeltaSync<T>(
+    private val entity: SyncedEntity,
+    private val fetchModifiedPage: suspend (
+        site: SiteModel,
+        modifiedAfterGmt: String?,
+        offset: Int,
+        pageSize: Int
+    ) -> WooPayload<WooModifiedPage<T>>?,
+    private val fetchExistingIds: suspend (site: SiteModel, remoteIds: List<Long>) -> WooPayload<List<Long>>?,
+    private val getStoredIds: (site: SiteModel) -> List<Long>,
+    private val saveRecords: (records: List<T>) -> Unit,
+    private val deleteRecords: (site: SiteModel, remoteIds: List<Long>) -> Unit,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis
+) {
+    companion object {
+        const val PAGE_SIZE = 100
+        val RECONCILE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(24)
+
+        /**
+         * Modification dates have a precision of one second, so pages are fetched from one second before the last
+         * date seen, not to miss records modified in the same second as the last record of a page.
+         */
+        private const val OVERLAP_SECONDS = 1
+        private val GMT_DATE = DateCodec("yyyy-MM-dd'T'HH:mm:ss", Locale.US, TimeZone.getTimeZone("GMT"))
+    }
+
+    suspend fun sync(site: SiteModel): WooResult<WCDeltaSyncResult> {
+        val state = WCSyncStateSqlUtils.getSyncState(site, entity) ?: WCSyncStateModel().apply {
+            localSiteId = site.id
+            entity = this@WCDeltaSync.entity.name
+        }
+
+        var updatedCount = 0
+        var offset = 0
+        do {
+            val cursor = state.modifiedAfterGmt
+            val payload = fetchModifiedPage(site, cursor.minusOverlap(), offset, PAGE_SIZE)
+            val page = payload?.result ?: return WooResult(payload?.error ?: WooError(GENERIC_ERROR, UNKNOWN))
+            saveRecords(page.items)
+            updatedCount += page.items.size
+
+            val lastModifiedGmt = page.lastModifiedGmt.orEmpty()
+            if (lastModifiedGmt > cursor) {
+                // Every record modified before this date is saved, the next page starts from it
+                state.modifiedAfterGmt = lastModifiedGmt
+                WCSyncStateSqlUtils.insertOrUpdateSyncState(state)
+                offset = 0
+            } else {
+                // The whole page was modified in the same second, page through the records of that second
+                offset += page.items.size
+            }
+        } while (page.items.size == PAGE_SIZE)
+
+        var deletedCount = 0
+        val now = currentTimeMillis()
+        if (now - state.dateReconciled >= RECONCILE_INTERVAL_MILLIS) {
+            val deletedIds = mutableListOf<Long>()
+            getStoredIds(site).chunked(PAGE_SIZE).forEach { remoteIds ->
+                val payload = fetchExistingIds(site, remoteIds)
+                val existingIds = payload?.result?.toSet() ?: run {
+                    deleteRecords(site, deletedIds)
+                    return WooResult(payload?.error ?: WooError(GENERIC_ERROR, UNKNOWN))
+                }
+                remoteIds.filterTo(deletedIds) { it !in existingIds }
+            }
+            deleteRecords(site, deletedIds)
+            deletedCount = deletedIds.size
+            state.dateReconciled = now
+        }
+        WCSyncStateSqlUtils.insertOrUpdateSyncState(state)
+
+        return WooResult(WCDeltaSyncResult(updatedCount, deletedCount))
+    }
+
+    private fun String.minusOverlap(): String? {
+        if (isEmpty()) {
+            return null
+        }
+        val date = GMT_DATE.parse(this)
+        date.time -= TimeUnit.SECONDS.toMillis(OVERLAP_SECONDS.toLong())
+        return GMT_DATE.format(date)
+    }
+}
@@ -17,15 +17,20 @@ import org.wordpress.android.fluxc.model.WCOrderShipmentProviderModel
 import org.wordpress.android.fluxc.model.WCOrderShipmentTrackingModel
 import org.wordpress.android.fluxc.model.WCOrderStatusModel
 import org.wordpress.android.fluxc.model.WCOrderSummaryModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel.SyncedEntity
 import org.wordpress.android.fluxc.model.order.OrderIdentifier
 import org.wordpress.android.fluxc.model.order.toIdSet
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooBatchResult
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooResult
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.order.OrderRestClient
 import org.wordpress.android.fluxc.persistence.OrderSqlUtils
+import org.wordpress.android.fluxc.persistence.WCSyncStateSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.FetchedListItemsPayload
 import org.wordpress.android.fluxc.store.ListStore.ListError
 import org.wordpress.android.fluxc.store.ListStore.ListErrorType
 import org.wordpress.android.fluxc.store.WCOrderStore.OrderErrorType.GENERIC_ERROR
+import org.wordpress.android.fluxc.tools.CoroutineEngine
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T
 import java.util.Locale
@@ -33,8 +38,11 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
-class WCOrderStore @Inject constructor(dispatcher: Dispatcher, private val wcOrderRestClient: OrderRestClient) :
-        Store(dispatcher) {
+class WCOrderStore @Inject constructor(
+    dispatcher: Dispatcher,
+    private val wcOrderRestClient: OrderRestClient,
+    private val coroutineEngine: CoroutineEngine
+) : Store(dispatcher) {
     companion object {
         const val NUM_ORDERS_PER_FETCH = 15
         const val DEFAULT_ORDER_STATUS = "any"
@@ -486,6 +494,59 @@ class WCOrderStore @Inject constructor(dispatcher: Dispatcher, private val wcOrd
         with(payload) { wcOrderRestClient.updateOrderStatus(localOrderId, remoteOrderId, site, status) }
     }
 
+    private val orderSync = WCDeltaSync<WCOrderModel>(
+            SyncedEntity.ORDERS,
+            fetchModifiedPage = { site, modifiedAfterGmt, offset, pageSize ->
+                wcOrderRestClient.fetchOrdersModifiedAfter(site, modifiedAfterGmt, offset, pageSize)
+            },
+            fetchExistingIds = { site, remoteIds -> wcOrderRestClient.fetchExistingOrderIds(site, remoteIds) },
+            getStoredIds = OrderSqlUtils::getOrderRemoteIdsForSite,
+            saveRecords = { OrderSqlUtils.insertOrUpdateOrders(it) },
+            deleteRecords = { site, remoteIds -> OrderSqlUtils.deleteOrdersForSiteByRemoteIds(site, remoteIds) }
+    )
+
+    /**
+     * Fetches the orders of the site modified since the last sync and saves them, and removes the orders deleted
+     * on the server, see [WCDeltaSync]. The first sync of a site fetches all of its orders.
+     *
+     * Unlike [fetchOutdatedOrders], this also catches the changes to orders that aren't in the first pages of a list.
+     */
+    suspend fun syncModifiedOrders(site: SiteModel): WooResult<WCDeltaSyncResult> {
+        return coroutineEngine.withDefaultContext(T.API, this, "syncModifiedOrders") {
+            orderSync.sync(site).also {
+                val result = it.model
+                if (result != null && result.updatedCount + result.deletedCount > 0) {
+                    val listTypeIdentifier = WCOrderListDescriptor.calculateTypeIdentifier(localSiteId = site.id)
+                    mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(listTypeIdentifier))
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the status of several orders at once, with as few requests to the batch endpoint of the API as
+     * possible.
+     *
+     * The orders the server updated are saved in a single transaction, then [OnOrderChanged] is emitted and the
+     * order lists of the site are invalidated, as for a single status update. The orders it rejected aren't saved,
+     * their errors are reported in [WooBatchResult.errors] by remote order id.
+     *
+     * @param [statuses] the new status of each order, by remote order id
+     */
+    suspend fun batchUpdateOrderStatuses(site: SiteModel, statuses: Map<Long, String>): WooBatchResult<WCOrderModel> {
+        return coroutineEngine.withDefaultContext(T.API, this, "batchUpdateOrderStatuses") {
+            wcOrderRestClient.batchUpdateOrderStatuses(site, statuses).also {
+                if (it.updatedItems.isNotEmpty()) {
+                    val rowsAffected = OrderSqlUtils.insertOrUpdateOrders(it.updatedItems).rowsAffected
+                    emitChange(OnOrderChanged(rowsAffected).apply { causeOfChange = WCOrderAction.UPDATE_ORDER_STATUS })
+
+                    val listTypeIdentifier = WCOrderListDescriptor.calculateTypeIdentifier(localSiteId = site.id)
+                    mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(listTypeIdentifier))
+                }
+            }
+        }
+    }
+
     private fun fetchOrderNotes(payload: FetchOrderNotesPayload) {
         with(payload) { wcOrderRestClient.fetchOrderNotes(localOrderId, remoteOrderId, site) }
     }
@@ -531,11 +592,13 @@ class WCOrderStore @Inject constructor(dispatcher: Dispatcher, private val wcOrd
             // or if the user manual changed some order IDs)
             if (!payload.loadedMore) {
                 OrderSqlUtils.deleteOrdersForSite(payload.site)
+                // The orders modified before the last sync may not be stored anymore, the next sync fetches them all
+                WCSyncStateSqlUtils.deleteSyncState(payload.site, SyncedEntity.ORDERS)
                 OrderSqlUtils.deleteOrderNotesForSite(payload.site)
                 OrderSqlUtils.deleteOrderShipmentTrackingsForSite(payload.site)
             }
 
-            val rowsAffected = payload.orders.sumBy { OrderSqlUtils.insertOrUpdateOrder(it) }
+            val rowsAffected = OrderSqlUtils.insertOrUpdateOrders(payload.orders).rowsAffected
 
             onOrderChanged = OnOrderChanged(rowsAffected, payload.statusFilter, canLoadMore = payload.canLoadMore)
         }
@@ -590,7 +653,7 @@ class WCOrderStore @Inject constructor(dispatcher: Dispatcher, private val wcOrd
 
         if (!payload.isError) {
             // Save the list of orders to the database
-            payload.fetchedOrders.forEach { OrderSqlUtils.insertOrUpdateOrder(it) }
+            OrderSqlUtils.insertOrUpdateOrders(payload.fetchedOrders)
 
             // Notify listeners that the list of orders has changed (only call this if there is no error)
             val listTypeIdentifier = WCOrderListDescriptor.calculateTypeIdentifier(localSiteId = payload.site.id)
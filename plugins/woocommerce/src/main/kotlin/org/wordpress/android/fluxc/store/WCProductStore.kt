@@ -14,10 +14,16 @@ import org.wordpress.android.fluxc.model.WCProductReviewModel
 import org.wordpress.android.fluxc.model.WCProductShippingClassModel
 import org.wordpress.android.fluxc.model.WCProductTagModel
 import org.wordpress.android.fluxc.model.WCProductVariationModel
+import org.wordpress.android.fluxc.model.WCSyncStateModel.SyncedEntity
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooBatchResult
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooError
+import org.wordpress.android.fluxc.network.rest.wpcom.wc.WooResult
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.ProductRestClient
+import org.wordpress.android.fluxc.persistence.BulkUpsert.Companion.MAX_QUERY_ARGUMENTS
 import org.wordpress.android.fluxc.persistence.ProductSqlUtils
 import org.wordpress.android.fluxc.persistence.ProductSqlUtils.insertOrUpdateProductVariation
+import org.wordpress.android.fluxc.persistence.WCSyncStateSqlUtils
 import org.wordpress.android.fluxc.store.WCProductStore.ProductCategorySorting.NAME_ASC
 import org.wordpress.android.fluxc.store.WCProductStore.ProductErrorType.GENERIC_ERROR
 import org.wordpress.android.fluxc.store.WCProductStore.ProductSorting.TITLE_ASC
@@ -864,6 +870,79 @@ class WCProductStore @Inject constructor(
         }
     }
 
+    private val productSync = WCDeltaSync<WCProductModel>(
+            SyncedEntity.PRODUCTS,
+            fetchModifiedPage = { site, modifiedAfterGmt, offset, pageSize ->
+                wcProductRestClient.fetchProductsModifiedAfter(site, modifiedAfterGmt, offset, pageSize)
+            },
+            fetchExistingIds = { site, remoteIds -> wcProductRestClient.fetchExistingProductIds(site, remoteIds) },
+            getStoredIds = ProductSqlUtils::getProductRemoteIdsForSite,
+            saveRecords = { ProductSqlUtils.bulkInsertOrUpdateProducts(it) },
+            deleteRecords = { site, remoteIds -> ProductSqlUtils.deleteProductsByRemoteIds(site, remoteIds) }
+    )
+
+    /**
+     * Fetches the products of the site modified since the last sync and saves them, and removes the products deleted
+     * on the server, see [WCDeltaSync]. The first sync of a site fetches all of its products.
+     */
+    suspend fun syncModifiedProducts(site: SiteModel): WooResult<WCDeltaSyncResult>? {
+        return coroutineEngine?.withDefaultContext(T.API, this, "syncModifiedProducts") {
+            productSync.sync(site)
+        }
+    }
+
+    /**
+     * Updates several products at once, with as few requests to the batch endpoint of the API as possible.
+     *
+     * The products the server updated are saved in a single transaction. The products it rejected aren't saved, their
+     * errors are reported in [WooBatchResult.errors] by remote product id.
+     */
+    suspend fun batchUpdateProducts(
+        site: SiteModel,
+        products: List<WCProductModel>
+    ): WooBatchResult<WCProductModel>? {
+        return coroutineEngine?.withDefaultContext(T.API, this, "batchUpdateProducts") {
+            val storedProducts = products.map { it.remoteProductId }
+                    .distinct()
+                    .chunked(MAX_QUERY_ARGUMENTS)
+                    .flatMap { ProductSqlUtils.getProductsByRemoteIds(site, it) }
+                    .associateBy { it.remoteProductId }
+            wcProductRestClient.batchUpdateProducts(site, storedProducts, products).also {
+                ProductSqlUtils.bulkInsertOrUpdateProducts(it.updatedItems)
+            }
+        }
+    }
+
+    /**
+     * Updates several variations at once, with as few requests to the batch endpoints of their products as possible.
+     *
+     * The variations the server updated are saved in a single transaction. The variations it rejected aren't saved,
+     * their errors are reported in [WooBatchResult.errors] by remote variation id.
+     */
+    suspend fun batchUpdateVariations(
+        site: SiteModel,
+        variations: List<WCProductVariationModel>
+    ): WooBatchResult<WCProductVariationModel>? {
+        return coroutineEngine?.withDefaultContext(T.API, this, "batchUpdateVariations") {
+            val updatedVariations = mutableListOf<WCProductVariationModel>()
+            val errors = mutableMapOf<Long, WooError>()
+            variations.groupBy { it.remoteProductId }.forEach { (remoteProductId, productVariations) ->
+                val storedVariations = ProductSqlUtils.getVariationsForProduct(site, remoteProductId)
+                        .associateBy { it.remoteVariationId }
+                val result = wcProductRestClient.batchUpdateVariations(
+                        site,
+                        remoteProductId,
+                        storedVariations,
+                        productVariations
+                )
+                updatedVariations.addAll(result.updatedItems)
+                errors.putAll(result.errors)
+            }
+            ProductSqlUtils.bulkInsertOrUpdateProductVariations(updatedVariations)
+            WooBatchResult(updatedVariations, errors)
+        }
+    }
+
     private fun searchProducts(payload: SearchProductsPayload) {
         with(payload) { wcProductRestClient.searchProducts(
                 site, searchQuery, pageSize, offset, sorting, excludedProductIds
@@ -1009,6 +1088,8 @@ class WCProductStore @Inject constructor(
             // products deleted outside of the app will persist
             if (payload.offset == 0 && payload.remoteProductIds == null && payload.excludedProductIds == null) {
                 ProductSqlUtils.deleteProductsForSite(payload.site)
+                // The products modified before the last sync may not be stored anymore, the next sync fetches them all
+                WCSyncStateSqlUtils.deleteSyncState(payload.site, SyncedEntity.PRODUCTS)
             }
             val rowsAffected = ProductSqlUtils.insertOrUpdateProducts(payload.products)
             onProductChanged = OnProductChanged(rowsAffected, canLoadMore = payload.canLoadMore)
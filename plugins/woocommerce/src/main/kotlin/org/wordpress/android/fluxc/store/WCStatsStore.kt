@@ -11,6 +11,7 @@ import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.WCNewVisitorStatsModel
 import org.wordpress.android.fluxc.model.WCOrderStatsModel
 import org.wordpress.android.fluxc.model.WCOrderStatsModel.OrderStatsField
+import org.wordpress.android.fluxc.model.WCRevenueStatsIntervalModel
 import org.wordpress.android.fluxc.model.WCRevenueStatsModel
 import org.wordpress.android.fluxc.model.WCTopEarnerModel
 import org.wordpress.android.fluxc.model.WCVisitorStatsModel
@@ -729,6 +730,7 @@ class WCStatsStore @Inject constructor(
                         .also { it.error = payload.error }
             } else {
                 val rowsAffected = WCStatsSqlUtils.insertOrUpdateRevenueStats(stats)
+                WCStatsSqlUtils.insertOrUpdateRevenueStatsIntervals(stats)
                 return@with OnWCRevenueStatsChanged(rowsAffected, granularity, stats.startDate, stats.endDate)
             }
         }
@@ -790,6 +792,55 @@ class WCStatsStore @Inject constructor(
         }?.toMap() ?: mapOf()
     }
 
+    /**
+     * Returns the revenue stats of the [site] by period, for the periods of [unit] starting between [startDate]
+     * and [endDate] (inclusive), e.g. "2019-07-07 00:00:00". Periods of every fetch are merged, so the range
+     * isn't limited to a single fetch.
+     *
+     * Periods are stored by the unit they were fetched with, e.g. the stats of a year are stored as months (see
+     * [OrderStatsApiUnit.convertToRevenueStatsInterval]), and only the periods of [unit] are returned. To sum the
+     * stored days into weeks, months or years instead, see [getRevenueStatsRollupOfStoredDays].
+     */
+    fun getRevenueStatsIntervals(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        startDate: String,
+        endDate: String
+    ): List<WCRevenueStatsIntervalModel> {
+        return WCStatsSqlUtils.getRevenueStatsIntervals(site, unit, startDate, endDate)
+    }
+
+    /**
+     * Sums the stored days of the [site] starting between [startDate] and [endDate] (inclusive) into periods of
+     * [unit], see [WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays].
+     *
+     * Only the days that were fetched are summed, so a period is partial unless all of its days are stored.
+     */
+    fun getRevenueStatsRollupOfStoredDays(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        startDate: String,
+        endDate: String
+    ): List<WCRevenueStatsIntervalModel> {
+        return WCStatsSqlUtils.getRevenueStatsRollupOfStoredDays(site, unit, startDate, endDate)
+    }
+
+    /**
+     * Returns a single revenue stats [field] of the [site] by period, reading only that field, for the periods of
+     * [unit] starting between [startDate] and [endDate] (inclusive).
+     *
+     * The returned map has the format: "2019-07-07" -> 15.0
+     */
+    fun getRevenueStatsSeries(
+        site: SiteModel,
+        unit: OrderStatsApiUnit,
+        field: WCRevenueStatsIntervalModel.Field,
+        startDate: String,
+        endDate: String
+    ): Map<String, Double> {
+        return WCStatsSqlUtils.getRevenueStatsSeries(site, unit, field, startDate, endDate)
+    }
+
     fun getRawRevenueStats(
         site: SiteModel,
         granularity: StatsGranularity,
@@ -53,8 +53,7 @@ object DateUtils {
      * based on {@param pattern} and {@param dateString}
      */
     fun getDateFromString(dateString: String, pattern: String = DATE_FORMAT_DEFAULT): Date {
-        val dateFormat = SimpleDateFormat(pattern, Locale.ROOT)
-        return dateFormat.parse(dateString)
+        return DateCodec.forPattern(pattern).parse(dateString)
     }
 
     /**
@@ -65,8 +64,7 @@ object DateUtils {
         pattern: String,
         date: Date
     ): String {
-        val dateFormat = SimpleDateFormat(pattern, Locale.ROOT)
-        return dateFormat.format(date)
+        return DateCodec.forPattern(pattern).format(date)
     }
 
     /**